@@ -0,0 +1,163 @@
+package com.reliaquest.api.client;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Token bucket whose size and refill rate are learned from the upstream's 429 responses.
+ *
+ * <p>The mock server admits a fixed number of requests and then rejects everything for a fixed window. The number of
+ * successful requests before the first 429 becomes the bucket capacity, and the time from that 429 to the next
+ * success becomes the refill period. Outgoing requests are then paced at {@code capacity / period} instead of burning
+ * the whole budget at once. While a backoff is in effect no request is sent at all; the backoff doubles on each
+ * consecutive 429 and resets on the first success.
+ *
+ * <p>After recovering, the rate probes upward in case the budget has grown: by {@link #PROBE_PER_WINDOW} of the
+ * learned rate for every refill period since the recovery, however many requests succeeded in it. A budget of 5
+ * requests per 30s so stays near 0.17/s and only exceeds it by 10% after another 30s.
+ */
+public class AdaptiveRateLimiter {
+
+    // Fraction of the learned rate added per learned refill period since the last recovery
+    static final double PROBE_PER_WINDOW = 0.1;
+
+    private final double maxPermitsPerNano;
+    private final long initialBackoffNanos;
+    private final long maxBackoffNanos;
+    private final long maxWaitNanos;
+
+    private double capacity;
+    private double permitsPerNano;
+    private double tokens;
+    private long lastRefillNanos;
+
+    private long backoffNanos;
+    private long backoffUntilNanos;
+    private long throttledSinceNanos = -1;
+    private int successesSinceRecovery;
+
+    // Rate and refill period learned at the last recovery, or 0 before the first throttle
+    private double learnedPermitsPerNano;
+    private long learnedWindowNanos;
+    private long recoveredAtNanos;
+
+    public AdaptiveRateLimiter(
+            double maxPermitsPerSecond,
+            int initialBurst,
+            Duration initialBackoff,
+            Duration maxBackoff,
+            Duration maxWait) {
+        this.maxPermitsPerNano = maxPermitsPerSecond / 1e9;
+        this.initialBackoffNanos = initialBackoff.toNanos();
+        this.maxBackoffNanos = maxBackoff.toNanos();
+        this.maxWaitNanos = maxWait.toNanos();
+        this.capacity = initialBurst;
+        this.permitsPerNano = this.maxPermitsPerNano;
+        this.tokens = initialBurst;
+        this.lastRefillNanos = System.nanoTime();
+        this.backoffNanos = this.initialBackoffNanos;
+    }
+
+    /**
+     * Blocks until a request may be sent.
+     *
+     * @throws UpstreamThrottledException if the upstream is backing off or the next permit is further away than the
+     *     configured maximum wait
+     */
+    public void acquire() throws InterruptedException {
+        final long waitNanos = reserve();
+        if (waitNanos > 0) {
+            Thread.sleep(waitNanos / 1_000_000, (int) (waitNanos % 1_000_000));
+        }
+    }
+
+    public synchronized double permitsPerSecond() {
+        return permitsPerNano * 1e9;
+    }
+
+    public synchronized boolean isBackingOff() {
+        return System.nanoTime() - backoffUntilNanos < 0;
+    }
+
+    public synchronized void onSuccess() {
+        final long now = System.nanoTime();
+        if (throttledSinceNanos >= 0) {
+            // First success after a throttle: the blocked window is how long the learned budget takes to refill.
+            final long window = Math.max(1, now - throttledSinceNanos);
+            permitsPerNano = Math.min(maxPermitsPerNano, capacity / window);
+            learnedPermitsPerNano = permitsPerNano;
+            learnedWindowNanos = window;
+            recoveredAtNanos = now;
+            throttledSinceNanos = -1;
+            successesSinceRecovery = 0;
+            backoffNanos = initialBackoffNanos;
+        } else if (learnedWindowNanos > 0) {
+            final double windows = (double) (now - recoveredAtNanos) / learnedWindowNanos;
+            permitsPerNano = Math.min(maxPermitsPerNano, learnedPermitsPerNano * (1 + PROBE_PER_WINDOW * windows));
+        }
+        successesSinceRecovery++;
+    }
+
+    public synchronized void onThrottled(Duration retryAfter) {
+        final long now = System.nanoTime();
+        if (throttledSinceNanos < 0) {
+            throttledSinceNanos = now;
+            if (successesSinceRecovery > 0) {
+                capacity = successesSinceRecovery;
+            }
+        } else {
+            backoffNanos = Math.min(maxBackoffNanos, backoffNanos * 2);
+        }
+        final long delay = retryAfter != null ? retryAfter.toNanos() : jitter(backoffNanos);
+        backoffUntilNanos = now + delay;
+        tokens = 0;
+        lastRefillNanos = now;
+    }
+
+    /**
+     * Non-blocking variant of {@link #acquire()}: takes a permit and returns how long the caller must wait before
+     * sending, for callers that schedule the delay instead of sleeping.
+     *
+     * @return nanoseconds to wait before sending, {@code 0} if the request may be sent right away
+     * @throws UpstreamThrottledException if the upstream is backing off or the next permit is further away than the
+     *     configured maximum wait
+     */
+    public synchronized long reserve() {
+        final long now = System.nanoTime();
+        if (now - backoffUntilNanos < 0) {
+            throw new UpstreamThrottledException(Duration.ofNanos(backoffUntilNanos - now));
+        }
+        tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * permitsPerNano);
+        lastRefillNanos = now;
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        final long waitNanos = (long) Math.ceil((1 - tokens) / permitsPerNano);
+        if (waitNanos > maxWaitNanos) {
+            throw new UpstreamThrottledException(Duration.ofNanos(waitNanos));
+        }
+        // Borrow the permit now so concurrent callers queue up behind it.
+        tokens -= 1;
+        return waitNanos;
+    }
+
+    /**
+     * @return the delay of a delta-seconds {@code Retry-After} header, or {@code null} if absent or unparseable
+     */
+    public static Duration parseRetryAfter(String retryAfter) {
+        if (retryAfter == null) {
+            return null;
+        }
+        try {
+            return Duration.ofSeconds(Long.parseLong(retryAfter.trim()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // Equal jitter: half of the backoff is fixed, the other half random, so probes from several instances spread out.
+    private static long jitter(long nanos) {
+        return nanos / 2 + ThreadLocalRandom.current().nextLong(nanos / 2 + 1);
+    }
+}
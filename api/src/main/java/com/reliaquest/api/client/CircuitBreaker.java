@@ -0,0 +1,126 @@
+package com.reliaquest.api.client;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Consecutive-failure circuit breaker around the upstream.
+ *
+ * <p>While closed every call goes through, and {@code failureThreshold} failures in a row open the circuit. While open
+ * every call is rejected with {@link UpstreamCircuitOpenException} without touching the network, so a dead or hung
+ * upstream costs callers nothing instead of a timeout each, and they fall back to cached data. After
+ * {@code openDuration} the circuit is half-open: up to {@code halfOpenProbes} calls go through as probes, the rest are
+ * still rejected. A successful probe closes the circuit, a failed one opens it for another {@code openDuration}.
+ *
+ * <p>Only the upstream's health counts: I/O errors, timeouts and 5xx responses are failures, any other response is a
+ * success, and calls the rate limiter refused locally are neither.
+ *
+ * <p>Transitions are counted as {@code employee.upstream.circuit.transitions}, tagged with the state entered, and
+ * {@code employee.upstream.circuit.state} gauges the current state: 0 closed, 1 half-open, 2 open.
+ */
+@Slf4j
+public class CircuitBreaker implements MeterBinder {
+
+    public enum State {
+        CLOSED,
+        HALF_OPEN,
+        OPEN;
+
+        private final String tag = name().toLowerCase(Locale.ROOT);
+    }
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private final int halfOpenProbes;
+    private final LongAdder[] transitions = new LongAdder[State.values().length];
+
+    private State state = State.CLOSED;
+    private int failures;
+    private long openUntilNanos;
+    private int probes;
+
+    public CircuitBreaker(int failureThreshold, Duration openDuration, int halfOpenProbes) {
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+        this.halfOpenProbes = halfOpenProbes;
+        for (State target : State.values()) {
+            transitions[target.ordinal()] = new LongAdder();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        for (State target : State.values()) {
+            FunctionCounter.builder(
+                            "employee.upstream.circuit.transitions", transitions[target.ordinal()], LongAdder::sum)
+                    .description("Upstream circuit breaker transitions by the state entered")
+                    .tag("state", target.tag)
+                    .register(meterRegistry);
+        }
+        Gauge.builder("employee.upstream.circuit.state", this, breaker -> breaker.state()
+                        .ordinal())
+                .description("Upstream circuit breaker state: 0 closed, 1 half-open, 2 open")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Admits a call. Every admitted call must be followed by exactly one of {@link #onSuccess()}, {@link #onFailure()}
+     * or {@link #onIgnored()}.
+     *
+     * @throws UpstreamCircuitOpenException if the circuit is open, or half-open with every probe already in flight
+     */
+    public synchronized void acquire() {
+        if (state == State.OPEN) {
+            final long remaining = openUntilNanos - System.nanoTime();
+            if (remaining > 0) {
+                throw new UpstreamCircuitOpenException(Duration.ofNanos(remaining));
+            }
+            probes = 0;
+            transition(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (probes >= halfOpenProbes) {
+                throw new UpstreamCircuitOpenException(Duration.ofNanos(openNanos));
+            }
+            probes++;
+        }
+    }
+
+    public synchronized void onSuccess() {
+        failures = 0;
+        if (state != State.CLOSED) {
+            transition(State.CLOSED);
+        }
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN || (state == State.CLOSED && ++failures >= failureThreshold)) {
+            failures = 0;
+            openUntilNanos = System.nanoTime() + openNanos;
+            transition(State.OPEN);
+        }
+    }
+
+    // The call never reached the upstream, so it says nothing about its health; a probe slot it held is freed
+    public synchronized void onIgnored() {
+        if (state == State.HALF_OPEN && probes > 0) {
+            probes--;
+        }
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    private void transition(State target) {
+        log.info("Upstream circuit {} -> {}", state.tag, target.tag);
+        state = target;
+        transitions[target.ordinal()].increment();
+    }
+}
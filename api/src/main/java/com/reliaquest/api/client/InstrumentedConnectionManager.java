@@ -0,0 +1,67 @@
+package com.reliaquest.api.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.ConnectionEndpoint;
+import org.apache.hc.client5.http.io.LeaseRequest;
+import org.apache.hc.core5.util.Timeout;
+
+/**
+ * Pooling connection manager that records how long callers wait to lease a connection, tagged by whether the lease
+ * succeeded, timed out or failed. Pool sizes are published separately by Micrometer's pool metrics binder.
+ */
+public class InstrumentedConnectionManager extends PoolingHttpClientConnectionManager {
+
+    static final String LEASE_METRIC = "employee.client.pool.lease";
+
+    private final Timer leased;
+    private final Timer timedOut;
+    private final Timer failed;
+
+    public InstrumentedConnectionManager(MeterRegistry meterRegistry) {
+        this.leased = leaseTimer(meterRegistry, "leased");
+        this.timedOut = leaseTimer(meterRegistry, "timeout");
+        this.failed = leaseTimer(meterRegistry, "error");
+    }
+
+    @Override
+    public LeaseRequest lease(String id, HttpRoute route, Timeout requestTimeout, Object state) {
+        final LeaseRequest delegate = super.lease(id, route, requestTimeout, state);
+        return new LeaseRequest() {
+
+            @Override
+            public ConnectionEndpoint get(Timeout timeout)
+                    throws InterruptedException, ExecutionException, TimeoutException {
+                final long start = System.nanoTime();
+                try {
+                    final ConnectionEndpoint endpoint = delegate.get(timeout);
+                    leased.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    return endpoint;
+                } catch (TimeoutException e) {
+                    timedOut.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    throw e;
+                } catch (InterruptedException | ExecutionException | RuntimeException e) {
+                    failed.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    throw e;
+                }
+            }
+
+            @Override
+            public boolean cancel() {
+                return delegate.cancel();
+            }
+        };
+    }
+
+    private static Timer leaseTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder(LEASE_METRIC)
+                .description("Time spent waiting for a pooled upstream connection")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,78 @@
+package com.reliaquest.api.client;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent calls for the same key into one execution. The first caller runs the call; everyone arriving
+ * while it is in flight waits on the same future and receives the same result or exception. Nothing is cached once the
+ * call completes.
+ *
+ * @param <K> key identifying identical calls, e.g. the upstream URL
+ * @param <V> result shared by all callers
+ */
+public final class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    public V execute(K key, Supplier<V> call) {
+        final CompletableFuture<V> future = new CompletableFuture<V>();
+        final CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            return join(existing);
+        }
+        try {
+            final V value = call.get();
+            future.complete(value);
+            return value;
+        } catch (Throwable t) {
+            future.completeExceptionally(t);
+            throw t;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    /**
+     * Asynchronous variant of {@link #execute(Object, Supplier)}: concurrent callers for the same key receive the same
+     * future, and the key is released once it completes.
+     */
+    public CompletableFuture<V> executeAsync(K key, Supplier<CompletableFuture<V>> call) {
+        final CompletableFuture<V> future = new CompletableFuture<V>();
+        final CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            return existing;
+        }
+        CompletableFuture<V> started;
+        try {
+            started = call.get();
+        } catch (RuntimeException e) {
+            started = CompletableFuture.failedFuture(e);
+        }
+        started.whenComplete((value, error) -> {
+            inFlight.remove(key, future);
+            if (error != null) {
+                future.completeExceptionally(error instanceof CompletionException ? error.getCause() : error);
+            } else {
+                future.complete(value);
+            }
+        });
+        return future;
+    }
+
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
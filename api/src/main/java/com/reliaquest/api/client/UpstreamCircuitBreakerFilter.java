@@ -0,0 +1,53 @@
+package com.reliaquest.api.client;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebClient counterpart of {@link UpstreamCircuitBreakerInterceptor}, registered between {@link UpstreamMetricsFilter}
+ * and {@link UpstreamPacingFilter}. A call cancelled before its response arrives tells the breaker nothing.
+ */
+public class UpstreamCircuitBreakerFilter implements ExchangeFilterFunction {
+
+    private final CircuitBreaker circuitBreaker;
+
+    public UpstreamCircuitBreakerFilter(CircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.defer(() -> {
+            circuitBreaker.acquire();
+            final AtomicBoolean settled = new AtomicBoolean();
+            return next.exchange(request)
+                    .doOnNext(response -> {
+                        if (settled.compareAndSet(false, true)) {
+                            if (response.statusCode().is5xxServerError()) {
+                                circuitBreaker.onFailure();
+                            } else {
+                                circuitBreaker.onSuccess();
+                            }
+                        }
+                    })
+                    .doOnError(e -> {
+                        if (settled.compareAndSet(false, true)) {
+                            if (UpstreamThrottledException.isThrottle(e)) {
+                                circuitBreaker.onIgnored();
+                            } else {
+                                circuitBreaker.onFailure();
+                            }
+                        }
+                    })
+                    .doOnCancel(() -> {
+                        if (settled.compareAndSet(false, true)) {
+                            circuitBreaker.onIgnored();
+                        }
+                    });
+        });
+    }
+}
@@ -0,0 +1,44 @@
+package com.reliaquest.api.client;
+
+import java.io.IOException;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Runs every RestTemplate call through the {@link CircuitBreaker}. Registered between
+ * {@link UpstreamMetricsInterceptor} and {@link UpstreamPacingInterceptor}: rejected calls are still metered, and a
+ * call counts once however many times pacing retried it.
+ */
+public class UpstreamCircuitBreakerInterceptor implements ClientHttpRequestInterceptor {
+
+    private final CircuitBreaker circuitBreaker;
+
+    public UpstreamCircuitBreakerInterceptor(CircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        circuitBreaker.acquire();
+        final ClientHttpResponse response;
+        try {
+            response = execution.execute(request, body);
+        } catch (IOException | RuntimeException e) {
+            if (UpstreamThrottledException.isThrottle(e)) {
+                circuitBreaker.onIgnored();
+            } else {
+                circuitBreaker.onFailure();
+            }
+            throw e;
+        }
+        if (response.getStatusCode().is5xxServerError()) {
+            circuitBreaker.onFailure();
+        } else {
+            circuitBreaker.onSuccess();
+        }
+        return response;
+    }
+}
@@ -0,0 +1,14 @@
+package com.reliaquest.api.client;
+
+import java.time.Duration;
+
+/**
+ * Raised instead of calling the upstream while the {@link CircuitBreaker} is open. It is a throttle as far as callers
+ * are concerned: they fail fast with a retry hint and fall back to cached data the same way.
+ */
+public class UpstreamCircuitOpenException extends UpstreamThrottledException {
+
+    public UpstreamCircuitOpenException(Duration retryAfter) {
+        super("Upstream circuit is open, retry after " + retryAfter.toMillis() + "ms", retryAfter);
+    }
+}
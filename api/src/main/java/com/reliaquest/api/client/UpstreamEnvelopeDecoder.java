@@ -0,0 +1,161 @@
+package com.reliaquest.api.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+/**
+ * Decodes the {@code data} array of an upstream envelope element by element while the body arrives, so a listing of
+ * any size is never held as one buffer. Each buffer is fed to Jackson's non-blocking parser, JSON or Smile by the
+ * response's content type; the tokens of one array element at a time are collected and bound to the element type as
+ * soon as the element is complete, and everything outside the array is skipped.
+ */
+@Component
+@Profile("reactive")
+public class UpstreamEnvelopeDecoder {
+
+    private static final String DATA_FIELD = "data";
+    private static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+
+    private final ObjectMapper objectMapper;
+    private final JsonFactory smileFactory = new SmileFactory();
+
+    public UpstreamEnvelopeDecoder(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @return the elements of the envelope's {@code data} array, in order; fails with a {@link DecodingException} if
+     *     the body is malformed or has no {@code data} array
+     */
+    public <T> Flux<T> decodeData(Flux<DataBuffer> body, MediaType contentType, Class<T> type) {
+        return Flux.defer(() -> {
+            final DataArrayParser<T> parser = new DataArrayParser<>(newParser(contentType), type);
+            return body.concatMapIterable(parser::feed)
+                    .concatWith(Flux.defer(() -> Flux.fromIterable(parser.endOfInput())))
+                    .doFinally(signal -> parser.close());
+        });
+    }
+
+    private JsonParser newParser(MediaType contentType) {
+        try {
+            final boolean smile = contentType != null && SMILE.isCompatibleWith(contentType);
+            return (smile ? smileFactory : objectMapper.getFactory()).createNonBlockingByteArrayParser();
+        } catch (IOException e) {
+            throw new DecodingException("Cannot create a parser for " + contentType, e);
+        }
+    }
+
+    private final class DataArrayParser<T> {
+
+        private final JsonParser parser;
+        private final ByteArrayFeeder feeder;
+        private final Class<T> type;
+
+        // Nesting depth after the last token: 1 inside the envelope, 2 inside the data array
+        private int depth;
+        private boolean dataValueNext;
+        private boolean inData;
+        private boolean sawData;
+        private TokenBuffer element;
+
+        DataArrayParser(JsonParser parser, Class<T> type) {
+            this.parser = parser;
+            this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+            this.type = type;
+        }
+
+        List<T> feed(DataBuffer buffer) {
+            try {
+                final byte[] bytes = new byte[buffer.readableByteCount()];
+                buffer.read(bytes);
+                feeder.feedInput(bytes, 0, bytes.length);
+                return drain();
+            } catch (IOException e) {
+                throw new DecodingException("Malformed upstream response: " + e.getMessage(), e);
+            } finally {
+                DataBufferUtils.release(buffer);
+            }
+        }
+
+        List<T> endOfInput() {
+            feeder.endOfInput();
+            final List<T> tail;
+            try {
+                tail = drain();
+            } catch (IOException e) {
+                throw new DecodingException("Malformed upstream response: " + e.getMessage(), e);
+            }
+            if (!sawData || depth != 0) {
+                throw new DecodingException("Upstream response has no complete data array");
+            }
+            return tail;
+        }
+
+        void close() {
+            try {
+                parser.close();
+            } catch (IOException ignored) {
+                // Nothing is left to read from a non-blocking parser
+            }
+        }
+
+        private List<T> drain() throws IOException {
+            final List<T> decoded = new ArrayList<>();
+            JsonToken token;
+            while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+                final int before = depth;
+                if (token.isStructStart()) {
+                    depth++;
+                } else if (token.isStructEnd()) {
+                    depth--;
+                }
+                if (element != null) {
+                    element.copyCurrentEvent(parser);
+                    if (depth == 2) {
+                        decoded.add(bind(element));
+                        element = null;
+                    }
+                } else if (inData) {
+                    if (depth < 2) {
+                        inData = false;
+                    } else if (token.isStructStart()) {
+                        element = new TokenBuffer(parser);
+                        element.copyCurrentEvent(parser);
+                    } else if (token != JsonToken.VALUE_NULL) {
+                        final TokenBuffer scalar = new TokenBuffer(parser);
+                        scalar.copyCurrentEvent(parser);
+                        decoded.add(bind(scalar));
+                    }
+                } else if (before == 1 && token == JsonToken.FIELD_NAME) {
+                    dataValueNext = DATA_FIELD.equals(parser.currentName());
+                } else if (before == 1 && dataValueNext) {
+                    dataValueNext = false;
+                    inData = token == JsonToken.START_ARRAY;
+                    sawData |= inData;
+                }
+            }
+            return decoded;
+        }
+
+        private T bind(TokenBuffer tokens) throws IOException {
+            try (JsonParser elementParser = tokens.asParser(objectMapper)) {
+                return objectMapper.readValue(elementParser, type);
+            }
+        }
+    }
+}
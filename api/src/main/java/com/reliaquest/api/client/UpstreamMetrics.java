@@ -0,0 +1,158 @@
+package com.reliaquest.api.client;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Meters for calls to the upstream employee API, shared by the blocking and reactive clients.
+ *
+ * <ul>
+ *   <li>{@code employee.upstream.requests}: time from sending the request to receiving the response headers, including
+ *       retries and pacing waits, tagged by operation and outcome.
+ *   <li>{@code employee.upstream.body}: time to read and decode the response body, per operation.
+ *   <li>{@code employee.upstream.payload}: response body size in bytes as received, per operation.
+ * </ul>
+ *
+ * <p>Every meter is registered up front, so recording on the hot path is an array lookup and builds no tags.
+ */
+public class UpstreamMetrics {
+
+    static final String REQUEST_METRIC = "employee.upstream.requests";
+    static final String BODY_METRIC = "employee.upstream.body";
+    static final String PAYLOAD_METRIC = "employee.upstream.payload";
+
+    public enum Operation {
+        GET_ALL,
+        GET_BY_ID,
+        GET_BY_IDS,
+        GET_CHANGES,
+        CREATE,
+        DELETE,
+        OTHER;
+
+        private final String tag = name().toLowerCase(Locale.ROOT);
+    }
+
+    public enum Outcome {
+        SUCCESS("2xx"),
+        NOT_FOUND("404"),
+        THROTTLED("429"),
+        CLIENT_ERROR("4xx"),
+        SERVER_ERROR("5xx"),
+        TIMEOUT("timeout"),
+        // Failed fast by the rate limiter without reaching the upstream
+        REJECTED("rejected"),
+        // Failed fast by the open circuit breaker without reaching the upstream
+        CIRCUIT_OPEN("circuit_open"),
+        IO_ERROR("io_error");
+
+        private final String tag;
+
+        Outcome(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private final Timer[][] requests;
+    private final Timer[] bodies;
+    private final DistributionSummary[] payloads;
+
+    public UpstreamMetrics(MeterRegistry meterRegistry) {
+        final Operation[] operations = Operation.values();
+        this.requests = new Timer[operations.length][Outcome.values().length];
+        this.bodies = new Timer[operations.length];
+        this.payloads = new DistributionSummary[operations.length];
+        for (Operation operation : operations) {
+            for (Outcome outcome : Outcome.values()) {
+                requests[operation.ordinal()][outcome.ordinal()] = Timer.builder(REQUEST_METRIC)
+                        .description("Upstream calls up to the response headers, including retries and pacing")
+                        .tag("operation", operation.tag)
+                        .tag("outcome", outcome.tag)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry);
+            }
+            bodies[operation.ordinal()] = Timer.builder(BODY_METRIC)
+                    .description("Time to read and decode upstream response bodies")
+                    .tag("operation", operation.tag)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+            payloads[operation.ordinal()] = DistributionSummary.builder(PAYLOAD_METRIC)
+                    .description("Size of upstream response bodies as received")
+                    .baseUnit("bytes")
+                    .tag("operation", operation.tag)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(64.0)
+                    .maximumExpectedValue(256.0 * 1024 * 1024)
+                    .register(meterRegistry);
+        }
+    }
+
+    public void recordRequest(Operation operation, Outcome outcome, long nanos) {
+        requests[operation.ordinal()][outcome.ordinal()].record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordBody(Operation operation, long bytes, long nanos) {
+        bodies[operation.ordinal()].record(nanos, TimeUnit.NANOSECONDS);
+        payloads[operation.ordinal()].record(bytes);
+    }
+
+    /**
+     * Classifies a call by method and URI shape: the collection path is "get all", or a batch lookup when it carries
+     * ids, its change feed is "get changes", and anything else below it is "get by id".
+     */
+    public static Operation operation(String method, URI uri) {
+        if (!"GET".equals(method)) {
+            return switch (method) {
+                case "POST" -> Operation.CREATE;
+                case "DELETE" -> Operation.DELETE;
+                default -> Operation.OTHER;
+            };
+        }
+        final String path = uri.getPath();
+        if (path.endsWith("/employee/changes")) {
+            return Operation.GET_CHANGES;
+        }
+        if (!path.endsWith("/employee") && !path.endsWith("/employee/")) {
+            return Operation.GET_BY_ID;
+        }
+        final String query = uri.getRawQuery();
+        return query != null && query.contains("ids=") ? Operation.GET_BY_IDS : Operation.GET_ALL;
+    }
+
+    public static Outcome outcome(int status) {
+        if (status == 404) {
+            return Outcome.NOT_FOUND;
+        }
+        if (status == 429) {
+            return Outcome.THROTTLED;
+        }
+        if (status >= 500) {
+            return Outcome.SERVER_ERROR;
+        }
+        return status >= 400 ? Outcome.CLIENT_ERROR : Outcome.SUCCESS;
+    }
+
+    public static Outcome outcome(Throwable error) {
+        for (Throwable current = error; current != null; current = current.getCause()) {
+            if (current instanceof UpstreamCircuitOpenException) {
+                return Outcome.CIRCUIT_OPEN;
+            }
+            if (current instanceof UpstreamThrottledException) {
+                return Outcome.REJECTED;
+            }
+            // SocketTimeoutException and HttpClient's connect and lease timeouts are InterruptedIOExceptions
+            if (current instanceof InterruptedIOException
+                    || current instanceof TimeoutException
+                    || current instanceof io.netty.handler.timeout.TimeoutException) {
+                return Outcome.TIMEOUT;
+            }
+        }
+        return Outcome.IO_ERROR;
+    }
+}
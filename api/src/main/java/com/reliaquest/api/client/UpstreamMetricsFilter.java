@@ -0,0 +1,47 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.client.UpstreamMetrics.Operation;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebClient counterpart of {@link UpstreamMetricsInterceptor}. Registered ahead of {@link UpstreamPacingFilter}, so
+ * one call is timed across all of its retries and rate limiter waits; the body is counted buffer by buffer as the codec
+ * consumes it, and recorded when the body completes, fails or is cancelled.
+ */
+public class UpstreamMetricsFilter implements ExchangeFilterFunction {
+
+    private final UpstreamMetrics metrics;
+
+    public UpstreamMetricsFilter(UpstreamMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        final Operation operation = UpstreamMetrics.operation(request.method().name(), request.url());
+        return Mono.defer(() -> {
+            final long start = System.nanoTime();
+            return next.exchange(request)
+                    .doOnError(e ->
+                            metrics.recordRequest(operation, UpstreamMetrics.outcome(e), System.nanoTime() - start))
+                    .map(response -> {
+                        final long received = System.nanoTime();
+                        metrics.recordRequest(
+                                operation,
+                                UpstreamMetrics.outcome(response.statusCode().value()),
+                                received - start);
+                        final AtomicLong bytes = new AtomicLong();
+                        return response.mutate()
+                                .body(body -> body.doOnNext(buffer -> bytes.addAndGet(buffer.readableByteCount()))
+                                        .doFinally(signal -> metrics.recordBody(
+                                                operation, bytes.get(), System.nanoTime() - received)))
+                                .build();
+                    });
+        });
+    }
+}
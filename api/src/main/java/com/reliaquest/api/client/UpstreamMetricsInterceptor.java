@@ -0,0 +1,141 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.client.UpstreamMetrics.Operation;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Records {@link UpstreamMetrics} for every RestTemplate call. Registered ahead of {@link UpstreamPacingInterceptor},
+ * so one call is timed across all of its retries and rate limiter waits.
+ *
+ * <p>The response body is counted as the message converter reads it, and its size and read time are recorded when
+ * RestTemplate closes the response.
+ */
+public class UpstreamMetricsInterceptor implements ClientHttpRequestInterceptor {
+
+    private final UpstreamMetrics metrics;
+
+    public UpstreamMetricsInterceptor(UpstreamMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        final Operation operation =
+                UpstreamMetrics.operation(request.getMethod().name(), request.getURI());
+        final long start = System.nanoTime();
+        final ClientHttpResponse response;
+        try {
+            response = execution.execute(request, body);
+        } catch (IOException | RuntimeException e) {
+            metrics.recordRequest(operation, UpstreamMetrics.outcome(e), System.nanoTime() - start);
+            throw e;
+        }
+        final long received = System.nanoTime();
+        metrics.recordRequest(
+                operation, UpstreamMetrics.outcome(response.getStatusCode().value()), received - start);
+        return new MeteredResponse(response, operation, received);
+    }
+
+    private final class MeteredResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final Operation operation;
+        private final long received;
+        private CountingInputStream body;
+
+        MeteredResponse(ClientHttpResponse delegate, Operation operation, long received) {
+            this.delegate = delegate;
+            this.operation = operation;
+            this.received = received;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                body = new CountingInputStream(delegate.getBody());
+            }
+            return body;
+        }
+
+        @Override
+        public void close() {
+            try {
+                delegate.close();
+            } finally {
+                metrics.recordBody(operation, body == null ? 0 : body.count, System.nanoTime() - received);
+            }
+        }
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private long count;
+        private long marked;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int read = super.read();
+            if (read >= 0) {
+                count++;
+            }
+            return read;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            final int read = in.read(b, off, len);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            final long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+
+        // RestTemplate peeks at the first byte to tell an empty body; bytes read again after a reset count once
+        @Override
+        public synchronized void mark(int readlimit) {
+            super.mark(readlimit);
+            marked = count;
+        }
+
+        @Override
+        public synchronized void reset() throws IOException {
+            super.reset();
+            count = marked;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.reliaquest.api.client;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebClient counterpart of {@link UpstreamPacingInterceptor}: the same {@link AdaptiveRateLimiter} pacing and the same
+ * GET retry policy, but permit waits and backoff pauses are scheduled timers rather than sleeping threads.
+ */
+@Slf4j
+public class UpstreamPacingFilter implements ExchangeFilterFunction {
+
+    private final AdaptiveRateLimiter rateLimiter;
+    private final int maxAttempts;
+    private final long baseDelayNanos;
+    private final long maxDelayNanos;
+
+    public UpstreamPacingFilter(
+            AdaptiveRateLimiter rateLimiter, int maxAttempts, Duration baseDelay, Duration maxDelay) {
+        this.rateLimiter = rateLimiter;
+        this.maxAttempts = maxAttempts;
+        this.baseDelayNanos = baseDelay.toNanos();
+        this.maxDelayNanos = maxDelay.toNanos();
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return attempt(request, next, 1);
+    }
+
+    // An empty result from the exchange stage means "retry": it is only produced while attempts remain.
+    private Mono<ClientResponse> attempt(ClientRequest request, ExchangeFunction next, int attempt) {
+        final boolean mayRetry = HttpMethod.GET.equals(request.method()) && attempt < maxAttempts;
+        return send(request, next)
+                .onErrorResume(WebClientRequestException.class, e -> {
+                    if (!mayRetry) {
+                        return Mono.error(e);
+                    }
+                    log.debug("Retrying {} {} after I/O error: {}", request.method(), request.url(), e.getMessage());
+                    return Mono.empty();
+                })
+                .flatMap(response -> {
+                    final HttpStatusCode status = response.statusCode();
+                    if (status.value() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+                        rateLimiter.onThrottled(AdaptiveRateLimiter.parseRetryAfter(
+                                response.headers().asHttpHeaders().getFirst(HttpHeaders.RETRY_AFTER)));
+                    } else if (!status.is5xxServerError()) {
+                        rateLimiter.onSuccess();
+                    }
+                    if (!mayRetry || !isRetryable(status) || rateLimiter.isBackingOff()) {
+                        return Mono.just(response);
+                    }
+                    log.debug("Retrying {} {} after status {}", request.method(), request.url(), status.value());
+                    return response.releaseBody().then(Mono.<ClientResponse>empty());
+                })
+                .switchIfEmpty(
+                        Mono.defer(() -> Mono.delay(backoff(attempt)).then(attempt(request, next, attempt + 1))));
+    }
+
+    private Mono<ClientResponse> send(ClientRequest request, ExchangeFunction next) {
+        return Mono.defer(() -> {
+            final long waitNanos = rateLimiter.reserve();
+            final Mono<ClientResponse> exchange = next.exchange(request);
+            return waitNanos > 0 ? Mono.delay(Duration.ofNanos(waitNanos)).then(exchange) : exchange;
+        });
+    }
+
+    private Duration backoff(int attempt) {
+        final long ceiling = Math.min(maxDelayNanos, baseDelayNanos << Math.min(attempt - 1, 20));
+        return Duration.ofNanos(ThreadLocalRandom.current().nextLong(ceiling + 1));
+    }
+
+    private static boolean isRetryable(HttpStatusCode status) {
+        return status.value() == HttpStatus.TOO_MANY_REQUESTS.value()
+                || status.value() == HttpStatus.BAD_GATEWAY.value()
+                || status.value() == HttpStatus.SERVICE_UNAVAILABLE.value()
+                || status.value() == HttpStatus.GATEWAY_TIMEOUT.value();
+    }
+}
@@ -0,0 +1,103 @@
+package com.reliaquest.api.client;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Paces every upstream request through the {@link AdaptiveRateLimiter} and retries idempotent GETs that fail with an
+ * I/O error, a 429 or a 5xx gateway status, using exponential backoff with full jitter. A GET is not retried once the
+ * limiter has entered a backoff, since the upstream's rejection window is far longer than any retry budget.
+ *
+ * <p>Retrying re-enters the request execution, so this must be the last interceptor registered on the template.
+ */
+@Slf4j
+public class UpstreamPacingInterceptor implements ClientHttpRequestInterceptor {
+
+    private final AdaptiveRateLimiter rateLimiter;
+    private final int maxAttempts;
+    private final long baseDelayNanos;
+    private final long maxDelayNanos;
+
+    public UpstreamPacingInterceptor(
+            AdaptiveRateLimiter rateLimiter, int maxAttempts, Duration baseDelay, Duration maxDelay) {
+        this.rateLimiter = rateLimiter;
+        this.maxAttempts = maxAttempts;
+        this.baseDelayNanos = baseDelay.toNanos();
+        this.maxDelayNanos = maxDelay.toNanos();
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        final boolean retryable = HttpMethod.GET.equals(request.getMethod());
+        for (int attempt = 1; ; attempt++) {
+            acquire();
+            final ClientHttpResponse response;
+            try {
+                response = execution.execute(request, body);
+            } catch (IOException e) {
+                if (!retryable || attempt >= maxAttempts) {
+                    throw e;
+                }
+                log.debug("Retrying {} {} after I/O error: {}", request.getMethod(), request.getURI(), e.getMessage());
+                pause(attempt);
+                continue;
+            }
+
+            final HttpStatusCode status = response.getStatusCode();
+            if (status.value() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+                rateLimiter.onThrottled(retryAfter(response));
+            } else if (!status.is5xxServerError()) {
+                rateLimiter.onSuccess();
+            }
+            if (!retryable || attempt >= maxAttempts || !isRetryable(status) || rateLimiter.isBackingOff()) {
+                return response;
+            }
+            log.debug("Retrying {} {} after status {}", request.getMethod(), request.getURI(), status.value());
+            response.close();
+            pause(attempt);
+        }
+    }
+
+    private void acquire() throws InterruptedIOException {
+        try {
+            rateLimiter.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for an upstream permit");
+        }
+    }
+
+    private void pause(int attempt) throws InterruptedIOException {
+        final long ceiling = Math.min(maxDelayNanos, baseDelayNanos << Math.min(attempt - 1, 20));
+        final long delay = ThreadLocalRandom.current().nextLong(ceiling + 1);
+        try {
+            Thread.sleep(delay / 1_000_000, (int) (delay % 1_000_000));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while backing off before a retry");
+        }
+    }
+
+    private static boolean isRetryable(HttpStatusCode status) {
+        return status.value() == HttpStatus.TOO_MANY_REQUESTS.value()
+                || status.value() == HttpStatus.BAD_GATEWAY.value()
+                || status.value() == HttpStatus.SERVICE_UNAVAILABLE.value()
+                || status.value() == HttpStatus.GATEWAY_TIMEOUT.value();
+    }
+
+    private static Duration retryAfter(ClientHttpResponse response) {
+        return AdaptiveRateLimiter.parseRetryAfter(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+}
@@ -0,0 +1,42 @@
+package com.reliaquest.api.client;
+
+import java.time.Duration;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+/**
+ * Raised instead of calling the upstream while it is known to be rate limiting us, so callers fail fast and can fall
+ * back to cached data.
+ */
+public class UpstreamThrottledException extends RuntimeException {
+
+    @Getter
+    private final Duration retryAfter;
+
+    public UpstreamThrottledException(Duration retryAfter) {
+        this("Upstream is rate limiting requests, retry after " + retryAfter.toMillis() + "ms", retryAfter);
+    }
+
+    protected UpstreamThrottledException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * @return whether {@code throwable} or one of its causes is an upstream rate-limit rejection
+     */
+    public static boolean isThrottle(Throwable throwable) {
+        for (Throwable current = throwable; current != null; current = current.getCause()) {
+            if (current instanceof UpstreamThrottledException
+                    || (current instanceof HttpClientErrorException clientError
+                            && clientError.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value())
+                    || (current instanceof WebClientResponseException responseError
+                            && responseError.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
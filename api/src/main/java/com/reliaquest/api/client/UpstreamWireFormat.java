@@ -0,0 +1,41 @@
+package com.reliaquest.api.client;
+
+import java.util.List;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+
+/**
+ * Encoding the api asks the upstream to answer in. {@link #JSON} is the default. {@link #SMILE} asks for Jackson
+ * Smile, a binary JSON that sends each repeated key once, ints as varints and UUIDs as raw bytes, and keeps JSON as
+ * a lower-preference fallback so an upstream without Smile support still answers. Both decode into the same models,
+ * so nothing past the message converters changes.
+ */
+public enum UpstreamWireFormat {
+    JSON(List.of(MediaType.APPLICATION_JSON)),
+    SMILE(MediaType.parseMediaTypes("application/x-jackson-smile, application/json;q=0.5"));
+
+    private final List<MediaType> accept;
+
+    UpstreamWireFormat(List<MediaType> accept) {
+        this.accept = accept;
+    }
+
+    public void accept(HttpHeaders headers) {
+        headers.setAccept(accept);
+    }
+
+    /**
+     * RestTemplate lists every readable media type in Accept; this narrows requests that accept JSON to this format's
+     * preference and leaves requests without an Accept, or accepting something else, alone.
+     */
+    public ClientHttpRequestInterceptor interceptor() {
+        return (request, body, execution) -> {
+            final HttpHeaders headers = request.getHeaders();
+            if (headers.getAccept().stream().anyMatch(MediaType.APPLICATION_JSON::isCompatibleWith)) {
+                accept(headers);
+            }
+            return execution.execute(request, body);
+        };
+    }
+}
@@ -0,0 +1,75 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.api.client.AdaptiveRateLimiter;
+import com.reliaquest.api.client.CircuitBreaker;
+import com.reliaquest.api.client.UpstreamCircuitBreakerFilter;
+import com.reliaquest.api.client.UpstreamMetrics;
+import com.reliaquest.api.client.UpstreamMetricsFilter;
+import com.reliaquest.api.client.UpstreamPacingFilter;
+import com.reliaquest.api.client.UpstreamWireFormat;
+import io.netty.channel.ChannelOption;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Non-blocking HTTP client used by {@code ReactiveEmployeeService} under the {@code reactive} profile.
+ *
+ * <p>Mirrors {@link UpstreamClientConfiguration} on Reactor Netty: the same pool bounds, timeouts, keep-alive and gzip
+ * settings, and the same rate limiter, GET retry policy, circuit breaker and {@link UpstreamMetrics} applied as
+ * exchange filters. Reactor Netty keeps one pool per remote address, so the per-route limit is the pool size. Pool
+ * gauges are published as {@code reactor.netty.connection.provider.*} tagged with the pool name.
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveUpstreamClientConfiguration {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider upstreamConnectionProvider(
+            @Value("${employee.client.max-connections-per-route:20}") int maxConnectionsPerRoute,
+            @Value("${employee.client.lease-timeout:PT1S}") Duration leaseTimeout,
+            @Value("${employee.client.keep-alive:PT30S}") Duration keepAlive,
+            @Value("${employee.client.idle-eviction:PT30S}") Duration idleEviction,
+            @Value("${employee.client.connection-ttl:PT5M}") Duration connectionTtl) {
+        return ConnectionProvider.builder("employee-upstream")
+                .maxConnections(maxConnectionsPerRoute)
+                .pendingAcquireTimeout(leaseTimeout)
+                .maxIdleTime(keepAlive)
+                .maxLifeTime(connectionTtl)
+                .evictInBackground(idleEviction)
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public WebClient upstreamWebClient(
+            WebClient.Builder webClientBuilder,
+            ConnectionProvider upstreamConnectionProvider,
+            AdaptiveRateLimiter upstreamRateLimiter,
+            CircuitBreaker upstreamCircuitBreaker,
+            UpstreamMetrics upstreamMetrics,
+            @Value("${employee.client.connect-timeout:PT2S}") Duration connectTimeout,
+            @Value("${employee.client.read-timeout:PT5S}") Duration readTimeout,
+            @Value("${employee.client.retry.max-attempts:3}") int maxAttempts,
+            @Value("${employee.client.retry.base-delay:PT0.1S}") Duration baseDelay,
+            @Value("${employee.client.retry.max-delay:PT2S}") Duration maxDelay,
+            @Value("${employee.client.wire-format:json}") UpstreamWireFormat wireFormat) {
+        final HttpClient httpClient = HttpClient.create(upstreamConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(readTimeout)
+                .compress(true);
+        return webClientBuilder
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .defaultHeaders(wireFormat::accept)
+                .filter(new UpstreamMetricsFilter(upstreamMetrics))
+                .filter(new UpstreamCircuitBreakerFilter(upstreamCircuitBreaker))
+                .filter(new UpstreamPacingFilter(upstreamRateLimiter, maxAttempts, baseDelay, maxDelay))
+                .build();
+    }
+}
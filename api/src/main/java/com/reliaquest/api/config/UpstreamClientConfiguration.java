@@ -0,0 +1,153 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.api.client.AdaptiveRateLimiter;
+import com.reliaquest.api.client.CircuitBreaker;
+import com.reliaquest.api.client.InstrumentedConnectionManager;
+import com.reliaquest.api.client.UpstreamCircuitBreakerInterceptor;
+import com.reliaquest.api.client.UpstreamMetrics;
+import com.reliaquest.api.client.UpstreamMetricsInterceptor;
+import com.reliaquest.api.client.UpstreamPacingInterceptor;
+import com.reliaquest.api.client.UpstreamWireFormat;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * HTTP client used by {@code EmployeeService} to reach the mock employee server.
+ *
+ * <p>Connections are pooled and kept alive between calls with bounded per-route limits, and every phase of a call has
+ * a timeout. Apache HttpClient negotiates gzip and transparently decompresses it, which pairs with the server's
+ * {@code server.compression} setting on the large roster payload. Requests are paced by a rate limiter that learns
+ * the upstream's request budget from its 429 responses, and idempotent GETs are retried with jittered backoff. A
+ * {@link CircuitBreaker} fails calls fast while the upstream keeps erroring or timing out. Every call is recorded in
+ * {@link UpstreamMetrics} by operation and outcome. Responses are requested in the configured
+ * {@link UpstreamWireFormat}, JSON unless {@code employee.client.wire-format} asks for Smile.
+ *
+ * <p>The blocking client is not created under the {@code reactive} profile, which reaches the upstream through
+ * {@link ReactiveUpstreamClientConfiguration} instead; the rate limiter, circuit breaker and metrics are shared by
+ * both.
+ */
+@Configuration
+public class UpstreamClientConfiguration {
+
+    @Bean(destroyMethod = "close")
+    @Profile("!reactive")
+    public PoolingHttpClientConnectionManager upstreamConnectionManager(
+            MeterRegistry meterRegistry,
+            @Value("${employee.client.max-connections:50}") int maxConnections,
+            @Value("${employee.client.max-connections-per-route:20}") int maxConnectionsPerRoute,
+            @Value("${employee.client.connect-timeout:PT2S}") Duration connectTimeout,
+            @Value("${employee.client.read-timeout:PT5S}") Duration readTimeout,
+            @Value("${employee.client.connection-ttl:PT5M}") Duration connectionTtl) {
+        final InstrumentedConnectionManager connectionManager = new InstrumentedConnectionManager(meterRegistry);
+        connectionManager.setMaxTotal(maxConnections);
+        connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+        connectionManager.setDefaultConnectionConfig(ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.of(connectTimeout))
+                .setSocketTimeout(Timeout.of(readTimeout))
+                .setTimeToLive(TimeValue.of(connectionTtl))
+                .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                .build());
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "employee-upstream")
+                .bindTo(meterRegistry);
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    @Profile("!reactive")
+    public CloseableHttpClient upstreamHttpClient(
+            PoolingHttpClientConnectionManager upstreamConnectionManager,
+            @Value("${employee.client.lease-timeout:PT1S}") Duration leaseTimeout,
+            @Value("${employee.client.keep-alive:PT30S}") Duration keepAlive,
+            @Value("${employee.client.idle-eviction:PT30S}") Duration idleEviction) {
+        final TimeValue maxKeepAlive = TimeValue.of(keepAlive);
+        return HttpClients.custom()
+                .setConnectionManager(upstreamConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(leaseTimeout))
+                        .build())
+                // Honour a shorter Keep-Alive advertised by the server, otherwise keep connections for keepAlive
+                .setKeepAliveStrategy((response, context) -> {
+                    final TimeValue advertised =
+                            DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                    return advertised.compareTo(maxKeepAlive) < 0 ? advertised : maxKeepAlive;
+                })
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(idleEviction))
+                .build();
+    }
+
+    @Bean
+    public AdaptiveRateLimiter upstreamRateLimiter(
+            @Value("${employee.client.rate-limit.max-per-second:50}") double maxPerSecond,
+            @Value("${employee.client.rate-limit.initial-burst:5}") int initialBurst,
+            @Value("${employee.client.rate-limit.initial-backoff:PT5S}") Duration initialBackoff,
+            @Value("${employee.client.rate-limit.max-backoff:PT90S}") Duration maxBackoff,
+            @Value("${employee.client.rate-limit.max-wait:PT2S}") Duration maxWait) {
+        return new AdaptiveRateLimiter(maxPerSecond, initialBurst, initialBackoff, maxBackoff, maxWait);
+    }
+
+    @Bean
+    public CircuitBreaker upstreamCircuitBreaker(
+            @Value("${employee.client.circuit-breaker.failure-threshold:5}") int failureThreshold,
+            @Value("${employee.client.circuit-breaker.open-duration:PT10S}") Duration openDuration,
+            @Value("${employee.client.circuit-breaker.half-open-probes:1}") int halfOpenProbes) {
+        return new CircuitBreaker(failureThreshold, openDuration, halfOpenProbes);
+    }
+
+    @Bean
+    public UpstreamMetrics upstreamMetrics(MeterRegistry meterRegistry) {
+        return new UpstreamMetrics(meterRegistry);
+    }
+
+    @Bean
+    @Profile("!reactive")
+    public UpstreamPacingInterceptor upstreamPacingInterceptor(
+            AdaptiveRateLimiter upstreamRateLimiter,
+            @Value("${employee.client.retry.max-attempts:3}") int maxAttempts,
+            @Value("${employee.client.retry.base-delay:PT0.1S}") Duration baseDelay,
+            @Value("${employee.client.retry.max-delay:PT2S}") Duration maxDelay) {
+        return new UpstreamPacingInterceptor(upstreamRateLimiter, maxAttempts, baseDelay, maxDelay);
+    }
+
+    @Bean
+    @Profile("!reactive")
+    public RestTemplate restTemplate(
+            RestTemplateBuilder restTemplateBuilder,
+            CloseableHttpClient upstreamHttpClient,
+            UpstreamMetrics upstreamMetrics,
+            CircuitBreaker upstreamCircuitBreaker,
+            UpstreamPacingInterceptor upstreamPacingInterceptor,
+            @Value("${employee.client.wire-format:json}") UpstreamWireFormat wireFormat) {
+        final List<ClientHttpRequestInterceptor> interceptors = new ArrayList<ClientHttpRequestInterceptor>();
+        interceptors.add(new UpstreamMetricsInterceptor(upstreamMetrics));
+        interceptors.add(new UpstreamCircuitBreakerInterceptor(upstreamCircuitBreaker));
+        if (wireFormat != UpstreamWireFormat.JSON) {
+            interceptors.add(wireFormat.interceptor());
+        }
+        // Pacing re-executes the request on retry, so it must stay the innermost interceptor
+        interceptors.add(upstreamPacingInterceptor);
+        return restTemplateBuilder
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(upstreamHttpClient))
+                .additionalInterceptors(interceptors)
+                .build();
+    }
+}
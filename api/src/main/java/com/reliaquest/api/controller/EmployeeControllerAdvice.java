@@ -0,0 +1,39 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.client.UpstreamThrottledException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+@Slf4j
+@ControllerAdvice
+public class EmployeeControllerAdvice {
+
+    private static final String DEFAULT_RETRY_AFTER_SECONDS = "30";
+
+    @ExceptionHandler
+    protected ResponseEntity<String> handleException(RuntimeException ex) {
+        if (UpstreamThrottledException.isThrottle(ex)) {
+            // The upstream is rate limiting us or its circuit is open, and nothing cached could answer: tell the caller
+            // when to come back.
+            log.warn("Upstream unavailable for request: {}", ex.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, retryAfterSeconds(ex))
+                    .body(ex.getMessage());
+        }
+        log.error("Error handling web request.", ex);
+        return ResponseEntity.internalServerError().body(ex.getMessage());
+    }
+
+    private static String retryAfterSeconds(Throwable throwable) {
+        for (Throwable current = throwable; current != null; current = current.getCause()) {
+            if (current instanceof UpstreamThrottledException throttled) {
+                return Long.toString(Math.max(1, throttled.getRetryAfter().toSeconds()));
+            }
+        }
+        return DEFAULT_RETRY_AFTER_SECONDS;
+    }
+}
@@ -1,13 +1,29 @@
 package com.reliaquest.api.controller;
 
 import com.reliaquest.api.models.Employee;
+import com.reliaquest.api.models.EmployeeLookup;
 import com.reliaquest.api.models.EmployeeRequest;
+import com.reliaquest.api.models.HistogramBucket;
 import com.reliaquest.api.service.EmployeeService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.util.List;
+import java.util.Map;
 
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/v1/employee")
 public class IEmployeeControllerImpl implements IEmployeeController<Employee, EmployeeRequest>{
 
     @Autowired
@@ -28,6 +44,12 @@ public class IEmployeeControllerImpl implements IEmployeeController<Employee, Em
         return employeeService.getEmployeeByIdWithErrorHandling(id);
     }
 
+    // Batch lookup, e.g. ?ids=a,b,c: one entry per requested id, in request order, each with its own status
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<EmployeeLookup>> getEmployeesByIds(@RequestParam List<String> ids) {
+        return employeeService.getEmployeesByIds(ids);
+    }
+
     @Override
     public ResponseEntity<Integer> getHighestSalaryOfEmployees() {
         return employeeService.getHighestSalaryOfEmployees();
@@ -38,6 +60,43 @@ public class IEmployeeControllerImpl implements IEmployeeController<Employee, Em
         return employeeService.getTopTenHighestEarningEmployeeNames();
     }
 
+    // Same route as the contract's top ten, selected when the caller asks for a different N
+    @GetMapping(value = "/topTenHighestEarningEmployeeNames", params = "limit")
+    public ResponseEntity<List<String>> getTopHighestEarningEmployeeNames(@RequestParam int limit) {
+        return employeeService.getTopHighestEarningEmployeeNames(limit);
+    }
+
+    // Salary percentiles of the whole roster, e.g. ?p=50,90,99
+    @GetMapping("/salaryPercentiles")
+    public ResponseEntity<Map<String, Integer>> getSalaryPercentiles(@RequestParam List<String> p) {
+        return employeeService.getSalaryPercentiles(p);
+    }
+
+    // Employees per salary bucket of the given width, e.g. ?width=10000
+    @GetMapping("/salaryHistogram")
+    public ResponseEntity<List<HistogramBucket>> getSalaryHistogram(@RequestParam int width) {
+        return employeeService.getSalaryHistogram(width);
+    }
+
+    // Employees per age band of the given width, e.g. ?width=10
+    @GetMapping("/ageHistogram")
+    public ResponseEntity<List<HistogramBucket>> getAgeHistogram(@RequestParam int width) {
+        return employeeService.getAgeHistogram(width);
+    }
+
+    // Number of employees earning between min and max, both inclusive
+    @GetMapping("/salaryRangeCount")
+    public ResponseEntity<Integer> countEmployeesBySalaryRange(@RequestParam int min, @RequestParam int max) {
+        return employeeService.countEmployeesBySalaryRange(min, max);
+    }
+
+    // Employees earning between min and max, both inclusive, highest first
+    @GetMapping("/salaryRange")
+    public ResponseEntity<List<Employee>> getEmployeesBySalaryRange(
+            @RequestParam int min, @RequestParam int max, @RequestParam(defaultValue = "100") int limit) {
+        return employeeService.getEmployeesBySalaryRange(min, max, limit);
+    }
+
     @Override
     public ResponseEntity<Employee> createEmployee(EmployeeRequest employeeInput) {
         return employeeService.createEmployee(employeeInput);
@@ -47,4 +106,22 @@ public class IEmployeeControllerImpl implements IEmployeeController<Employee, Em
     public ResponseEntity<String> deleteEmployeeById(String id) {
         return employeeService.deleteEmployeeById(id);
     }
+
+    // Bulk create from a JSON array or NDJSON of employee inputs; streams back one NDJSON result per item
+    @PostMapping(
+            value = "/bulk",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> createEmployees(InputStream body) {
+        return ResponseEntity.ok(employeeService.createEmployees(body));
+    }
+
+    // Bulk delete from a JSON array or NDJSON of ids; streams back one NDJSON result per item
+    @DeleteMapping(
+            value = "/bulk",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> deleteEmployees(InputStream body) {
+        return ResponseEntity.ok(employeeService.deleteEmployees(body));
+    }
 }
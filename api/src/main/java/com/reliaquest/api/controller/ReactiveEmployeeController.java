@@ -0,0 +1,134 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.models.BulkItemResult;
+import com.reliaquest.api.models.Employee;
+import com.reliaquest.api.models.EmployeeLookup;
+import com.reliaquest.api.models.EmployeeRequest;
+import com.reliaquest.api.models.HistogramBucket;
+import com.reliaquest.api.service.ReactiveEmployeeService;
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux version of {@link IEmployeeControllerImpl}, active under the {@code reactive} profile. It exposes the routes
+ * and payloads of {@link IEmployeeController}; it cannot implement the interface itself because every method returns
+ * the response asynchronously.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/v1/employee")
+public class ReactiveEmployeeController {
+
+    @Autowired
+    private ReactiveEmployeeService employeeService;
+
+    @GetMapping()
+    public Mono<ResponseEntity<Flux<Employee>>> getAllEmployees() {
+        return employeeService.getAllEmployeesWithErrorHandlingResponse();
+    }
+
+    @GetMapping("/search/{searchString}")
+    public Mono<ResponseEntity<List<Employee>>> getEmployeesByNameSearch(@PathVariable String searchString) {
+        return employeeService.searchEmployeesByNameLocallyResponse(searchString);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Employee>> getEmployeeById(@PathVariable String id) {
+        return employeeService.getEmployeeByIdWithErrorHandling(id);
+    }
+
+    // Batch lookup, e.g. ?ids=a,b,c: one entry per requested id, in request order, each with its own status
+    @GetMapping(params = "ids")
+    public Mono<ResponseEntity<List<EmployeeLookup>>> getEmployeesByIds(@RequestParam List<String> ids) {
+        return employeeService.getEmployeesByIds(ids);
+    }
+
+    @GetMapping("/highestSalary")
+    public Mono<ResponseEntity<Integer>> getHighestSalaryOfEmployees() {
+        return employeeService.getHighestSalaryOfEmployees();
+    }
+
+    @GetMapping("/topTenHighestEarningEmployeeNames")
+    public Mono<ResponseEntity<List<String>>> getTopTenHighestEarningEmployeeNames() {
+        return employeeService.getTopTenHighestEarningEmployeeNames();
+    }
+
+    // Same route as the contract's top ten, selected when the caller asks for a different N
+    @GetMapping(value = "/topTenHighestEarningEmployeeNames", params = "limit")
+    public Mono<ResponseEntity<List<String>>> getTopHighestEarningEmployeeNames(@RequestParam int limit) {
+        return employeeService.getTopHighestEarningEmployeeNames(limit);
+    }
+
+    // Salary percentiles of the whole roster, e.g. ?p=50,90,99
+    @GetMapping("/salaryPercentiles")
+    public Mono<ResponseEntity<Map<String, Integer>>> getSalaryPercentiles(@RequestParam List<String> p) {
+        return employeeService.getSalaryPercentiles(p);
+    }
+
+    // Employees per salary bucket of the given width, e.g. ?width=10000
+    @GetMapping("/salaryHistogram")
+    public Mono<ResponseEntity<List<HistogramBucket>>> getSalaryHistogram(@RequestParam int width) {
+        return employeeService.getSalaryHistogram(width);
+    }
+
+    // Employees per age band of the given width, e.g. ?width=10
+    @GetMapping("/ageHistogram")
+    public Mono<ResponseEntity<List<HistogramBucket>>> getAgeHistogram(@RequestParam int width) {
+        return employeeService.getAgeHistogram(width);
+    }
+
+    // Number of employees earning between min and max, both inclusive
+    @GetMapping("/salaryRangeCount")
+    public Mono<ResponseEntity<Integer>> countEmployeesBySalaryRange(@RequestParam int min, @RequestParam int max) {
+        return employeeService.countEmployeesBySalaryRange(min, max);
+    }
+
+    // Employees earning between min and max, both inclusive, highest first
+    @GetMapping("/salaryRange")
+    public Mono<ResponseEntity<List<Employee>>> getEmployeesBySalaryRange(
+            @RequestParam int min, @RequestParam int max, @RequestParam(defaultValue = "100") int limit) {
+        return employeeService.getEmployeesBySalaryRange(min, max, limit);
+    }
+
+    @PostMapping()
+    public Mono<ResponseEntity<Employee>> createEmployee(@RequestBody EmployeeRequest employeeInput) {
+        return employeeService.createEmployee(employeeInput);
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<String>> deleteEmployeeById(@PathVariable String id) {
+        return employeeService.deleteEmployeeById(id);
+    }
+
+    // Bulk create from a JSON array or NDJSON of employee inputs; streams back one NDJSON result per item
+    @PostMapping(
+            value = "/bulk",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BulkItemResult> createEmployees(@RequestBody Flux<EmployeeRequest> employeeInputs) {
+        return employeeService.createEmployees(employeeInputs);
+    }
+
+    // Bulk delete from a JSON array or NDJSON of ids; streams back one NDJSON result per item
+    @DeleteMapping(
+            value = "/bulk",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BulkItemResult> deleteEmployees(@RequestBody Flux<String> ids) {
+        return employeeService.deleteEmployees(ids);
+    }
+}
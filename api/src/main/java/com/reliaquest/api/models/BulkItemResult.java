@@ -0,0 +1,28 @@
+package com.reliaquest.api.models;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Result of one item of a bulk create or delete, streamed back as it completes. {@code index} is the item's position
+ * in the request and {@code status} an HTTP-style status for that item alone; {@code 504} means the request reached
+ * the upstream but no usable answer came back, so the item may or may not have been applied.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkItemResult {
+    private int index;
+
+    private int status;
+
+    // Set for deletes: the id as requested
+    private String id;
+
+    private Employee employee;
+
+    private String error;
+}
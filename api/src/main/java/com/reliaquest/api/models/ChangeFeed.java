@@ -0,0 +1,21 @@
+package com.reliaquest.api.models;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Upstream answer to "changes since version N". {@code version} is the version reached after applying
+ * {@code changes}; {@code more} means further changes are waiting past it, and {@code resync} that the changes after N
+ * are no longer retained and the full listing has to be loaded again.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeFeed {
+    private long version;
+    private boolean resync;
+    private boolean more;
+    private List<EmployeeChange> changes;
+}
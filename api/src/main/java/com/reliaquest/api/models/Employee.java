@@ -1,16 +1,23 @@
 package com.reliaquest.api.models;
 
+import com.fasterxml.jackson.annotation.JsonAlias;
 import lombok.Data;
 
 import java.util.UUID;
 
+// Read from the upstream's employee_* field names as well; written in camelCase
 @Data
 public class Employee {
     private UUID id;
+    @JsonAlias("employee_name")
     private String employeeName;
+    @JsonAlias("employee_salary")
     private int employeeSalary;
+    @JsonAlias("employee_age")
     private int employeeAge;
+    @JsonAlias("employee_title")
     private String employeeTitle;
+    @JsonAlias("employee_email")
     private String employeeEmail;
 
     // toString method
@@ -0,0 +1,20 @@
+package com.reliaquest.api.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One entry of the upstream change feed: an employee that was created or deleted at {@code version}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeChange {
+    public static final String CREATED = "created";
+    public static final String DELETED = "deleted";
+
+    private long version;
+    private String type;
+    private Employee employee;
+}
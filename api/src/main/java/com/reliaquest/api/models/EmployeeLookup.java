@@ -0,0 +1,23 @@
+package com.reliaquest.api.models;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One entry of a batch lookup by id: the id as requested, an HTTP-style status for that id, and the employee when it
+ * was found.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EmployeeLookup {
+    private String id;
+
+    // 200 found, 400 not a valid id, 404 unknown, 503 upstream rate limited, 502 other upstream failure
+    private int status;
+
+    private Employee employee;
+}
@@ -0,0 +1,20 @@
+package com.reliaquest.api.models;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One page of the upstream employee listing. {@code nextCursor} is {@code null} on the last page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeePage {
+    private List<Employee> items;
+
+    @JsonProperty("next_cursor")
+    private String nextCursor;
+}
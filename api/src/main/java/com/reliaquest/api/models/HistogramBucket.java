@@ -0,0 +1,19 @@
+package com.reliaquest.api.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One bucket of a histogram: how many employees have a value from {@code from} inclusive to {@code to} exclusive.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HistogramBucket {
+    private long from;
+
+    private long to;
+
+    private int count;
+}
@@ -0,0 +1,14 @@
+package com.reliaquest.api.models;
+
+import lombok.Data;
+
+/**
+ * One item of the upstream's answer to a bulk request: {@code data} when the item was applied, otherwise
+ * {@code error}.
+ */
+@Data
+public class UpstreamBulkResult<T> {
+    private T data;
+
+    private String error;
+}
@@ -0,0 +1,35 @@
+package com.reliaquest.api.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Envelope the upstream wraps every answer in: the payload as {@code data}, a human-readable {@code status}, and
+ * {@code error} when the request failed.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UpstreamResponse<T> {
+    private T data;
+
+    private String status;
+
+    private String error;
+
+    /**
+     * @return {@code response} with its envelope replaced by the payload, keeping status and headers; {@code null} if
+     *     {@code response} is
+     */
+    public static <T> ResponseEntity<T> unwrap(ResponseEntity<UpstreamResponse<T>> response) {
+        if (response == null) {
+            return null;
+        }
+        UpstreamResponse<T> body = response.getBody();
+        return ResponseEntity.status(response.getStatusCode())
+                .headers(response.getHeaders())
+                .body(body == null ? null : body.getData());
+    }
+}
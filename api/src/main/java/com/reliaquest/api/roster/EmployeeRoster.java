@@ -0,0 +1,536 @@
+package com.reliaquest.api.roster;
+
+import com.reliaquest.api.client.UpstreamThrottledException;
+import com.reliaquest.api.models.Employee;
+import com.reliaquest.api.models.EmployeeChange;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-process cache of the upstream employee roster.
+ *
+ * <p>A snapshot younger than {@code refresh-ahead * ttl} is served as is. An older but unexpired snapshot is served
+ * while a single background refresh runs. An expired or missing snapshot blocks the caller on a load that is shared by
+ * every concurrent caller, so a burst of misses costs one upstream fetch. While the upstream is rate limiting us or
+ * its circuit is open, a snapshot up to {@code max-stale} old is served instead of failing the request, and
+ * {@link #isStale(RosterSnapshot)} tells callers to mark such answers.
+ *
+ * <p>With {@link #sync(LongFunction)}, or {@link #syncAsync(LongFunction)} for asynchronous callers, a refresh fetches only the upstream changes since the cached snapshot's change
+ * version and applies them to it, falling back to a full load when the snapshot has no version or the upstream asks for
+ * a resync. Changes pushed by the upstream are applied as they arrive with {@link #advance(long, List, long)}, which
+ * keeps the snapshot fresh without any request at all.
+ *
+ * <p>Lookups are counted by how they were served ({@code employee.roster.lookups}, tagged {@code hit},
+ * {@code refresh_ahead}, {@code miss} or {@code stale}), alongside the time spent building snapshots from a loaded
+ * roster and the current snapshot's size. The counts live in adders and are only read when metrics are scraped.
+ */
+@Slf4j
+@Component
+public class EmployeeRoster implements MeterBinder {
+
+    @Value("${employee.roster.ttl:PT30S}")
+    private Duration ttl = Duration.ofSeconds(30);
+
+    @Value("${employee.roster.refresh-ahead:0.8}")
+    private double refreshAhead = 0.8;
+
+    @Value("${employee.roster.max-stale:PT10M}")
+    private Duration maxStale = Duration.ofMinutes(10);
+
+    private final Executor refreshExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "employee-roster-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicReference<RosterSnapshot> snapshot = new AtomicReference<>();
+    // Id and salary only; serves salary-ranked reads while the full snapshot is not cached
+    private final AtomicReference<RosterSnapshot> salaries = new AtomicReference<>();
+    private final AtomicReference<CompletableFuture<RosterSnapshot>> inFlight = new AtomicReference<>();
+
+    // Bumped on every local mutation; a load that started before a mutation must not overwrite it.
+    private long generation;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder refreshesAhead = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder staleServes = new LongAdder();
+    private final LongAdder builds = new LongAdder();
+    private final LongAdder buildNanos = new LongAdder();
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        lookupCounter(meterRegistry, "hit", hits);
+        lookupCounter(meterRegistry, "refresh_ahead", refreshesAhead);
+        lookupCounter(meterRegistry, "miss", misses);
+        lookupCounter(meterRegistry, "stale", staleServes);
+        FunctionTimer.builder(
+                        "employee.roster.build",
+                        this,
+                        roster -> roster.builds.sum(),
+                        roster -> roster.buildNanos.sum(),
+                        TimeUnit.NANOSECONDS)
+                .description("Time spent indexing a loaded roster into a snapshot")
+                .register(meterRegistry);
+        Gauge.builder("employee.roster.size", this, roster -> {
+                    final RosterSnapshot current = roster.snapshot.get();
+                    return current == null ? Double.NaN : current.size();
+                })
+                .description("Employees in the cached roster snapshot")
+                .register(meterRegistry);
+    }
+
+    public RosterSnapshot get(Supplier<List<Employee>> loader) {
+        return getOrRefresh(ignored -> build(loader.get(), RosterSnapshot.NO_CHANGE_VERSION));
+    }
+
+    /**
+     * Variant of {@link #get(Supplier)} that refreshes incrementally. {@code updater} is given the change version of
+     * the snapshot being refreshed, or {@link RosterSnapshot#NO_CHANGE_VERSION} when there is none, and returns either
+     * the changes since that version or the full roster.
+     */
+    public RosterSnapshot sync(LongFunction<RosterUpdate> updater) {
+        return getOrRefresh(current -> apply(current, updater.apply(changeVersionOf(current))));
+    }
+
+    /**
+     * Non-blocking variant of {@link #sync(LongFunction)} for callers whose updater is itself asynchronous. Shares the
+     * same snapshot, in-flight load and staleness rules.
+     */
+    public CompletableFuture<RosterSnapshot> syncAsync(LongFunction<CompletableFuture<RosterUpdate>> updater) {
+        return getOrRefreshAsync(
+                current -> updater.apply(changeVersionOf(current)).thenApply(update -> apply(current, update)));
+    }
+
+    private static long changeVersionOf(RosterSnapshot current) {
+        return current == null ? RosterSnapshot.NO_CHANGE_VERSION : current.getChangeVersion();
+    }
+
+    private RosterSnapshot apply(RosterSnapshot current, RosterUpdate update) {
+        if (update.isFull()) {
+            return build(update.employees(), update.changeVersion());
+        }
+        if (current == null) {
+            throw new IllegalStateException("Incremental roster update without a snapshot to apply it to");
+        }
+        final long start = System.nanoTime();
+        final RosterSnapshot synced = current.withChanges(update.changes(), update.changeVersion(), start);
+        builds.increment();
+        buildNanos.add(System.nanoTime() - start);
+        log.debug(
+                "Applied {} employee changes up to version {}", update.changes().size(), update.changeVersion());
+        return synced;
+    }
+
+    private RosterSnapshot getOrRefresh(UnaryOperator<RosterSnapshot> refresh) {
+        final RosterSnapshot current = snapshot.get();
+        if (current != null) {
+            final long age = current.ageNanos(System.nanoTime());
+            if (age < (long) (ttl.toNanos() * refreshAhead)) {
+                hits.increment();
+                return current;
+            }
+            if (age < ttl.toNanos()) {
+                refreshesAhead.increment();
+                load(refresh, true);
+                return current;
+            }
+        }
+        misses.increment();
+        try {
+            return join(load(refresh, false));
+        } catch (RuntimeException e) {
+            if (canServeStale(current, e)) {
+                return current;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Non-blocking variant of {@link #get(Supplier)} for callers whose loader is itself asynchronous. Shares the same
+     * snapshot, in-flight load and staleness rules.
+     */
+    public CompletableFuture<RosterSnapshot> getAsync(Supplier<CompletableFuture<List<Employee>>> loader) {
+        return getOrRefreshAsync(
+                ignored -> loader.get().thenApply(employees -> build(employees, RosterSnapshot.NO_CHANGE_VERSION)));
+    }
+
+    private CompletableFuture<RosterSnapshot> getOrRefreshAsync(
+            Function<RosterSnapshot, CompletableFuture<RosterSnapshot>> refresh) {
+        final RosterSnapshot current = snapshot.get();
+        if (current != null) {
+            final long age = current.ageNanos(System.nanoTime());
+            if (age < (long) (ttl.toNanos() * refreshAhead)) {
+                hits.increment();
+                return CompletableFuture.completedFuture(current);
+            }
+            if (age < ttl.toNanos()) {
+                refreshesAhead.increment();
+                loadAsync(refresh);
+                return CompletableFuture.completedFuture(current);
+            }
+        }
+        misses.increment();
+        return loadAsync(refresh).exceptionally(error -> {
+            final Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+            if (canServeStale(current, cause)) {
+                return current;
+            }
+            throw error instanceof CompletionException completion ? completion : new CompletionException(cause);
+        });
+    }
+
+    /**
+     * @return the cached snapshot if it has not expired, without loading or refreshing it
+     */
+    public Optional<RosterSnapshot> peek() {
+        final RosterSnapshot current = snapshot.get();
+        if (current == null || current.ageNanos(System.nanoTime()) >= ttl.toNanos()) {
+            return Optional.empty();
+        }
+        return Optional.of(current);
+    }
+
+    /**
+     * Last good snapshot for a read the upstream could not answer: the cached snapshot, expired or not, while it is
+     * within {@code max-stale}. Serving an expired one counts as a stale lookup.
+     */
+    public Optional<RosterSnapshot> fallback() {
+        final RosterSnapshot current = snapshot.get();
+        if (current == null) {
+            return Optional.empty();
+        }
+        final long age = current.ageNanos(System.nanoTime());
+        if (age >= maxStale.toNanos()) {
+            return Optional.empty();
+        }
+        if (age >= ttl.toNanos()) {
+            staleServes.increment();
+        }
+        return Optional.of(current);
+    }
+
+    /**
+     * @return whether {@code roster} has outlived its ttl, i.e. was served because a refresh could not be made
+     */
+    public boolean isStale(RosterSnapshot roster) {
+        return roster.ageNanos(System.nanoTime()) >= ttl.toNanos();
+    }
+
+    /**
+     * Snapshot for reads that only rank by salary. Uses the full snapshot when it has not expired, and otherwise a
+     * snapshot of the salary-only projection {@code loader} returns, so those reads never download names, titles and
+     * emails. The projection is cached for the same ttl and receives the same local mutations as the full snapshot.
+     * Employees in it carry only an id and a salary.
+     */
+    public RosterSnapshot getSalaries(Supplier<List<Employee>> loader) {
+        final Optional<RosterSnapshot> cached = cachedSalaries();
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        final RosterSnapshot current = salaries.get();
+        final long startGeneration = currentGeneration();
+        try {
+            return installSalaries(loader.get(), startGeneration);
+        } catch (RuntimeException e) {
+            final RosterSnapshot stale = snapshot.get() != null ? snapshot.get() : current;
+            if (canServeStale(stale, e)) {
+                return stale;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Non-blocking variant of {@link #getSalaries(Supplier)} for callers whose loader is itself asynchronous.
+     */
+    public CompletableFuture<RosterSnapshot> getSalariesAsync(Supplier<CompletableFuture<List<Employee>>> loader) {
+        final Optional<RosterSnapshot> cached = cachedSalaries();
+        if (cached.isPresent()) {
+            return CompletableFuture.completedFuture(cached.get());
+        }
+        final RosterSnapshot current = salaries.get();
+        final long startGeneration = currentGeneration();
+        CompletableFuture<List<Employee>> fetch;
+        try {
+            fetch = loader.get();
+        } catch (RuntimeException e) {
+            fetch = CompletableFuture.failedFuture(e);
+        }
+        return fetch.handle((employees, error) -> {
+            if (error == null) {
+                return installSalaries(employees, startGeneration);
+            }
+            final Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+            final RosterSnapshot stale = snapshot.get() != null ? snapshot.get() : current;
+            if (canServeStale(stale, cause)) {
+                return stale;
+            }
+            throw error instanceof CompletionException completion ? completion : new CompletionException(cause);
+        });
+    }
+
+    // The unexpired full snapshot, else the unexpired salary projection; counts a miss when neither is cached
+    private Optional<RosterSnapshot> cachedSalaries() {
+        final Optional<RosterSnapshot> full = peek();
+        if (full.isPresent()) {
+            hits.increment();
+            return full;
+        }
+        final RosterSnapshot current = salaries.get();
+        if (current != null && current.ageNanos(System.nanoTime()) < ttl.toNanos()) {
+            hits.increment();
+            return Optional.of(current);
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    private RosterSnapshot installSalaries(List<Employee> employees, long startGeneration) {
+        final RosterSnapshot loaded = build(employees, RosterSnapshot.NO_CHANGE_VERSION);
+        synchronized (this) {
+            if (generation == startGeneration) {
+                salaries.set(loaded);
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * @return the change version of the cached snapshot, expired or not, or {@link RosterSnapshot#NO_CHANGE_VERSION}
+     */
+    public long changeVersion() {
+        final RosterSnapshot current = snapshot.get();
+        return current == null ? RosterSnapshot.NO_CHANGE_VERSION : current.getChangeVersion();
+    }
+
+    /**
+     * Applies changes pushed by the upstream if they continue the cached snapshot, which is then as fresh as if it had
+     * just been loaded. Empty {@code changes} only confirm that the snapshot is current at {@code toVersion}.
+     *
+     * @return whether the snapshot was at {@code fromVersion}; if not nothing is applied, and the next sync catches up
+     */
+    public synchronized boolean advance(long fromVersion, List<EmployeeChange> changes, long toVersion) {
+        final RosterSnapshot current = snapshot.get();
+        if (current == null
+                || current.getChangeVersion() == RosterSnapshot.NO_CHANGE_VERSION
+                || current.getChangeVersion() != fromVersion) {
+            return false;
+        }
+        // Loads that started before this point would overwrite a newer snapshot
+        generation++;
+        snapshot.set(current.withChanges(changes, toVersion, System.nanoTime()));
+        final RosterSnapshot currentSalaries = salaries.get();
+        if (currentSalaries != null && !changes.isEmpty()) {
+            salaries.set(currentSalaries.withChanges(
+                    changes, RosterSnapshot.NO_CHANGE_VERSION, currentSalaries.getLoadedAtNanos()));
+        }
+        return true;
+    }
+
+    public void added(Employee employee) {
+        mutate(current -> current.withAdded(employee));
+    }
+
+    public void removed(UUID id) {
+        mutate(current -> current.withRemoved(id));
+    }
+
+    public void addedAll(List<Employee> employees) {
+        if (!employees.isEmpty()) {
+            mutate(current -> current.withAddedAll(employees));
+        }
+    }
+
+    public void removedAll(Set<UUID> ids) {
+        if (!ids.isEmpty()) {
+            mutate(current -> current.withRemovedAll(ids));
+        }
+    }
+
+    /**
+     * Drops employees the upstream deleted by name. The upstream deletes the earliest employees with each name, which
+     * are only known to be {@code employees} while the cached roster has no other employee of those names. Otherwise,
+     * or when no full snapshot is cached to tell, the snapshots are dropped and the next read reloads them.
+     */
+    public synchronized void removedByName(List<Employee> employees) {
+        if (employees.isEmpty()) {
+            return;
+        }
+        final Set<UUID> ids = employees.stream().map(Employee::getId).collect(Collectors.toSet());
+        final RosterSnapshot current = snapshot.get();
+        final boolean known = current != null
+                && employees.stream().allMatch(employee -> {
+                    final String name = employee.getEmployeeName();
+                    return name != null
+                            && current.searchByName(name).stream()
+                                    .filter(other -> name.equals(other.getEmployeeName()))
+                                    .allMatch(other -> ids.contains(other.getId()));
+                });
+        if (known) {
+            removedAll(ids);
+        } else {
+            invalidate();
+        }
+    }
+
+    public synchronized void invalidate() {
+        generation++;
+        snapshot.set(null);
+        salaries.set(null);
+    }
+
+    private CompletableFuture<RosterSnapshot> load(UnaryOperator<RosterSnapshot> refresh, boolean async) {
+        while (true) {
+            final CompletableFuture<RosterSnapshot> existing = inFlight.get();
+            if (existing != null) {
+                return existing;
+            }
+            final CompletableFuture<RosterSnapshot> future = new CompletableFuture<RosterSnapshot>();
+            if (inFlight.compareAndSet(null, future)) {
+                if (async) {
+                    refreshExecutor.execute(() -> fetchInto(future, refresh));
+                } else {
+                    fetchInto(future, refresh);
+                }
+                return future;
+            }
+        }
+    }
+
+    private CompletableFuture<RosterSnapshot> loadAsync(
+            Function<RosterSnapshot, CompletableFuture<RosterSnapshot>> refresh) {
+        while (true) {
+            final CompletableFuture<RosterSnapshot> existing = inFlight.get();
+            if (existing != null) {
+                return existing;
+            }
+            final CompletableFuture<RosterSnapshot> future = new CompletableFuture<RosterSnapshot>();
+            if (inFlight.compareAndSet(null, future)) {
+                final long startGeneration = currentGeneration();
+                CompletableFuture<RosterSnapshot> fetch;
+                try {
+                    // Built on the snapshot as of the start of the load, which the generation check keeps current
+                    fetch = refresh.apply(snapshot.get());
+                } catch (RuntimeException e) {
+                    fetch = CompletableFuture.failedFuture(e);
+                }
+                fetch.whenComplete((loaded, error) -> {
+                    try {
+                        if (error != null) {
+                            log.debug("Failed to load employee roster", error);
+                            future.completeExceptionally(
+                                    error instanceof CompletionException ? error.getCause() : error);
+                        } else {
+                            install(loaded, startGeneration);
+                            log.debug("Loaded employee roster with {} employees", loaded.size());
+                            future.complete(loaded);
+                        }
+                    } finally {
+                        inFlight.compareAndSet(future, null);
+                    }
+                });
+                return future;
+            }
+        }
+    }
+
+    private boolean canServeStale(RosterSnapshot current, Throwable error) {
+        if (current != null
+                && UpstreamThrottledException.isThrottle(error)
+                && current.ageNanos(System.nanoTime()) < maxStale.toNanos()) {
+            log.debug("Serving stale employee roster while the upstream is unavailable: {}", error.getMessage());
+            staleServes.increment();
+            return true;
+        }
+        return false;
+    }
+
+    private void fetchInto(CompletableFuture<RosterSnapshot> future, UnaryOperator<RosterSnapshot> refresh) {
+        final long startGeneration = currentGeneration();
+        try {
+            // Refreshes build on the snapshot as of the start of the load, which the generation check keeps current
+            final RosterSnapshot loaded = refresh.apply(snapshot.get());
+            install(loaded, startGeneration);
+            log.debug("Loaded employee roster with {} employees", loaded.size());
+            future.complete(loaded);
+        } catch (RuntimeException e) {
+            log.debug("Failed to load employee roster", e);
+            future.completeExceptionally(e);
+        } finally {
+            inFlight.compareAndSet(future, null);
+        }
+    }
+
+    private RosterSnapshot build(List<Employee> employees, long changeVersion) {
+        final long start = System.nanoTime();
+        final RosterSnapshot built = RosterSnapshot.of(employees, start, changeVersion);
+        builds.increment();
+        buildNanos.add(System.nanoTime() - start);
+        return built;
+    }
+
+    private synchronized long currentGeneration() {
+        return generation;
+    }
+
+    private synchronized void install(RosterSnapshot loaded, long startGeneration) {
+        if (generation == startGeneration) {
+            snapshot.set(loaded);
+        }
+    }
+
+    private synchronized void mutate(UnaryOperator<RosterSnapshot> mutation) {
+        generation++;
+        final RosterSnapshot current = snapshot.get();
+        if (current != null) {
+            snapshot.set(mutation.apply(current));
+        }
+        final RosterSnapshot currentSalaries = salaries.get();
+        if (currentSalaries != null) {
+            salaries.set(mutation.apply(currentSalaries));
+        }
+    }
+
+    private static void lookupCounter(MeterRegistry meterRegistry, String result, LongAdder count) {
+        FunctionCounter.builder("employee.roster.lookups", count, LongAdder::sum)
+                .description("Roster lookups by how they were served")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static RosterSnapshot join(CompletableFuture<RosterSnapshot> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.reliaquest.api.roster;
+
+import com.reliaquest.api.models.HistogramBucket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.OptionalInt;
+
+/**
+ * One int field of every employee, sorted ascending in a primitive array. Percentiles are an index, range counts two
+ * binary searches, and a histogram one binary search per bucket, so none of them touch the employees themselves. A
+ * single create or delete is a binary search plus one array copy, like {@link SalaryIndex}.
+ */
+final class IntColumn {
+
+    private static final IntColumn EMPTY = new IntColumn(new int[0]);
+
+    private final int[] values;
+
+    private IntColumn(int[] values) {
+        this.values = values;
+    }
+
+    /**
+     * @param values taken over and sorted in place
+     */
+    static IntColumn build(int[] values) {
+        if (values.length == 0) {
+            return EMPTY;
+        }
+        Arrays.sort(values);
+        return new IntColumn(values);
+    }
+
+    int size() {
+        return values.length;
+    }
+
+    /**
+     * Nearest-rank percentile: the smallest value that at least {@code percentile} percent of the values are lower than
+     * or equal to.
+     *
+     * @param percentile between 0 and 100; 0 is the minimum
+     */
+    OptionalInt percentile(double percentile) {
+        if (values.length == 0) {
+            return OptionalInt.empty();
+        }
+        final int rank = (int) Math.ceil(percentile / 100 * values.length);
+        return OptionalInt.of(values[Math.max(0, Math.min(values.length, rank) - 1)]);
+    }
+
+    /**
+     * @return how many values lie between {@code min} and {@code max}, both inclusive
+     */
+    int count(int min, int max) {
+        if (min > max) {
+            return 0;
+        }
+        return firstAbove(max) - firstAtLeast(min);
+    }
+
+    /**
+     * Counts per bucket of {@code width}, from the bucket holding the minimum to the one holding the maximum. Buckets
+     * start at multiples of {@code width}, so histograms of different rosters line up.
+     *
+     * @throws IllegalArgumentException if that takes more than {@code maxBuckets} buckets
+     */
+    List<HistogramBucket> histogram(int width, int maxBuckets) {
+        if (values.length == 0) {
+            return List.of();
+        }
+        final long start = Math.floorDiv((long) values[0], width) * width;
+        final long buckets = (values[values.length - 1] - start) / width + 1;
+        if (buckets > maxBuckets) {
+            throw new IllegalArgumentException(
+                    "A width of %d gives %d buckets, more than %d.".formatted(width, buckets, maxBuckets));
+        }
+        final List<HistogramBucket> histogram = new ArrayList<HistogramBucket>((int) buckets);
+        int from = 0;
+        for (long lower = start; from < values.length; lower += width) {
+            final long upper = lower + width;
+            final int to = upper > Integer.MAX_VALUE ? values.length : firstAtLeast((int) upper);
+            histogram.add(new HistogramBucket(lower, upper, to - from));
+            from = to;
+        }
+        return histogram;
+    }
+
+    IntColumn withAdded(int value) {
+        final int at = firstAbove(value);
+        final int[] next = new int[values.length + 1];
+        System.arraycopy(values, 0, next, 0, at);
+        next[at] = value;
+        System.arraycopy(values, at, next, at + 1, values.length - at);
+        return new IntColumn(next);
+    }
+
+    IntColumn withRemoved(int value) {
+        final int at = firstAtLeast(value);
+        if (at == values.length || values[at] != value) {
+            return this;
+        }
+        if (values.length == 1) {
+            return EMPTY;
+        }
+        final int[] next = new int[values.length - 1];
+        System.arraycopy(values, 0, next, 0, at);
+        System.arraycopy(values, at + 1, next, at, values.length - at - 1);
+        return new IntColumn(next);
+    }
+
+    // First position whose value is greater than or equal to the given one.
+    private int firstAtLeast(int value) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (values[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // First position whose value is strictly greater than the given one.
+    private int firstAbove(int value) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (values[mid] <= value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,169 @@
+package com.reliaquest.api.roster;
+
+import com.reliaquest.api.models.Employee;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Trigram inverted index over lower-cased employee names for case-insensitive substring search.
+ *
+ * <p>Each employee gets an ordinal; every trigram of its name maps to the ascending ordinals containing it. A query of
+ * three or more characters only verifies the ordinals of its rarest trigram, so cost follows the number of candidates
+ * rather than the roster size. Shorter queries fall back to a scan over the pre-lowered names. Deletes leave a
+ * tombstone and the index is rebuilt once tombstones make up a quarter of it.
+ */
+final class NameIndex {
+
+    private static final int GRAM = 3;
+    private static final int[] NO_POSTINGS = new int[0];
+
+    private final Employee[] employees;
+    private final String[] lowerNames;
+    private final Map<Long, int[]> postings;
+    private final int tombstones;
+
+    private NameIndex(Employee[] employees, String[] lowerNames, Map<Long, int[]> postings, int tombstones) {
+        this.employees = employees;
+        this.lowerNames = lowerNames;
+        this.postings = postings;
+        this.tombstones = tombstones;
+    }
+
+    static NameIndex build(List<Employee> roster) {
+        final Employee[] employees = roster.toArray(new Employee[0]);
+        final String[] lowerNames = new String[employees.length];
+        final Map<Long, PostingsBuilder> builders = new HashMap<Long, PostingsBuilder>();
+        for (int ordinal = 0; ordinal < employees.length; ordinal++) {
+            final String name = employees[ordinal].getEmployeeName();
+            if (name == null) {
+                continue;
+            }
+            lowerNames[ordinal] = name.toLowerCase();
+            final int current = ordinal;
+            forEachTrigram(
+                    lowerNames[ordinal], trigram -> builders.computeIfAbsent(trigram, ignored -> new PostingsBuilder())
+                            .add(current));
+        }
+        final Map<Long, int[]> postings = new HashMap<Long, int[]>(builders.size() * 4 / 3 + 1);
+        builders.forEach((trigram, builder) -> postings.put(trigram, builder.toArray()));
+        return new NameIndex(employees, lowerNames, postings, 0);
+    }
+
+    List<Employee> search(String query) {
+        final String lowerQuery = query.toLowerCase();
+        if (lowerQuery.length() < GRAM) {
+            return scan(lowerQuery);
+        }
+        int[] candidates = null;
+        for (int i = 0; i + GRAM <= lowerQuery.length(); i++) {
+            final int[] list = postings.getOrDefault(trigram(lowerQuery, i), NO_POSTINGS);
+            if (candidates == null || list.length < candidates.length) {
+                candidates = list;
+            }
+            if (candidates.length == 0) {
+                return List.of();
+            }
+        }
+        final List<Employee> matches = new ArrayList<Employee>();
+        for (int ordinal : candidates) {
+            if (employees[ordinal] != null && lowerNames[ordinal].contains(lowerQuery)) {
+                matches.add(employees[ordinal]);
+            }
+        }
+        return matches;
+    }
+
+    NameIndex withAdded(Employee employee) {
+        final int ordinal = employees.length;
+        final Employee[] nextEmployees = Arrays.copyOf(employees, ordinal + 1);
+        final String[] nextLowerNames = Arrays.copyOf(lowerNames, ordinal + 1);
+        nextEmployees[ordinal] = employee;
+        if (employee.getEmployeeName() == null) {
+            return new NameIndex(nextEmployees, nextLowerNames, postings, tombstones);
+        }
+        nextLowerNames[ordinal] = employee.getEmployeeName().toLowerCase();
+        final Map<Long, int[]> nextPostings = new HashMap<>(postings);
+        forEachTrigram(nextLowerNames[ordinal], trigram -> {
+            final int[] list = nextPostings.getOrDefault(trigram, NO_POSTINGS);
+            if (list.length == 0 || list[list.length - 1] != ordinal) {
+                final int[] extended = Arrays.copyOf(list, list.length + 1);
+                extended[list.length] = ordinal;
+                nextPostings.put(trigram, extended);
+            }
+        });
+        return new NameIndex(nextEmployees, nextLowerNames, nextPostings, tombstones);
+    }
+
+    NameIndex withRemoved(Employee employee) {
+        for (int ordinal = 0; ordinal < employees.length; ordinal++) {
+            if (employees[ordinal] != null && Objects.equals(employees[ordinal].getId(), employee.getId())) {
+                final Employee[] nextEmployees = employees.clone();
+                nextEmployees[ordinal] = null;
+                if ((tombstones + 1) * 4 > employees.length) {
+                    return build(live(nextEmployees));
+                }
+                return new NameIndex(nextEmployees, lowerNames, postings, tombstones + 1);
+            }
+        }
+        return this;
+    }
+
+    private List<Employee> scan(String lowerQuery) {
+        final List<Employee> matches = new ArrayList<Employee>();
+        for (int ordinal = 0; ordinal < employees.length; ordinal++) {
+            if (employees[ordinal] != null && lowerNames[ordinal] != null && lowerNames[ordinal].contains(lowerQuery)) {
+                matches.add(employees[ordinal]);
+            }
+        }
+        return matches;
+    }
+
+    private static List<Employee> live(Employee[] employees) {
+        final List<Employee> live = new ArrayList<Employee>(employees.length);
+        for (Employee employee : employees) {
+            if (employee != null) {
+                live.add(employee);
+            }
+        }
+        return live;
+    }
+
+    private static void forEachTrigram(String lowerName, TrigramConsumer consumer) {
+        for (int i = 0; i + GRAM <= lowerName.length(); i++) {
+            consumer.accept(trigram(lowerName, i));
+        }
+    }
+
+    private static long trigram(String text, int offset) {
+        return ((long) text.charAt(offset) << 32) | ((long) text.charAt(offset + 1) << 16) | text.charAt(offset + 2);
+    }
+
+    @FunctionalInterface
+    private interface TrigramConsumer {
+        void accept(long trigram);
+    }
+
+    private static final class PostingsBuilder {
+        private int[] ordinals = new int[4];
+        private int size;
+
+        void add(int ordinal) {
+            // A name repeating a trigram must only be listed once.
+            if (size > 0 && ordinals[size - 1] == ordinal) {
+                return;
+            }
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+            }
+            ordinals[size++] = ordinal;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(ordinals, size);
+        }
+    }
+}
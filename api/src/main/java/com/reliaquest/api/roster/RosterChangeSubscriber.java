@@ -0,0 +1,130 @@
+package com.reliaquest.api.roster;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.models.EmployeeChange;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.util.retry.Retry;
+
+/**
+ * Keeps {@link EmployeeRoster} current from the upstream's Server-Sent Events stream of creates and deletes, so reads
+ * are served locally between ttl-driven syncs instead of polling.
+ *
+ * <p>Each connection resumes from the cached snapshot's change version through {@code Last-Event-ID}, or from the last
+ * event seen while there is no snapshot, so the upstream replays whatever arrived while disconnected. Dropped or
+ * refused connections are retried with exponential backoff that resets once events flow again. Events that do not
+ * continue the snapshot, e.g. while it is being reloaded, are skipped; the roster's next change feed sync catches up.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "employee.roster.push.enabled", havingValue = "true")
+public class RosterChangeSubscriber {
+
+    private static final ParameterizedTypeReference<ServerSentEvent<String>> EVENT_TYPE =
+            new ParameterizedTypeReference<>() {};
+
+    private final EmployeeRoster employeeRoster;
+    private final ObjectMapper objectMapper;
+    private final WebClient webClient;
+    private final String eventsUrl;
+    private final Duration minBackoff;
+    private final Duration maxBackoff;
+
+    // Resume point while there is no snapshot to resume from
+    private volatile long lastEventId = RosterSnapshot.NO_CHANGE_VERSION;
+    private volatile Disposable subscription;
+
+    public RosterChangeSubscriber(
+            EmployeeRoster employeeRoster,
+            ObjectMapper objectMapper,
+            WebClient.Builder webClientBuilder,
+            @Value("${employee.api.url:http://localhost:8112/api/v1/employee}") String employeeApiUrl,
+            @Value("${employee.roster.push.min-backoff:PT1S}") Duration minBackoff,
+            @Value("${employee.roster.push.max-backoff:PT30S}") Duration maxBackoff) {
+        this.employeeRoster = employeeRoster;
+        this.objectMapper = objectMapper;
+        this.webClient = webClientBuilder.clone().build();
+        this.eventsUrl = employeeApiUrl + "/events";
+        this.minBackoff = minBackoff;
+        this.maxBackoff = maxBackoff;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        subscription = Flux.defer(this::connect)
+                // The upstream ends streams after a while; reconnect without treating it as a failure
+                .repeatWhen(completions -> completions.delayElements(minBackoff))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, minBackoff)
+                        .maxBackoff(maxBackoff)
+                        .transientErrors(true)
+                        .doBeforeRetry(retry -> log.debug(
+                                "Reconnecting to employee change stream: {}",
+                                retry.failure().getMessage())))
+                .subscribe(this::apply);
+    }
+
+    @PreDestroy
+    public void stop() {
+        final Disposable current = subscription;
+        if (current != null) {
+            current.dispose();
+        }
+    }
+
+    private Flux<ServerSentEvent<String>> connect() {
+        final long snapshotVersion = employeeRoster.changeVersion();
+        final long resumeFrom = snapshotVersion != RosterSnapshot.NO_CHANGE_VERSION ? snapshotVersion : lastEventId;
+        return webClient
+                .get()
+                .uri(eventsUrl)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .headers(headers -> {
+                    if (resumeFrom != RosterSnapshot.NO_CHANGE_VERSION) {
+                        headers.set("Last-Event-ID", Long.toString(resumeFrom));
+                    }
+                })
+                .retrieve()
+                .bodyToFlux(EVENT_TYPE);
+    }
+
+    void apply(ServerSentEvent<String> event) {
+        if (event.event() == null || event.data() == null) {
+            return;
+        }
+        try {
+            switch (event.event()) {
+                case EmployeeChange.CREATED, EmployeeChange.DELETED -> {
+                    final EmployeeChange change = objectMapper.readValue(event.data(), EmployeeChange.class);
+                    lastEventId = change.getVersion();
+                    employeeRoster.advance(change.getVersion() - 1, List.of(change), change.getVersion());
+                }
+                case "heartbeat" -> {
+                    final long version = Long.parseLong(event.data().trim());
+                    employeeRoster.advance(version, List.of(), version);
+                }
+                case "resync" -> {
+                    // The upstream no longer has the changes after our version; the next sync reloads in full
+                    lastEventId = Long.parseLong(event.data().trim());
+                    log.debug("Employee change stream fell behind, resuming at version {}", lastEventId);
+                }
+                default -> log.debug("Ignoring employee change stream event '{}'", event.event());
+            }
+        } catch (JsonProcessingException | NumberFormatException e) {
+            log.debug("Skipping malformed employee change stream event: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,305 @@
+package com.reliaquest.api.roster;
+
+import com.reliaquest.api.models.Employee;
+import com.reliaquest.api.models.EmployeeChange;
+import com.reliaquest.api.models.HistogramBucket;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.Getter;
+
+/**
+ * Immutable point-in-time copy of the upstream employee roster together with the indexes built over it. Mutations
+ * produce a new snapshot so readers never observe a partially applied change.
+ *
+ * <p>Salaries and ages are also held as sorted primitive columns, built with the snapshot rather than on the first
+ * analytics read, so percentiles, histograms and range counts never walk the employees.
+ *
+ * <p>Every snapshot with different contents gets a new revision, which makes {@link #etag()} a strong validator for
+ * any response computed from the snapshot alone.
+ */
+public final class RosterSnapshot {
+
+    public static final long NO_CHANGE_VERSION = -1;
+
+    // Per-process prefix, so revisions counted again after a restart never repeat a tag a client still holds
+    private static final String EPOCH =
+            Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+    private static final AtomicLong REVISIONS = new AtomicLong();
+
+    @Getter
+    private final List<Employee> employees;
+
+    @Getter
+    private final long loadedAtNanos;
+
+    // Upstream change version the roster was loaded or synced at; local mutations keep it
+    @Getter
+    private final long changeVersion;
+
+    private final long revision;
+    private final SalaryIndex salaryIndex;
+    private final NameIndex nameIndex;
+    private final Columns columns;
+
+    // Built on the first lookup by id; most snapshots are only ever scanned or ranked
+    private volatile Map<UUID, Employee> byId;
+
+    private RosterSnapshot(
+            List<Employee> employees,
+            long loadedAtNanos,
+            long changeVersion,
+            SalaryIndex salaryIndex,
+            NameIndex nameIndex,
+            Columns columns) {
+        this(employees, loadedAtNanos, changeVersion, REVISIONS.incrementAndGet(), salaryIndex, nameIndex, columns);
+    }
+
+    private RosterSnapshot(
+            List<Employee> employees,
+            long loadedAtNanos,
+            long changeVersion,
+            long revision,
+            SalaryIndex salaryIndex,
+            NameIndex nameIndex,
+            Columns columns) {
+        this.employees = Collections.unmodifiableList(employees);
+        this.loadedAtNanos = loadedAtNanos;
+        this.changeVersion = changeVersion;
+        this.revision = revision;
+        this.salaryIndex = salaryIndex;
+        this.nameIndex = nameIndex;
+        this.columns = columns;
+    }
+
+    public static RosterSnapshot of(List<Employee> employees, long loadedAtNanos) {
+        return of(employees, loadedAtNanos, NO_CHANGE_VERSION);
+    }
+
+    public static RosterSnapshot of(List<Employee> employees, long loadedAtNanos, long changeVersion) {
+        final List<Employee> copy = new ArrayList<>(employees);
+        return new RosterSnapshot(
+                copy,
+                loadedAtNanos,
+                changeVersion,
+                SalaryIndex.build(copy),
+                NameIndex.build(copy),
+                Columns.build(copy));
+    }
+
+    public long ageNanos(long nowNanos) {
+        return nowNanos - loadedAtNanos;
+    }
+
+    /**
+     * @return a strong ETag that changes whenever the employees do
+     */
+    public String etag() {
+        return "\"" + EPOCH + "-" + revision + "\"";
+    }
+
+    public int size() {
+        return employees.size();
+    }
+
+    public OptionalInt highestSalary() {
+        return salaryIndex.highest();
+    }
+
+    /**
+     * @return up to {@code limit} employees ordered by descending salary
+     */
+    public List<Employee> topEarners(int limit) {
+        return salaryIndex.top(limit);
+    }
+
+    /**
+     * @return up to {@code limit} employees earning between {@code min} and {@code max}, both inclusive, highest first
+     */
+    public List<Employee> salaryRange(int min, int max, int limit) {
+        return salaryIndex.between(min, max, limit);
+    }
+
+    /**
+     * @return how many employees earn between {@code min} and {@code max}, both inclusive
+     */
+    public int countSalaryRange(int min, int max) {
+        return columns.salaries.count(min, max);
+    }
+
+    /**
+     * @param percentile between 0 and 100, nearest rank
+     */
+    public OptionalInt salaryPercentile(double percentile) {
+        return columns.salaries.percentile(percentile);
+    }
+
+    /**
+     * @throws IllegalArgumentException if {@code width} makes more than {@code maxBuckets} buckets
+     */
+    public List<HistogramBucket> salaryHistogram(int width, int maxBuckets) {
+        return columns.salaries.histogram(width, maxBuckets);
+    }
+
+    /**
+     * @throws IllegalArgumentException if {@code width} makes more than {@code maxBuckets} buckets
+     */
+    public List<HistogramBucket> ageHistogram(int width, int maxBuckets) {
+        return columns.ages.histogram(width, maxBuckets);
+    }
+
+    /**
+     * @return employees whose name contains {@code query}, ignoring case, in roster order
+     */
+    public List<Employee> searchByName(String query) {
+        return nameIndex.search(query);
+    }
+
+    public Optional<Employee> findById(UUID id) {
+        Map<UUID, Employee> index = byId;
+        if (index == null) {
+            index = new HashMap<>(employees.size() * 4 / 3 + 1);
+            for (Employee employee : employees) {
+                index.putIfAbsent(employee.getId(), employee);
+            }
+            // Racing builders produce equal maps, so the last write winning is harmless
+            byId = index;
+        }
+        return Optional.ofNullable(index.get(id));
+    }
+
+    RosterSnapshot withAdded(Employee employee) {
+        final List<Employee> copy = new ArrayList<Employee>(employees.size() + 1);
+        copy.addAll(employees);
+        copy.add(employee);
+        return new RosterSnapshot(
+                copy,
+                loadedAtNanos,
+                changeVersion,
+                salaryIndex.withAdded(employee),
+                nameIndex.withAdded(employee),
+                columns.withAdded(employee));
+    }
+
+    // Bulk changes rebuild the indexes once rather than updating them incrementally per employee
+    RosterSnapshot withAddedAll(List<Employee> added) {
+        final List<Employee> copy = new ArrayList<Employee>(employees.size() + added.size());
+        copy.addAll(employees);
+        copy.addAll(added);
+        return of(copy, loadedAtNanos, changeVersion);
+    }
+
+    RosterSnapshot withRemovedAll(Set<UUID> ids) {
+        final List<Employee> copy = new ArrayList<Employee>(employees.size());
+        for (Employee employee : employees) {
+            if (!ids.contains(employee.getId())) {
+                copy.add(employee);
+            }
+        }
+        return copy.size() == employees.size() ? this : of(copy, loadedAtNanos, changeVersion);
+    }
+
+    RosterSnapshot withRemoved(UUID id) {
+        final List<Employee> copy = new ArrayList<Employee>(employees.size());
+        Employee removed = null;
+        for (Employee employee : employees) {
+            if (removed == null && Objects.equals(employee.getId(), id)) {
+                removed = employee;
+            } else {
+                copy.add(employee);
+            }
+        }
+        if (removed == null) {
+            return this;
+        }
+        return new RosterSnapshot(
+                copy,
+                loadedAtNanos,
+                changeVersion,
+                salaryIndex.withRemoved(removed),
+                nameIndex.withRemoved(removed),
+                columns.withRemoved(removed));
+    }
+
+    /**
+     * Applies upstream changes in order, as a fresh snapshot at {@code changeVersion}. Creates replace an employee with
+     * the same id and deletes of unknown ids are ignored, so changes this roster already reflects, such as its own
+     * writes, apply harmlessly. Without changes the indexes and the revision are reused and only the load time moves.
+     */
+    RosterSnapshot withChanges(List<EmployeeChange> changes, long changeVersion, long loadedAtNanos) {
+        if (changes.isEmpty()) {
+            return new RosterSnapshot(
+                    employees, loadedAtNanos, changeVersion, revision, salaryIndex, nameIndex, columns);
+        }
+        if (changes.size() == 1) {
+            // A single pushed change updates the indexes in place of rebuilding them
+            final EmployeeChange change = changes.get(0);
+            final Employee employee = change.getEmployee();
+            RosterSnapshot changed = this;
+            if (employee != null && employee.getId() != null) {
+                changed = withRemoved(employee.getId());
+                if (!EmployeeChange.DELETED.equals(change.getType())) {
+                    changed = changed.withAdded(employee);
+                }
+            }
+            return new RosterSnapshot(
+                    changed.employees,
+                    loadedAtNanos,
+                    changeVersion,
+                    changed.salaryIndex,
+                    changed.nameIndex,
+                    changed.columns);
+        }
+        final Map<UUID, Employee> merged = new LinkedHashMap<UUID, Employee>(employees.size() * 4 / 3 + 1);
+        for (Employee employee : employees) {
+            merged.putIfAbsent(employee.getId(), employee);
+        }
+        for (EmployeeChange change : changes) {
+            final Employee employee = change.getEmployee();
+            if (employee == null || employee.getId() == null) {
+                continue;
+            }
+            if (EmployeeChange.DELETED.equals(change.getType())) {
+                merged.remove(employee.getId());
+            } else {
+                merged.put(employee.getId(), employee);
+            }
+        }
+        return of(new ArrayList<>(merged.values()), loadedAtNanos, changeVersion);
+    }
+
+    // Salaries and ages as sorted primitive columns, for analytics that only count or rank values
+    private record Columns(IntColumn salaries, IntColumn ages) {
+
+        static Columns build(List<Employee> employees) {
+            final int[] salaries = new int[employees.size()];
+            final int[] ages = new int[employees.size()];
+            for (int i = 0; i < salaries.length; i++) {
+                final Employee employee = employees.get(i);
+                salaries[i] = employee.getEmployeeSalary();
+                ages[i] = employee.getEmployeeAge();
+            }
+            return new Columns(IntColumn.build(salaries), IntColumn.build(ages));
+        }
+
+        Columns withAdded(Employee employee) {
+            return new Columns(
+                    salaries.withAdded(employee.getEmployeeSalary()), ages.withAdded(employee.getEmployeeAge()));
+        }
+
+        Columns withRemoved(Employee employee) {
+            return new Columns(
+                    salaries.withRemoved(employee.getEmployeeSalary()), ages.withRemoved(employee.getEmployeeAge()));
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.reliaquest.api.roster;
+
+import com.reliaquest.api.models.Employee;
+import com.reliaquest.api.models.EmployeeChange;
+import java.util.List;
+
+/**
+ * What a roster sync fetched from the upstream: either the full listing or the changes since the cached snapshot's
+ * change version, together with the change version the result is at.
+ *
+ * @param changeVersion upstream change version, or {@link RosterSnapshot#NO_CHANGE_VERSION} when the upstream did not
+ *     report one; such a snapshot is always reloaded in full
+ */
+public record RosterUpdate(List<Employee> employees, List<EmployeeChange> changes, long changeVersion) {
+
+    public static RosterUpdate full(List<Employee> employees, long changeVersion) {
+        return new RosterUpdate(employees, null, changeVersion);
+    }
+
+    public static RosterUpdate incremental(List<EmployeeChange> changes, long changeVersion) {
+        return new RosterUpdate(null, changes, changeVersion);
+    }
+
+    public boolean isFull() {
+        return employees != null;
+    }
+}
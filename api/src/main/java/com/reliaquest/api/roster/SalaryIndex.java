@@ -0,0 +1,127 @@
+package com.reliaquest.api.roster;
+
+import com.reliaquest.api.models.Employee;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.OptionalInt;
+
+/**
+ * Employees ordered by descending salary, kept as a parallel primitive array so lookups never unbox. The highest salary
+ * is O(1), the top K is O(K), and a single create or delete is a binary search plus one array copy instead of a full
+ * re-sort.
+ */
+final class SalaryIndex {
+
+    private static final SalaryIndex EMPTY = new SalaryIndex(new Employee[0], new int[0]);
+
+    private final Employee[] employees;
+    private final int[] salaries;
+
+    private SalaryIndex(Employee[] employees, int[] salaries) {
+        this.employees = employees;
+        this.salaries = salaries;
+    }
+
+    static SalaryIndex build(List<Employee> roster) {
+        if (roster.isEmpty()) {
+            return EMPTY;
+        }
+        final Employee[] sorted = roster.toArray(new Employee[0]);
+        Arrays.sort(sorted, Comparator.comparingInt(Employee::getEmployeeSalary).reversed());
+        final int[] salaries = new int[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            salaries[i] = sorted[i].getEmployeeSalary();
+        }
+        return new SalaryIndex(sorted, salaries);
+    }
+
+    int size() {
+        return employees.length;
+    }
+
+    OptionalInt highest() {
+        return salaries.length == 0 ? OptionalInt.empty() : OptionalInt.of(salaries[0]);
+    }
+
+    List<Employee> top(int limit) {
+        return List.of(Arrays.copyOf(employees, Math.min(limit, employees.length)));
+    }
+
+    /**
+     * @return up to {@code limit} employees earning between {@code min} and {@code max}, both inclusive, highest first
+     */
+    List<Employee> between(int min, int max, int limit) {
+        if (min > max) {
+            return List.of();
+        }
+        final int from = firstIndexOf(max);
+        final int to = insertionPoint(min);
+        return List.of(Arrays.copyOfRange(employees, from, Math.min(to, from + limit)));
+    }
+
+    SalaryIndex withAdded(Employee employee) {
+        final int salary = employee.getEmployeeSalary();
+        final int at = insertionPoint(salary);
+        final Employee[] nextEmployees = new Employee[employees.length + 1];
+        final int[] nextSalaries = new int[salaries.length + 1];
+        System.arraycopy(employees, 0, nextEmployees, 0, at);
+        System.arraycopy(salaries, 0, nextSalaries, 0, at);
+        nextEmployees[at] = employee;
+        nextSalaries[at] = salary;
+        System.arraycopy(employees, at, nextEmployees, at + 1, employees.length - at);
+        System.arraycopy(salaries, at, nextSalaries, at + 1, salaries.length - at);
+        return new SalaryIndex(nextEmployees, nextSalaries);
+    }
+
+    SalaryIndex withRemoved(Employee employee) {
+        final int salary = employee.getEmployeeSalary();
+        // Equal salaries are contiguous, so only that run needs to be scanned for the id.
+        for (int i = firstIndexOf(salary); i < salaries.length && salaries[i] == salary; i++) {
+            if (Objects.equals(employees[i].getId(), employee.getId())) {
+                if (employees.length == 1) {
+                    return EMPTY;
+                }
+                final Employee[] nextEmployees = new Employee[employees.length - 1];
+                final int[] nextSalaries = new int[salaries.length - 1];
+                System.arraycopy(employees, 0, nextEmployees, 0, i);
+                System.arraycopy(salaries, 0, nextSalaries, 0, i);
+                System.arraycopy(employees, i + 1, nextEmployees, i, employees.length - i - 1);
+                System.arraycopy(salaries, i + 1, nextSalaries, i, salaries.length - i - 1);
+                return new SalaryIndex(nextEmployees, nextSalaries);
+            }
+        }
+        return this;
+    }
+
+    // First position whose salary is strictly lower, so equal salaries keep insertion order.
+    private int insertionPoint(int salary) {
+        int low = 0;
+        int high = salaries.length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (salaries[mid] >= salary) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // First position whose salary is lower than or equal to the given one.
+    private int firstIndexOf(int salary) {
+        int low = 0;
+        int high = salaries.length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (salaries[mid] > salary) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
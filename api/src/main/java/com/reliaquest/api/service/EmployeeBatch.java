@@ -0,0 +1,140 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.client.UpstreamThrottledException;
+import com.reliaquest.api.models.Employee;
+import com.reliaquest.api.models.EmployeeLookup;
+import com.reliaquest.api.roster.RosterSnapshot;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+/**
+ * State of one batch lookup by id, shared by {@link EmployeeService} and {@link ReactiveEmployeeService}. Ids found in
+ * the cached roster are resolved up front; the rest are {@link #missing()} and resolved as upstream answers arrive,
+ * possibly from several threads. {@link #results()} then lists every requested id in request order.
+ */
+final class EmployeeBatch {
+
+    private final List<String> ids;
+    private final UUID[] parsed;
+    // Filled once while constructing and only read afterwards, so concurrent lookups need no locking
+    private final Set<UUID> missing = new LinkedHashSet<>();
+    private final Map<UUID, Employee> found = new ConcurrentHashMap<>();
+    private final Map<UUID, Integer> failed = new ConcurrentHashMap<>();
+
+    private EmployeeBatch(List<String> ids, RosterSnapshot cached) {
+        this.ids = ids;
+        this.parsed = new UUID[ids.size()];
+        for (int i = 0; i < parsed.length; i++) {
+            try {
+                parsed[i] = UUID.fromString(ids.get(i).trim());
+            } catch (IllegalArgumentException e) {
+                continue;
+            }
+            final Employee hit =
+                    cached == null ? null : cached.findById(parsed[i]).orElse(null);
+            if (hit != null) {
+                found.put(parsed[i], hit);
+            } else {
+                missing.add(parsed[i]);
+            }
+        }
+    }
+
+    /**
+     * @param cached the current roster snapshot, or {@code null} to resolve every id upstream
+     */
+    static EmployeeBatch of(List<String> ids, RosterSnapshot cached) {
+        return new EmployeeBatch(ids, cached);
+    }
+
+    /**
+     * @return the distinct valid ids the cache could not answer, in request order
+     */
+    List<UUID> missing() {
+        return List.copyOf(missing);
+    }
+
+    /**
+     * Records an employee returned by the upstream. Employees that were not asked for are ignored, so a server that
+     * answers a batch request with its whole roster still yields the right result.
+     */
+    void found(Employee employee) {
+        if (employee != null && employee.getId() != null && missing.contains(employee.getId())) {
+            found.put(employee.getId(), employee);
+        }
+    }
+
+    void failed(UUID id, Throwable error) {
+        final int status = statusOf(error);
+        if (status != HttpStatus.NOT_FOUND.value()) {
+            failed.put(id, status);
+        }
+    }
+
+    void failed(List<UUID> ids, Throwable error) {
+        ids.forEach(id -> failed(id, error));
+    }
+
+    List<EmployeeLookup> results() {
+        final List<EmployeeLookup> results = new ArrayList<EmployeeLookup>(parsed.length);
+        for (int i = 0; i < parsed.length; i++) {
+            final UUID id = parsed[i];
+            if (id == null) {
+                results.add(new EmployeeLookup(ids.get(i), HttpStatus.BAD_REQUEST.value(), null));
+            } else if (found.containsKey(id)) {
+                results.add(new EmployeeLookup(ids.get(i), HttpStatus.OK.value(), found.get(id)));
+            } else {
+                results.add(
+                        new EmployeeLookup(ids.get(i), failed.getOrDefault(id, HttpStatus.NOT_FOUND.value()), null));
+            }
+        }
+        return results;
+    }
+
+    static <T> List<List<T>> chunks(List<T> items, int size) {
+        final List<List<T>> chunks = new ArrayList<List<T>>((items.size() + size - 1) / size);
+        for (int from = 0; from < items.size(); from += size) {
+            chunks.add(items.subList(from, Math.min(items.size(), from + size)));
+        }
+        return chunks;
+    }
+
+    /**
+     * @return whether the upstream answered a batch request as if it did not know the route
+     */
+    static boolean isUnsupported(Throwable error) {
+        final int status = upstreamStatus(error);
+        return status == HttpStatus.NOT_FOUND.value()
+                || status == HttpStatus.METHOD_NOT_ALLOWED.value()
+                || status == HttpStatus.NOT_IMPLEMENTED.value();
+    }
+
+    static int statusOf(Throwable error) {
+        if (UpstreamThrottledException.isThrottle(error)) {
+            return HttpStatus.SERVICE_UNAVAILABLE.value();
+        }
+        return upstreamStatus(error) == HttpStatus.NOT_FOUND.value()
+                ? HttpStatus.NOT_FOUND.value()
+                : HttpStatus.BAD_GATEWAY.value();
+    }
+
+    private static int upstreamStatus(Throwable error) {
+        for (Throwable current = error; current != null; current = current.getCause()) {
+            if (current instanceof HttpStatusCodeException statusCode) {
+                return statusCode.getStatusCode().value();
+            }
+            if (current instanceof WebClientResponseException response) {
+                return response.getStatusCode().value();
+            }
+        }
+        return -1;
+    }
+}
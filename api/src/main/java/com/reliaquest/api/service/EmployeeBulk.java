@@ -0,0 +1,138 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.client.UpstreamThrottledException;
+import com.reliaquest.api.models.BulkItemResult;
+import com.reliaquest.api.models.Employee;
+import com.reliaquest.api.models.EmployeeLookup;
+import com.reliaquest.api.models.UpstreamBulkResult;
+import java.net.ConnectException;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.apache.hc.client5.http.ConnectTimeoutException;
+import org.apache.hc.core5.http.ConnectionRequestTimeoutException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.RestClientResponseException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+/**
+ * Turns the upstream's answer to one bulk chunk into per-item results, shared by {@link EmployeeService} and
+ * {@link ReactiveEmployeeService}. A chunk whose upstream call failed as a whole reports that failure on each of its
+ * items; the chunks after it are still sent. If the call failed after the request went out, e.g. on a read timeout or
+ * an answer that could not be decoded, the upstream may have applied the chunk, so its items report
+ * {@link #OUTCOME_UNKNOWN} rather than a failure.
+ */
+final class EmployeeBulk {
+
+    // The request reached the upstream but no usable answer came back; check before retrying the item
+    static final int OUTCOME_UNKNOWN = HttpStatus.GATEWAY_TIMEOUT.value();
+
+    private EmployeeBulk() {}
+
+    /**
+     * @param upstream the upstream's results in request order, or {@code null} if the call failed with {@code error}
+     */
+    static List<BulkItemResult> created(
+            int firstIndex, int count, List<UpstreamBulkResult<Employee>> upstream, Throwable error) {
+        final List<BulkItemResult> results = new ArrayList<BulkItemResult>(count);
+        for (int i = 0; i < count; i++) {
+            final int index = firstIndex + i;
+            if (error != null) {
+                results.add(failed(index, null, error));
+            } else if (i >= upstream.size()) {
+                results.add(missing(index, null));
+            } else if (upstream.get(i).getData() != null) {
+                results.add(new BulkItemResult(
+                        index, HttpStatus.CREATED.value(), null, upstream.get(i).getData(), null));
+            } else {
+                results.add(rejected(index, null, upstream.get(i).getError()));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * @param lookups the chunk's ids resolved to employees; only the ones found were sent upstream, in this order
+     * @param upstream the upstream's results for the employees sent, or {@code null} if the call failed with
+     *     {@code error}
+     */
+    static List<BulkItemResult> deleted(
+            int firstIndex, List<EmployeeLookup> lookups, List<UpstreamBulkResult<Boolean>> upstream, Throwable error) {
+        final List<BulkItemResult> results = new ArrayList<BulkItemResult>(lookups.size());
+        int sent = 0;
+        for (int i = 0; i < lookups.size(); i++) {
+            final int index = firstIndex + i;
+            final EmployeeLookup lookup = lookups.get(i);
+            if (lookup.getStatus() != HttpStatus.OK.value()) {
+                results.add(new BulkItemResult(index, lookup.getStatus(), lookup.getId(), null, null));
+                continue;
+            }
+            final int position = sent++;
+            if (error != null) {
+                results.add(failed(index, lookup.getId(), error));
+            } else if (position >= upstream.size()) {
+                results.add(missing(index, lookup.getId()));
+            } else if (upstream.get(position).getError() != null) {
+                results.add(
+                        rejected(index, lookup.getId(), upstream.get(position).getError()));
+            } else if (Boolean.TRUE.equals(upstream.get(position).getData())) {
+                results.add(
+                        new BulkItemResult(index, HttpStatus.OK.value(), lookup.getId(), lookup.getEmployee(), null));
+            } else {
+                results.add(new BulkItemResult(index, HttpStatus.NOT_FOUND.value(), lookup.getId(), null, null));
+            }
+        }
+        return results;
+    }
+
+    // The upstream deletes by name, one DeleteMockEmployeeInput per employee
+    static List<Map<String, String>> deleteInputs(List<Employee> employees) {
+        return employees.stream()
+                .map(employee -> Collections.singletonMap("name", employee.getEmployeeName()))
+                .toList();
+    }
+
+    private static BulkItemResult failed(int index, String id, Throwable error) {
+        if (isOutcomeUnknown(error)) {
+            return new BulkItemResult(
+                    index,
+                    OUTCOME_UNKNOWN,
+                    id,
+                    null,
+                    "Outcome unknown, the upstream may have applied this item: " + error.getMessage());
+        }
+        return new BulkItemResult(index, EmployeeBatch.statusOf(error), id, null, error.getMessage());
+    }
+
+    /**
+     * @return whether the call may have failed after the upstream received the request. Calls refused locally, calls
+     *     that never connected and calls the upstream answered with an error status are known not to have applied it.
+     */
+    static boolean isOutcomeUnknown(Throwable error) {
+        if (UpstreamThrottledException.isThrottle(error)) {
+            return false;
+        }
+        for (Throwable current = error; current != null; current = current.getCause()) {
+            if (current instanceof RestClientResponseException
+                    || current instanceof WebClientResponseException
+                    || current instanceof ConnectException
+                    || current instanceof UnknownHostException
+                    || current instanceof ConnectTimeoutException
+                    || current instanceof ConnectionRequestTimeoutException) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static BulkItemResult rejected(int index, String id, String error) {
+        return new BulkItemResult(index, HttpStatus.BAD_REQUEST.value(), id, null, error);
+    }
+
+    private static BulkItemResult missing(int index, String id) {
+        return new BulkItemResult(
+                index, HttpStatus.BAD_GATEWAY.value(), id, null, "No result from the upstream for this item");
+    }
+}
@@ -1,56 +1,310 @@
 package com.reliaquest.api.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.client.SingleFlight;
+import com.reliaquest.api.client.UpstreamThrottledException;
+import com.reliaquest.api.models.BulkItemResult;
+import com.reliaquest.api.models.ChangeFeed;
 import com.reliaquest.api.models.Employee;
+import com.reliaquest.api.models.EmployeeChange;
+import com.reliaquest.api.models.EmployeeLookup;
+import com.reliaquest.api.models.EmployeePage;
 import com.reliaquest.api.models.EmployeeRequest;
+import com.reliaquest.api.models.HistogramBucket;
+import com.reliaquest.api.models.UpstreamBulkResult;
+import com.reliaquest.api.models.UpstreamResponse;
+import com.reliaquest.api.roster.EmployeeRoster;
+import com.reliaquest.api.roster.RosterSnapshot;
+import com.reliaquest.api.roster.RosterUpdate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 @Service
+@Profile("!reactive")
 public class EmployeeService {
 
     @Autowired
     private RestTemplate restTemplate;
 
+    @Autowired
+    private EmployeeRoster employeeRoster;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Upper bound for the top-N earners query parameter
+    @Value("${employee.top-earners.max-limit:1000}")
+    private int maxTopEarnersLimit = 1000;
+
+    // Bounds for the analytics reads: buckets per histogram and employees per salary range listing
+    @Value("${employee.analytics.max-buckets:1000}")
+    private int maxHistogramBuckets = 1000;
+
+    @Value("${employee.analytics.max-range-results:1000}")
+    private int maxRangeResults = 1000;
+
     // URL of the external API that provides employee data
     private static final String EMPLOYEE_API_URL = "http://localhost:8112/api/v1/employee";
 
+    @Value("${employee.api.url:" + EMPLOYEE_API_URL + "}")
+    private String employeeApiUrl = EMPLOYEE_API_URL;
+
+    // The only fields the salary-ranked reads need from the upstream
+    private static final String SALARY_FIELDS = "id,employee_salary";
+
+    // Employees per upstream page when paging through the listing
+    @Value("${employee.upstream.page-size:1000}")
+    private int upstreamPageSize = 1000;
+
+    // Load the full roster page by page instead of in one response
+    @Value("${employee.roster.paged-load:false}")
+    private boolean pagedRosterLoad = false;
+
+    // Refresh the roster from the upstream's change feed; cleared once the upstream turns out not to have one
+    @Value("${employee.roster.change-feed:true}")
+    private volatile boolean changeFeed = true;
+
+    // Warning on answers from a roster snapshot past its ttl, served because the upstream could not refresh it
+    private static final String STALE_WARNING = "110 - \"Response is Stale\"";
+
+    // Change version the upstream listing is at, as sent by the mock server
+    private static final String CHANGE_VERSION_HEADER = "X-Change-Version";
+
+    // Most ids accepted in one batch lookup, and most ids sent upstream in one batch request
+    @Value("${employee.batch.max-ids:1000}")
+    private int maxBatchIds = 1000;
+
+    @Value("${employee.batch.upstream-chunk:100}")
+    private int upstreamBatchChunk = 100;
+
+    // Concurrent GETs per chunk when the upstream has no batch route
+    @Value("${employee.batch.parallelism:8}")
+    private int batchParallelism = 8;
+
+    // Items per upstream bulk create or delete request
+    @Value("${employee.bulk.chunk:500}")
+    private int bulkChunk = 500;
+
+    // Cleared once the upstream turns out not to support batch lookups
+    @Value("${employee.batch.upstream-batch:true}")
+    private volatile boolean upstreamBatch = true;
+
+    // ETag and body of the last full listing the upstream sent; the next full load revalidates it
+    private volatile ValidatedListing lastListing;
+
+    // Identical concurrent upstream GETs share one in-flight request and its deserialized result
+    private final SingleFlight<String, RosterUpdate> rosterFetches = new SingleFlight<>();
+    private final SingleFlight<String, ResponseEntity<Employee>> employeeFetches = new SingleFlight<>();
+
+    private final ExecutorService batchExecutor = Executors.newCachedThreadPool(runnable -> {
+        final Thread thread = new Thread(runnable, "employee-batch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     public ResponseEntity<List<Employee>> getAllEmployeesWithErrorHandlingResponse() {
         try {
-            ResponseEntity<List<Employee>> response = restTemplate.exchange(
-                    EMPLOYEE_API_URL,
-                    HttpMethod.GET,
-                    null,
-                    new ParameterizedTypeReference<List<Employee>>() {}
-            );
-
-            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                return ResponseEntity.status(response.getStatusCode())
-                        .headers(response.getHeaders())
-                        .body(response.getBody());
-            } else {
-                throw new RuntimeException("Failed to get employees: " + response.getStatusCode());
-            }
+            RosterSnapshot roster = currentRoster();
+            return fromRoster(roster, roster.getEmployees(), true);
         } catch (Exception e) {
             throw new RuntimeException("Error while fetching employees: " + e.getMessage(), e);
         }
     }
 
-    public ResponseEntity<Employee> getEmployeeByIdWithErrorHandling(String id) {
+    /*
+     * Answers computed from a roster snapshot are tagged with its revision, so a caller revalidating an unchanged
+     * roster gets a 304 and no body, and carry a Warning when the snapshot is past its ttl.
+     */
+    private <T> ResponseEntity<T> fromRoster(RosterSnapshot roster, T body, boolean cacheable) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (cacheable) {
+            response.eTag(roster.etag());
+        }
+        if (employeeRoster.isStale(roster)) {
+            response.header(HttpHeaders.WARNING, STALE_WARNING);
+        }
+        return response.body(body);
+    }
+
+    // Served from the local roster snapshot; only a miss or an expired snapshot reaches the upstream
+    private RosterSnapshot currentRoster() {
+        return employeeRoster.sync(this::updateRoster);
+    }
+
+    // Changes since the cached roster's version when the upstream can tell, the full roster otherwise
+    private RosterUpdate updateRoster(long changeVersion) {
+        if (!changeFeed || changeVersion == RosterSnapshot.NO_CHANGE_VERSION) {
+            return fetchAllEmployees();
+        }
         try {
-            String url = String.format("%s/%s", EMPLOYEE_API_URL, id);
-            ResponseEntity<Employee> response = restTemplate.exchange(
+            return fetchChanges(changeVersion);
+        } catch (Exception e) {
+            if (!EmployeeBatch.isUnsupported(e)) {
+                throw e;
+            }
+            // Remember that the upstream has no change feed and reload in full from now on
+            changeFeed = false;
+            return fetchAllEmployees();
+        }
+    }
+
+    private RosterUpdate fetchChanges(long since) {
+        List<EmployeeChange> changes = new ArrayList<>();
+        ChangeFeed feed;
+        do {
+            ResponseEntity<ChangeFeed> response = UpstreamResponse.unwrap(restTemplate.exchange(
+                    employeeApiUrl + "/changes?since=" + since,
+                    HttpMethod.GET,
+                    null,
+                    new ParameterizedTypeReference<UpstreamResponse<ChangeFeed>>() {}
+            ));
+            feed = response == null ? null : response.getBody();
+            if (feed == null || !response.getStatusCode().is2xxSuccessful()) {
+                throw new RuntimeException("Failed to get employee changes: "
+                        + (response == null ? "no response" : response.getStatusCode()));
+            }
+            if (feed.isResync()) {
+                // Fell off the upstream's change log: start over from the full listing
+                return fetchAllEmployees();
+            }
+            if (feed.getChanges() == null || feed.getVersion() < since
+                    || (feed.isMore() && feed.getVersion() == since)) {
+                // Not a feed that continues from since: installing it would pin the roster at a wrong version
+                return fetchAllEmployees();
+            }
+            changes.addAll(feed.getChanges());
+            since = feed.getVersion();
+        } while (feed.isMore());
+        return RosterUpdate.incremental(changes, since);
+    }
+
+    private RosterUpdate fetchAllEmployees() {
+        return rosterFetches.execute(employeeApiUrl, this::fetchAllEmployeesFromUpstream);
+    }
+
+    // Salary-only projection of the roster for the top earners and highest salary reads
+    private RosterSnapshot currentSalaries() {
+        return employeeRoster.getSalaries(() -> rosterFetches
+                .execute(SALARY_FIELDS, () -> fetchPages("&fields=" + SALARY_FIELDS))
+                .employees());
+    }
+
+    // Follows the upstream's cursors from the first page to the last
+    private RosterUpdate fetchPages(String query) {
+        List<Employee> employees = new ArrayList<>();
+        long changeVersion = RosterSnapshot.NO_CHANGE_VERSION;
+        String cursor = null;
+        do {
+            String url = employeeApiUrl + "?limit=" + upstreamPageSize + query
+                    + (cursor == null ? "" : "&cursor=" + cursor);
+            ResponseEntity<EmployeePage> response = UpstreamResponse.unwrap(restTemplate.exchange(
                     url,
                     HttpMethod.GET,
                     null,
-                    new ParameterizedTypeReference<Employee>() {}
-            );
+                    new ParameterizedTypeReference<UpstreamResponse<EmployeePage>>() {}
+            ));
+            EmployeePage page = response == null ? null : response.getBody();
+            if (page == null || !response.getStatusCode().is2xxSuccessful()) {
+                throw new RuntimeException("Failed to get employees page: "
+                        + (response == null ? "no response" : response.getStatusCode()));
+            }
+            if (cursor == null) {
+                // Later pages may reflect newer writes, which replaying the feed from the first page's version covers
+                changeVersion = changeVersionOf(response);
+            }
+            if (page.getItems() != null) {
+                employees.addAll(page.getItems());
+            }
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return RosterUpdate.full(employees, changeVersion);
+    }
+
+    private RosterUpdate fetchAllEmployeesFromUpstream() {
+        if (pagedRosterLoad) {
+            return fetchPages("");
+        }
+        // Revalidate the last listing: while the upstream has not changed it answers 304 and sends no body
+        ValidatedListing last = lastListing;
+        HttpEntity<Void> request = null;
+        if (last != null) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setIfNoneMatch(last.etag());
+            request = new HttpEntity<>(headers);
+        }
+        ResponseEntity<List<Employee>> response = UpstreamResponse.unwrap(restTemplate.exchange(
+                employeeApiUrl,
+                HttpMethod.GET,
+                request,
+                new ParameterizedTypeReference<UpstreamResponse<List<Employee>>>() {}
+        ));
+
+        if (last != null && response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+            long changeVersion = changeVersionOf(response);
+            return RosterUpdate.full(last.employees(),
+                    changeVersion == RosterSnapshot.NO_CHANGE_VERSION ? last.changeVersion() : changeVersion);
+        }
+        if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
+            long changeVersion = changeVersionOf(response);
+            String etag = response.getHeaders().getETag();
+            lastListing = etag == null ? null : new ValidatedListing(etag, response.getBody(), changeVersion);
+            return RosterUpdate.full(response.getBody(), changeVersion);
+        } else {
+            throw new RuntimeException("Failed to get employees: " + response.getStatusCode());
+        }
+    }
+
+    private static long changeVersionOf(ResponseEntity<?> response) {
+        String header = response.getHeaders().getFirst(CHANGE_VERSION_HEADER);
+        try {
+            return header == null ? RosterSnapshot.NO_CHANGE_VERSION : Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            return RosterSnapshot.NO_CHANGE_VERSION;
+        }
+    }
+
+    public ResponseEntity<Employee> getEmployeeByIdWithErrorHandling(String id) {
+        try {
+            ResponseEntity<Employee> response;
+            try {
+                response = fetchEmployee(id);
+            } catch (UpstreamThrottledException e) {
+                // The upstream is not taking calls: answer from the last good roster if it has the employee
+                Optional<ResponseEntity<Employee>> fallback = employeeRoster.fallback()
+                        .flatMap(roster -> findInRoster(roster, id)
+                                .map(employee -> fromRoster(roster, employee, true)));
+                if (fallback.isEmpty()) {
+                    throw e;
+                }
+                return fallback.get();
+            }
 
             if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
                 return response; // Return the entire ResponseEntity
@@ -64,52 +318,130 @@ public class EmployeeService {
         }
     }
 
-    public ResponseEntity<List<Employee>> searchEmployeesByNameLocallyResponse(String nameSearch) {
+    private static Optional<Employee> findInRoster(RosterSnapshot roster, String id) {
         try {
-            ResponseEntity<List<Employee>> allEmployeesResponse = getAllEmployeesWithErrorHandlingResponse();
+            return roster.findById(UUID.fromString(id));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
 
-            if (allEmployeesResponse.getStatusCode().is2xxSuccessful() &&
-                    allEmployeesResponse.getBody() != null) {
+    private ResponseEntity<Employee> fetchEmployee(String id) {
+        String url = String.format("%s/%s", employeeApiUrl, id);
+        return employeeFetches.execute(id, () -> UpstreamResponse.unwrap(restTemplate.exchange(
+                url,
+                HttpMethod.GET,
+                null,
+                new ParameterizedTypeReference<UpstreamResponse<Employee>>() {}
+        )));
+    }
 
-                // Filter the list
-                List<Employee> filtered = allEmployeesResponse.getBody().stream()
-                        .filter(employee -> employee.getEmployeeName() != null &&
-                                employee.getEmployeeName().toLowerCase().contains(nameSearch.toLowerCase()))
-                        .collect(Collectors.toList());
+    public ResponseEntity<List<EmployeeLookup>> getEmployeesByIds(List<String> ids) {
+        if (ids.isEmpty() || ids.size() > maxBatchIds) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(lookupEmployees(ids).results());
+    }
 
-                return ResponseEntity.status(allEmployeesResponse.getStatusCode())
-                        .headers(allEmployeesResponse.getHeaders())
-                        .body(filtered);
+    private EmployeeBatch lookupEmployees(List<String> ids) {
+        // Ids in the unexpired cached roster are answered locally; only the rest reach the upstream
+        EmployeeBatch batch = EmployeeBatch.of(ids, employeeRoster.peek().orElse(null));
+        for (List<UUID> chunk : EmployeeBatch.chunks(batch.missing(), upstreamBatchChunk)) {
+            if (upstreamBatch) {
+                fetchBatchFromUpstream(batch, chunk);
             } else {
-                throw new RuntimeException("Failed to retrieve employees for search. Status: " +
-                        allEmployeesResponse.getStatusCode());
+                fetchEachFromUpstream(batch, chunk);
+            }
+        }
+        return batch;
+    }
+
+    private void fetchBatchFromUpstream(EmployeeBatch batch, List<UUID> chunk) {
+        try {
+            ResponseEntity<List<Employee>> response = UpstreamResponse.unwrap(restTemplate.exchange(
+                    batchUrl(chunk),
+                    HttpMethod.GET,
+                    null,
+                    new ParameterizedTypeReference<UpstreamResponse<List<Employee>>>() {}
+            ));
+            if (response.getBody() != null) {
+                response.getBody().forEach(batch::found);
+            }
+        } catch (Exception e) {
+            if (!EmployeeBatch.isUnsupported(e)) {
+                batch.failed(chunk, e);
+                return;
+            }
+            // Remember that the upstream has no batch route and fall back to one GET per id
+            upstreamBatch = false;
+            fetchEachFromUpstream(batch, chunk);
+        }
+    }
+
+    // Up to batchParallelism workers, the caller included, pull ids from the chunk until it is drained
+    private void fetchEachFromUpstream(EmployeeBatch batch, List<UUID> chunk) {
+        AtomicInteger next = new AtomicInteger();
+        Runnable worker = () -> {
+            for (int i = next.getAndIncrement(); i < chunk.size(); i = next.getAndIncrement()) {
+                UUID id = chunk.get(i);
+                try {
+                    batch.found(fetchEmployee(id.toString()).getBody());
+                } catch (Exception e) {
+                    batch.failed(id, e);
+                }
             }
+        };
+        CompletableFuture<?>[] helpers = IntStream.range(1, Math.min(batchParallelism, chunk.size()))
+                .mapToObj(ignored -> CompletableFuture.runAsync(worker, batchExecutor))
+                .toArray(CompletableFuture[]::new);
+        worker.run();
+        CompletableFuture.allOf(helpers).join();
+    }
+
+    private String batchUrl(List<UUID> ids) {
+        return employeeApiUrl + "?ids=" + ids.stream().map(UUID::toString).collect(Collectors.joining(","));
+    }
+
+    public ResponseEntity<List<Employee>> searchEmployeesByNameLocallyResponse(String nameSearch) {
+        try {
+            // Look up candidates in the trigram index of the cached roster
+            RosterSnapshot roster = currentRoster();
+            List<Employee> filtered = roster.searchByName(nameSearch);
+
+            return fromRoster(roster, filtered, true);
         } catch (Exception e) {
             throw new RuntimeException("Error while searching employees by name '" + nameSearch + "': " + e.getMessage(), e);
         }
     }
 
     public ResponseEntity<List<String>> getTopTenHighestEarningEmployeeNames() {
-        try {
-            // First get all employees
-            ResponseEntity<List<Employee>> response = getAllEmployeesWithErrorHandlingResponse();
+        return getTopHighestEarningEmployeeNames(10);
+    }
 
-            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                // Process and sort employees
-                List<String> topEarners = response.getBody().stream()
-                        .sorted((e1, e2) -> Integer.compare(e2.getEmployeeSalary(), e1.getEmployeeSalary()))
-                        .limit(10)
-                        .map(Employee::getEmployeeName)
+    public ResponseEntity<List<String>> getTopHighestEarningEmployeeNames(int limit) {
+        if (limit < 1 || limit > maxTopEarnersLimit) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            // Read the top of the salary index instead of sorting the roster
+            RosterSnapshot salaries = currentSalaries();
+            List<Employee> top = salaries.topEarners(limit);
+            int ranked = top.size();
+            if (top.stream().anyMatch(employee -> employee.getEmployeeName() == null)) {
+                // Ranked from the salary-only projection: fetch just these employees through the batch lookup
+                top = lookupEmployees(top.stream().map(employee -> employee.getId().toString()).toList())
+                        .results().stream()
+                        .map(EmployeeLookup::getEmployee)
                         .filter(Objects::nonNull)
-                        .collect(Collectors.toList());
-
-                return ResponseEntity.status(response.getStatusCode())
-                        .headers(response.getHeaders())
-                        .body(topEarners);
-            } else {
-                throw new RuntimeException("Failed to get employees for top earners calculation: " +
-                        response.getStatusCode());
+                        .toList();
             }
+            List<String> topEarners = top.stream()
+                    .map(Employee::getEmployeeName)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
+
+            // Only tagged when every name was fetched; a later request may get the missing ones
+            return fromRoster(salaries, topEarners, topEarners.size() == ranked);
         } catch (Exception e) {
             throw new RuntimeException("Error while calculating top earners: " + e.getMessage(), e);
         }
@@ -117,37 +449,102 @@ public class EmployeeService {
 
     public ResponseEntity<Integer> getHighestSalaryOfEmployees() {
         try {
-            // First get all employees
-            ResponseEntity<List<Employee>> response = getAllEmployeesWithErrorHandlingResponse();
+            // Head of the salary index of the cached roster or its salary-only projection
+            RosterSnapshot salaries = currentSalaries();
+            int maxSalary = salaries.highestSalary()
+                    .orElseThrow(() -> new RuntimeException("No employees found"));
 
-            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                // Calculate highest salary
-                int maxSalary = response.getBody().stream()
-                        .mapToInt(Employee::getEmployeeSalary)
-                        .max()
-                        .orElseThrow(() -> new RuntimeException("No employees found"));
-
-                return ResponseEntity.status(response.getStatusCode())
-                        .headers(response.getHeaders())
-                        .body(maxSalary);
-            } else {
-                throw new RuntimeException("Failed to get employees for salary calculation: " +
-                        response.getStatusCode());
-            }
+            return fromRoster(salaries, maxSalary, true);
         } catch (Exception e) {
             throw new RuntimeException("Error while calculating highest salary: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * Nearest-rank salary percentiles, keyed by the percentiles as requested, e.g. {@code 50}, {@code 90} or
+     * {@code 99.9}. Read off the sorted salary column of the cached roster or its salary-only projection.
+     */
+    public ResponseEntity<Map<String, Integer>> getSalaryPercentiles(List<String> percentiles) {
+        Map<String, Double> requested = new LinkedHashMap<>();
+        for (String percentile : percentiles) {
+            try {
+                double value = Double.parseDouble(percentile.trim());
+                if (!(value >= 0 && value <= 100)) {
+                    return ResponseEntity.badRequest().build();
+                }
+                requested.put(percentile.trim(), value);
+            } catch (NumberFormatException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+        if (requested.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            RosterSnapshot salaries = currentSalaries();
+            Map<String, Integer> result = new LinkedHashMap<>();
+            requested.forEach((key, value) ->
+                    salaries.salaryPercentile(value).ifPresent(salary -> result.put(key, salary)));
+            return fromRoster(salaries, result, true);
+        } catch (Exception e) {
+            throw new RuntimeException("Error while calculating salary percentiles: " + e.getMessage(), e);
+        }
+    }
+
+    public ResponseEntity<List<HistogramBucket>> getSalaryHistogram(int width) {
+        if (width < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            RosterSnapshot salaries = currentSalaries();
+            return fromRoster(salaries, salaries.salaryHistogram(width, maxHistogramBuckets), true);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            throw new RuntimeException("Error while calculating salary histogram: " + e.getMessage(), e);
+        }
+    }
+
+    // Ages are not part of the salary-only projection, so this one reads the full roster
+    public ResponseEntity<List<HistogramBucket>> getAgeHistogram(int width) {
+        if (width < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            RosterSnapshot roster = currentRoster();
+            return fromRoster(roster, roster.ageHistogram(width, maxHistogramBuckets), true);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            throw new RuntimeException("Error while calculating age histogram: " + e.getMessage(), e);
+        }
+    }
+
+    public ResponseEntity<Integer> countEmployeesBySalaryRange(int min, int max) {
+        try {
+            RosterSnapshot salaries = currentSalaries();
+            return fromRoster(salaries, salaries.countSalaryRange(min, max), true);
+        } catch (Exception e) {
+            throw new RuntimeException("Error while counting salary range: " + e.getMessage(), e);
+        }
+    }
+
+    public ResponseEntity<List<Employee>> getEmployeesBySalaryRange(int min, int max, int limit) {
+        if (limit < 1 || limit > maxRangeResults) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            RosterSnapshot roster = currentRoster();
+            return fromRoster(roster, roster.salaryRange(min, max, limit), true);
+        } catch (Exception e) {
+            throw new RuntimeException("Error while listing salary range: " + e.getMessage(), e);
+        }
+    }
+
     public ResponseEntity<String> deleteEmployeeById(String id) {
         try {
             // 1. First get the employee to retrieve their name
-            ResponseEntity<Employee> getResponse = restTemplate.exchange(
-                    "http://localhost:8112/api/v1/employees/" + id,
-                    HttpMethod.GET,
-                    null,
-                    Employee.class
-            );
+            ResponseEntity<Employee> getResponse = fetchEmployee(id);
 
             if (!getResponse.getStatusCode().is2xxSuccessful() || getResponse.getBody() == null) {
                 throw new RuntimeException("Employee with ID " + id + " not found");
@@ -155,19 +552,24 @@ public class EmployeeService {
 
             String employeeName = getResponse.getBody().getEmployeeName();
 
-            // 2. Delete the employee
-            ResponseEntity<Void> deleteResponse = restTemplate.exchange(
-                    "http://localhost:8112/api/v1/employees/" + id,
+            // 2. Delete the employee; the upstream deletes by name and answers whether it found one
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            ResponseEntity<Boolean> deleteResponse = UpstreamResponse.unwrap(restTemplate.exchange(
+                    employeeApiUrl,
                     HttpMethod.DELETE,
-                    null,
-                    Void.class
-            );
+                    new HttpEntity<>(Collections.singletonMap("name", employeeName), headers),
+                    new ParameterizedTypeReference<UpstreamResponse<Boolean>>() {}
+            ));
 
-            if (!deleteResponse.getStatusCode().is2xxSuccessful()) {
+            if (!deleteResponse.getStatusCode().is2xxSuccessful() || !Boolean.TRUE.equals(deleteResponse.getBody())) {
                 throw new RuntimeException("Failed to delete employee with ID " + id);
             }
 
-            // 3. Return the name of deleted employee
+            // 3. Drop the employee from the cached roster, or the roster if another employee has the same name
+            employeeRoster.removedByName(List.of(getResponse.getBody()));
+
+            // 4. Return the name of deleted employee
             return ResponseEntity.ok(employeeName);
 
         } catch (Exception e) {
@@ -184,15 +586,16 @@ public class EmployeeService {
             HttpEntity<EmployeeRequest> request = new HttpEntity<>(employeeInput, headers);
 
             // Make POST request
-            ResponseEntity<Employee> response = restTemplate.exchange(
-                    "http://localhost:8112/api/v1/employee",
+            ResponseEntity<Employee> response = UpstreamResponse.unwrap(restTemplate.exchange(
+                    employeeApiUrl,
                     HttpMethod.POST,
                     request,
-                    Employee.class
-            );
+                    new ParameterizedTypeReference<UpstreamResponse<Employee>>() {}
+            ));
 
             // Verify successful creation
             if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
+                employeeRoster.added(response.getBody());
                 return response;
             } else {
                 throw new RuntimeException("Failed to create employee. Status: " +
@@ -204,4 +607,120 @@ public class EmployeeService {
                     e.getMessage(), e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Creates employees read one by one from a JSON array or NDJSON body. They are sent upstream in chunks of
+     * {@code bulkChunk}, and one NDJSON result line per item is written as each chunk completes.
+     */
+    public StreamingResponseBody createEmployees(InputStream body) {
+        return out -> streamInChunks(body, out, EmployeeRequest.class, this::createChunk);
+    }
+
+    /**
+     * Deletes employees by id, read from a JSON array or NDJSON body of ids. Each chunk's ids are resolved to employees
+     * through the batch lookup and then deleted with a single upstream bulk request.
+     */
+    public StreamingResponseBody deleteEmployees(InputStream body) {
+        return out -> streamInChunks(body, out, String.class, this::deleteChunk);
+    }
+
+    private <T> void streamInChunks(
+            InputStream body, OutputStream out, Class<T> type, BiFunction<List<T>, Integer, List<BulkItemResult>> apply)
+            throws IOException {
+        int index = 0;
+        List<T> chunk = new ArrayList<>(bulkChunk);
+        try (MappingIterator<T> items = objectMapper.readerFor(type).readValues(body)) {
+            while (true) {
+                boolean more;
+                try {
+                    more = items.hasNextValue();
+                    if (more) {
+                        chunk.add(items.nextValue());
+                    }
+                } catch (JsonProcessingException e) {
+                    // Nothing after malformed input can be read: apply what was read and report where it stopped
+                    writeResults(out, apply.apply(chunk, index));
+                    index += chunk.size();
+                    String error = "Malformed input: " + e.getOriginalMessage();
+                    writeResults(out, List.of(
+                            new BulkItemResult(index, HttpStatus.BAD_REQUEST.value(), null, null, error)));
+                    return;
+                }
+                if (chunk.size() == bulkChunk || (!more && !chunk.isEmpty())) {
+                    writeResults(out, apply.apply(chunk, index));
+                    index += chunk.size();
+                    chunk = new ArrayList<>(bulkChunk);
+                }
+                if (!more) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void writeResults(OutputStream out, List<BulkItemResult> results) throws IOException {
+        for (BulkItemResult result : results) {
+            out.write(objectMapper.writeValueAsBytes(result));
+            out.write('\n');
+        }
+        out.flush();
+    }
+
+    private List<BulkItemResult> createChunk(List<EmployeeRequest> chunk, int firstIndex) {
+        if (chunk.isEmpty()) {
+            return List.of();
+        }
+        try {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            ResponseEntity<List<UpstreamBulkResult<Employee>>> response = UpstreamResponse.unwrap(restTemplate.exchange(
+                    employeeApiUrl + "/bulk",
+                    HttpMethod.POST,
+                    new HttpEntity<>(chunk, headers),
+                    new ParameterizedTypeReference<UpstreamResponse<List<UpstreamBulkResult<Employee>>>>() {}
+            ));
+            List<BulkItemResult> results = EmployeeBulk.created(
+                    firstIndex, chunk.size(), Objects.requireNonNullElse(response.getBody(), List.of()), null);
+            employeeRoster.addedAll(results.stream()
+                    .map(BulkItemResult::getEmployee)
+                    .filter(Objects::nonNull)
+                    .toList());
+            return results;
+        } catch (Exception e) {
+            return EmployeeBulk.created(firstIndex, chunk.size(), null, e);
+        }
+    }
+
+    private List<BulkItemResult> deleteChunk(List<String> ids, int firstIndex) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<EmployeeLookup> lookups = lookupEmployees(ids).results();
+        List<Employee> found = lookups.stream()
+                .filter(lookup -> lookup.getStatus() == HttpStatus.OK.value())
+                .map(EmployeeLookup::getEmployee)
+                .toList();
+        if (found.isEmpty()) {
+            return EmployeeBulk.deleted(firstIndex, lookups, List.of(), null);
+        }
+        try {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            ResponseEntity<List<UpstreamBulkResult<Boolean>>> response = UpstreamResponse.unwrap(restTemplate.exchange(
+                    employeeApiUrl + "/bulk",
+                    HttpMethod.DELETE,
+                    new HttpEntity<>(EmployeeBulk.deleteInputs(found), headers),
+                    new ParameterizedTypeReference<UpstreamResponse<List<UpstreamBulkResult<Boolean>>>>() {}
+            ));
+            List<BulkItemResult> results = EmployeeBulk.deleted(
+                    firstIndex, lookups, Objects.requireNonNullElse(response.getBody(), List.of()), null);
+            employeeRoster.removedByName(results.stream()
+                    .filter(result -> result.getStatus() == HttpStatus.OK.value())
+                    .map(BulkItemResult::getEmployee)
+                    .toList());
+            return results;
+        } catch (Exception e) {
+            return EmployeeBulk.deleted(firstIndex, lookups, null, e);
+        }
+    }
+}
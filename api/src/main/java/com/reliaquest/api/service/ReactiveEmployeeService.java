@@ -0,0 +1,637 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.client.SingleFlight;
+import com.reliaquest.api.client.UpstreamEnvelopeDecoder;
+import com.reliaquest.api.client.UpstreamThrottledException;
+import com.reliaquest.api.models.BulkItemResult;
+import com.reliaquest.api.models.ChangeFeed;
+import com.reliaquest.api.models.Employee;
+import com.reliaquest.api.models.EmployeeChange;
+import com.reliaquest.api.models.EmployeeLookup;
+import com.reliaquest.api.models.EmployeePage;
+import com.reliaquest.api.models.EmployeeRequest;
+import com.reliaquest.api.models.HistogramBucket;
+import com.reliaquest.api.models.UpstreamBulkResult;
+import com.reliaquest.api.models.UpstreamResponse;
+import com.reliaquest.api.roster.EmployeeRoster;
+import com.reliaquest.api.roster.RosterSnapshot;
+import com.reliaquest.api.roster.RosterUpdate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link EmployeeService}, active under the {@code reactive} profile. Same endpoints, same
+ * results and error messages, but no thread waits on the upstream: calls go through {@link WebClient} and callers
+ * receive a {@link Mono}. The roster cache and in-flight coalescing are shared with the blocking implementation.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveEmployeeService {
+
+    @Autowired
+    private WebClient webClient;
+
+    @Autowired
+    private EmployeeRoster employeeRoster;
+
+    @Autowired
+    private UpstreamEnvelopeDecoder envelopeDecoder;
+
+    // Upper bound for the top-N earners query parameter
+    @Value("${employee.top-earners.max-limit:1000}")
+    private int maxTopEarnersLimit = 1000;
+
+    // Bounds for the analytics reads: buckets per histogram and employees per salary range listing
+    @Value("${employee.analytics.max-buckets:1000}")
+    private int maxHistogramBuckets = 1000;
+
+    @Value("${employee.analytics.max-range-results:1000}")
+    private int maxRangeResults = 1000;
+
+    @Value("${employee.api.url:http://localhost:8112/api/v1/employee}")
+    private String employeeApiUrl = "http://localhost:8112/api/v1/employee";
+
+    // The only fields the salary-ranked reads need from the upstream
+    private static final String SALARY_FIELDS = "id,employee_salary";
+
+    // Employees per upstream page when paging through the salary projection
+    @Value("${employee.upstream.page-size:1000}")
+    private int upstreamPageSize = 1000;
+
+    // Most ids accepted in one batch lookup, and most ids sent upstream in one batch request
+    @Value("${employee.batch.max-ids:1000}")
+    private int maxBatchIds = 1000;
+
+    @Value("${employee.batch.upstream-chunk:100}")
+    private int upstreamBatchChunk = 100;
+
+    // Concurrent GETs per chunk when the upstream has no batch route
+    @Value("${employee.batch.parallelism:8}")
+    private int batchParallelism = 8;
+
+    // Items per upstream bulk create or delete request
+    @Value("${employee.bulk.chunk:500}")
+    private int bulkChunk = 500;
+
+    // Cleared once the upstream turns out not to support batch lookups
+    @Value("${employee.batch.upstream-batch:true}")
+    private volatile boolean upstreamBatch = true;
+
+    // Refresh the roster from the upstream's change feed; cleared once the upstream turns out not to have one
+    @Value("${employee.roster.change-feed:true}")
+    private volatile boolean changeFeed = true;
+
+    // Changes per feed request, so each page stays well within the codec's in-memory buffer
+    private static final int CHANGES_PER_REQUEST = 500;
+
+    // Warning on answers from a roster snapshot past its ttl, served because the upstream could not refresh it
+    private static final String STALE_WARNING = "110 - \"Response is Stale\"";
+
+    // Change version the upstream listing is at, as sent by the mock server
+    private static final String CHANGE_VERSION_HEADER = "X-Change-Version";
+
+    // ETag and body of the last full listing the upstream sent; the next full load revalidates it
+    private volatile ValidatedListing lastListing;
+
+    // Identical concurrent upstream GETs share one in-flight request and its deserialized result
+    private final SingleFlight<String, RosterUpdate> rosterFetches = new SingleFlight<>();
+    private final SingleFlight<String, List<Employee>> salaryFetches = new SingleFlight<>();
+    private final SingleFlight<String, ResponseEntity<Employee>> employeeFetches = new SingleFlight<>();
+
+    // The body is a Flux so the encoder writes the JSON array element by element instead of into one buffer
+    public Mono<ResponseEntity<Flux<Employee>>> getAllEmployeesWithErrorHandlingResponse() {
+        return currentRoster()
+                .map(roster -> fromRoster(roster, Flux.fromIterable(roster.getEmployees()), true))
+                .onErrorMap(e -> new RuntimeException("Error while fetching employees: " + e.getMessage(), e));
+    }
+
+    /*
+     * Answers computed from a roster snapshot are tagged with its revision, so a caller revalidating an unchanged
+     * roster gets a 304 and no body, and carry a Warning when the snapshot is past its ttl.
+     */
+    private <T> ResponseEntity<T> fromRoster(RosterSnapshot roster, T body, boolean cacheable) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (cacheable) {
+            response.eTag(roster.etag());
+        }
+        if (employeeRoster.isStale(roster)) {
+            response.header(HttpHeaders.WARNING, STALE_WARNING);
+        }
+        return response.body(body);
+    }
+
+    // Cancelling one subscriber must not cancel the load that other subscribers share
+    private Mono<RosterSnapshot> currentRoster() {
+        return Mono.fromFuture(
+                () -> employeeRoster.syncAsync(
+                        changeVersion -> updateRoster(changeVersion).toFuture()),
+                true);
+    }
+
+    // Changes since the cached roster's version when the upstream can tell, the full roster otherwise
+    private Mono<RosterUpdate> updateRoster(long changeVersion) {
+        if (!changeFeed || changeVersion == RosterSnapshot.NO_CHANGE_VERSION) {
+            return fetchAllEmployees();
+        }
+        return fetchChanges(changeVersion, new ArrayList<>()).onErrorResume(EmployeeBatch::isUnsupported, e -> {
+            // Remember that the upstream has no change feed and reload in full from now on
+            changeFeed = false;
+            return fetchAllEmployees();
+        });
+    }
+
+    // Follows the feed from since until it has no more changes
+    private Mono<RosterUpdate> fetchChanges(long since, List<EmployeeChange> changes) {
+        return webClient
+                .get()
+                .uri(employeeApiUrl + "/changes?since=" + since + "&limit=" + CHANGES_PER_REQUEST)
+                .retrieve()
+                .toEntity(new ParameterizedTypeReference<UpstreamResponse<ChangeFeed>>() {})
+                .map(UpstreamResponse::unwrap)
+                .flatMap(response -> {
+                    ChangeFeed feed = response.getBody();
+                    if (feed == null || !response.getStatusCode().is2xxSuccessful()) {
+                        return Mono.error(
+                                new RuntimeException("Failed to get employee changes: " + response.getStatusCode()));
+                    }
+                    if (feed.isResync()) {
+                        // Fell off the upstream's change log: start over from the full listing
+                        return fetchAllEmployees();
+                    }
+                    if (feed.getChanges() == null
+                            || feed.getVersion() < since
+                            || (feed.isMore() && feed.getVersion() == since)) {
+                        // Not a feed that continues from since: installing it would pin the roster at a wrong version
+                        return fetchAllEmployees();
+                    }
+                    changes.addAll(feed.getChanges());
+                    return feed.isMore()
+                            ? fetchChanges(feed.getVersion(), changes)
+                            : Mono.just(RosterUpdate.incremental(changes, feed.getVersion()));
+                });
+    }
+
+    private Mono<RosterUpdate> fetchAllEmployees() {
+        return Mono.fromFuture(
+                () -> rosterFetches.executeAsync(
+                        employeeApiUrl, () -> fetchAllEmployeesFromUpstream().toFuture()),
+                true);
+    }
+
+    // Salary-only projection of the roster for the salary-ranked reads
+    private Mono<RosterSnapshot> currentSalaries() {
+        return Mono.fromFuture(
+                () -> employeeRoster.getSalariesAsync(() -> salaryFetches.executeAsync(
+                        SALARY_FIELDS, () -> fetchPages("&fields=" + SALARY_FIELDS, null, new ArrayList<>())
+                                .toFuture())),
+                true);
+    }
+
+    // Follows the upstream's cursors from the first page to the last
+    private Mono<List<Employee>> fetchPages(String query, String cursor, List<Employee> employees) {
+        return webClient
+                .get()
+                .uri(employeeApiUrl + "?limit=" + upstreamPageSize + query
+                        + (cursor == null ? "" : "&cursor=" + cursor))
+                .retrieve()
+                .toEntity(new ParameterizedTypeReference<UpstreamResponse<EmployeePage>>() {})
+                .map(UpstreamResponse::unwrap)
+                .flatMap(response -> {
+                    EmployeePage page = response.getBody();
+                    if (page == null || !response.getStatusCode().is2xxSuccessful()) {
+                        return Mono.error(
+                                new RuntimeException("Failed to get employees page: " + response.getStatusCode()));
+                    }
+                    if (page.getItems() != null) {
+                        employees.addAll(page.getItems());
+                    }
+                    return page.getNextCursor() == null
+                            ? Mono.just(employees)
+                            : fetchPages(query, page.getNextCursor(), employees);
+                });
+    }
+
+    /*
+     * Revalidates the last listing: while the upstream has not changed it answers 304 and sends no body. Otherwise the
+     * employees are decoded from the envelope's data array as they arrive, so the listing is never buffered whole.
+     */
+    private Mono<RosterUpdate> fetchAllEmployeesFromUpstream() {
+        ValidatedListing last = lastListing;
+        return webClient
+                .get()
+                .uri(employeeApiUrl)
+                .headers(headers -> {
+                    if (last != null) {
+                        headers.setIfNoneMatch(last.etag());
+                    }
+                })
+                .exchangeToMono(response -> {
+                    if (last != null && response.statusCode().value() == HttpStatus.NOT_MODIFIED.value()) {
+                        long changeVersion = changeVersionOf(response.headers().asHttpHeaders());
+                        return response.releaseBody()
+                                .thenReturn(RosterUpdate.full(
+                                        last.employees(),
+                                        changeVersion == RosterSnapshot.NO_CHANGE_VERSION
+                                                ? last.changeVersion()
+                                                : changeVersion));
+                    }
+                    if (!response.statusCode().is2xxSuccessful()) {
+                        return response.createError();
+                    }
+                    HttpHeaders headers = response.headers().asHttpHeaders();
+                    return response.body((message, context) -> envelopeDecoder.decodeData(
+                                    message.getBody(), headers.getContentType(), Employee.class))
+                            .collectList()
+                            .map(employees -> {
+                                long changeVersion = changeVersionOf(headers);
+                                lastListing = headers.getETag() == null
+                                        ? null
+                                        : new ValidatedListing(headers.getETag(), employees, changeVersion);
+                                return RosterUpdate.full(employees, changeVersion);
+                            });
+                });
+    }
+
+    private static long changeVersionOf(HttpHeaders headers) {
+        String header = headers.getFirst(CHANGE_VERSION_HEADER);
+        try {
+            return header == null ? RosterSnapshot.NO_CHANGE_VERSION : Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            return RosterSnapshot.NO_CHANGE_VERSION;
+        }
+    }
+
+    public Mono<ResponseEntity<Employee>> getEmployeeByIdWithErrorHandling(String id) {
+        return fetchEmployee(id)
+                // The upstream is not taking calls: answer from the last good roster if it has the employee
+                .onErrorResume(UpstreamThrottledException.class, e -> Mono.justOrEmpty(
+                                employeeRoster.fallback().flatMap(roster -> findInRoster(roster, id)
+                                        .map(employee -> fromRoster(roster, employee, true))))
+                        .switchIfEmpty(Mono.error(e)))
+                .map(response -> {
+                    if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
+                        return response;
+                    }
+                    throw new RuntimeException("Failed to get employee with ID " + id + ". Status: "
+                            + response.getStatusCode() + ", Response: "
+                            + response.getBody());
+                })
+                .onErrorMap(e ->
+                        new RuntimeException("Error while fetching employee with ID " + id + ": " + e.getMessage(), e));
+    }
+
+    private static Optional<Employee> findInRoster(RosterSnapshot roster, String id) {
+        try {
+            return roster.findById(UUID.fromString(id));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    private Mono<ResponseEntity<Employee>> fetchEmployee(String id) {
+        String url = String.format("%s/%s", employeeApiUrl, id);
+        return Mono.fromFuture(
+                () -> employeeFetches.executeAsync(id, () -> webClient
+                        .get()
+                        .uri(url)
+                        .retrieve()
+                        .toEntity(new ParameterizedTypeReference<UpstreamResponse<Employee>>() {})
+                        .map(UpstreamResponse::unwrap)
+                        .toFuture()),
+                true);
+    }
+
+    public Mono<ResponseEntity<List<EmployeeLookup>>> getEmployeesByIds(List<String> ids) {
+        if (ids.isEmpty() || ids.size() > maxBatchIds) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        return lookupEmployees(ids).map(batch -> ResponseEntity.ok(batch.results()));
+    }
+
+    private Mono<EmployeeBatch> lookupEmployees(List<String> ids) {
+        return Mono.defer(() -> {
+            // Ids in the unexpired cached roster are answered locally; only the rest reach the upstream
+            EmployeeBatch batch = EmployeeBatch.of(ids, employeeRoster.peek().orElse(null));
+            return Flux.fromIterable(EmployeeBatch.chunks(batch.missing(), upstreamBatchChunk))
+                    .concatMap(chunk ->
+                            upstreamBatch ? fetchBatchFromUpstream(batch, chunk) : fetchEachFromUpstream(batch, chunk))
+                    .then(Mono.just(batch));
+        });
+    }
+
+    private Mono<Void> fetchBatchFromUpstream(EmployeeBatch batch, List<UUID> chunk) {
+        return webClient
+                .get()
+                .uri(employeeApiUrl + "?ids="
+                        + chunk.stream().map(UUID::toString).collect(Collectors.joining(",")))
+                .retrieve()
+                .bodyToMono(new ParameterizedTypeReference<UpstreamResponse<List<Employee>>>() {})
+                .mapNotNull(UpstreamResponse::getData)
+                .doOnNext(employees -> employees.forEach(batch::found))
+                .then()
+                .onErrorResume(e -> {
+                    if (!EmployeeBatch.isUnsupported(e)) {
+                        batch.failed(chunk, e);
+                        return Mono.empty();
+                    }
+                    // Remember that the upstream has no batch route and fall back to one GET per id
+                    upstreamBatch = false;
+                    return fetchEachFromUpstream(batch, chunk);
+                });
+    }
+
+    private Mono<Void> fetchEachFromUpstream(EmployeeBatch batch, List<UUID> chunk) {
+        return Flux.fromIterable(chunk)
+                .flatMap(
+                        id -> fetchEmployee(id.toString())
+                                .doOnNext(response -> batch.found(response.getBody()))
+                                .onErrorResume(e -> {
+                                    batch.failed(id, e);
+                                    return Mono.empty();
+                                }),
+                        batchParallelism)
+                .then();
+    }
+
+    public Mono<ResponseEntity<List<Employee>>> searchEmployeesByNameLocallyResponse(String nameSearch) {
+        return currentRoster()
+                .map(roster -> fromRoster(roster, roster.searchByName(nameSearch), true))
+                .onErrorMap(e -> new RuntimeException(
+                        "Error while searching employees by name '" + nameSearch + "': " + e.getMessage(), e));
+    }
+
+    public Mono<ResponseEntity<List<String>>> getTopTenHighestEarningEmployeeNames() {
+        return getTopHighestEarningEmployeeNames(10);
+    }
+
+    public Mono<ResponseEntity<List<String>>> getTopHighestEarningEmployeeNames(int limit) {
+        if (limit < 1 || limit > maxTopEarnersLimit) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        // Read the top of the salary index instead of sorting the roster
+        return currentSalaries()
+                .flatMap(salaries -> {
+                    List<Employee> top = salaries.topEarners(limit);
+                    if (top.stream().noneMatch(employee -> employee.getEmployeeName() == null)) {
+                        return Mono.just(fromRoster(salaries, names(top), true));
+                    }
+                    // Ranked from the salary-only projection: fetch just these employees through the batch lookup
+                    return lookupEmployees(top.stream()
+                                    .map(employee -> employee.getId().toString())
+                                    .toList())
+                            .map(batch -> {
+                                List<String> topEarners = names(batch.results().stream()
+                                        .map(EmployeeLookup::getEmployee)
+                                        .filter(Objects::nonNull)
+                                        .toList());
+                                // Only tagged when every name was fetched; a later request may get the missing ones
+                                return fromRoster(salaries, topEarners, topEarners.size() == top.size());
+                            });
+                })
+                .onErrorMap(e -> new RuntimeException("Error while calculating top earners: " + e.getMessage(), e));
+    }
+
+    private static List<String> names(List<Employee> employees) {
+        return employees.stream()
+                .map(Employee::getEmployeeName)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    // Head of the salary index of the cached roster or its salary-only projection
+    public Mono<ResponseEntity<Integer>> getHighestSalaryOfEmployees() {
+        return currentSalaries()
+                .map(roster -> fromRoster(
+                        roster,
+                        roster.highestSalary().orElseThrow(() -> new RuntimeException("No employees found")),
+                        true))
+                .onErrorMap(e -> new RuntimeException("Error while calculating highest salary: " + e.getMessage(), e));
+    }
+
+    /**
+     * Nearest-rank salary percentiles, keyed by the percentiles as requested, e.g. {@code 50}, {@code 90} or
+     * {@code 99.9}. Read off the sorted salary column of the cached roster or its salary-only projection.
+     */
+    public Mono<ResponseEntity<Map<String, Integer>>> getSalaryPercentiles(List<String> percentiles) {
+        Map<String, Double> requested = new LinkedHashMap<>();
+        for (String percentile : percentiles) {
+            try {
+                double value = Double.parseDouble(percentile.trim());
+                if (!(value >= 0 && value <= 100)) {
+                    return Mono.just(ResponseEntity.badRequest().build());
+                }
+                requested.put(percentile.trim(), value);
+            } catch (NumberFormatException e) {
+                return Mono.just(ResponseEntity.badRequest().build());
+            }
+        }
+        if (requested.isEmpty()) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        return currentSalaries()
+                .map(roster -> {
+                    Map<String, Integer> result = new LinkedHashMap<>();
+                    requested.forEach((key, value) ->
+                            roster.salaryPercentile(value).ifPresent(salary -> result.put(key, salary)));
+                    return fromRoster(roster, result, true);
+                })
+                .onErrorMap(
+                        e -> new RuntimeException("Error while calculating salary percentiles: " + e.getMessage(), e));
+    }
+
+    public Mono<ResponseEntity<List<HistogramBucket>>> getSalaryHistogram(int width) {
+        if (width < 1) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        return currentSalaries()
+                .map(roster -> fromRoster(roster, roster.salaryHistogram(width, maxHistogramBuckets), true))
+                .onErrorResume(
+                        IllegalArgumentException.class,
+                        e -> Mono.just(ResponseEntity.badRequest().build()))
+                .onErrorMap(
+                        e -> new RuntimeException("Error while calculating salary histogram: " + e.getMessage(), e));
+    }
+
+    // Ages are not part of the salary-only projection, so this one reads the full roster
+    public Mono<ResponseEntity<List<HistogramBucket>>> getAgeHistogram(int width) {
+        if (width < 1) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        return currentRoster()
+                .map(roster -> fromRoster(roster, roster.ageHistogram(width, maxHistogramBuckets), true))
+                .onErrorResume(
+                        IllegalArgumentException.class,
+                        e -> Mono.just(ResponseEntity.badRequest().build()))
+                .onErrorMap(e -> new RuntimeException("Error while calculating age histogram: " + e.getMessage(), e));
+    }
+
+    public Mono<ResponseEntity<Integer>> countEmployeesBySalaryRange(int min, int max) {
+        return currentSalaries()
+                .map(roster -> fromRoster(roster, roster.countSalaryRange(min, max), true))
+                .onErrorMap(e -> new RuntimeException("Error while counting salary range: " + e.getMessage(), e));
+    }
+
+    public Mono<ResponseEntity<List<Employee>>> getEmployeesBySalaryRange(int min, int max, int limit) {
+        if (limit < 1 || limit > maxRangeResults) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        return currentRoster()
+                .map(roster -> fromRoster(roster, roster.salaryRange(min, max, limit), true))
+                .onErrorMap(e -> new RuntimeException("Error while listing salary range: " + e.getMessage(), e));
+    }
+
+    public Mono<ResponseEntity<String>> deleteEmployeeById(String id) {
+        // 1. First get the employee to retrieve their name
+        return fetchEmployee(id)
+                .flatMap(getResponse -> {
+                    if (!getResponse.getStatusCode().is2xxSuccessful() || getResponse.getBody() == null) {
+                        return Mono.error(new RuntimeException("Employee with ID " + id + " not found"));
+                    }
+                    Employee employee = getResponse.getBody();
+
+                    // 2. Delete the employee; the upstream deletes by name and answers whether it found one
+                    return webClient
+                            .method(HttpMethod.DELETE)
+                            .uri(employeeApiUrl)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .bodyValue(Collections.singletonMap("name", employee.getEmployeeName()))
+                            .retrieve()
+                            .toEntity(new ParameterizedTypeReference<UpstreamResponse<Boolean>>() {})
+                            .map(UpstreamResponse::unwrap)
+                            .map(deleteResponse -> {
+                                if (!deleteResponse.getStatusCode().is2xxSuccessful()
+                                        || !Boolean.TRUE.equals(deleteResponse.getBody())) {
+                                    throw new RuntimeException("Failed to delete employee with ID " + id);
+                                }
+
+                                // 3. Drop the employee from the cached roster, or the roster if another employee
+                                // has the same name
+                                employeeRoster.removedByName(List.of(employee));
+
+                                // 4. Return the name of deleted employee
+                                return ResponseEntity.ok(employee.getEmployeeName());
+                            });
+                })
+                .onErrorMap(e -> new RuntimeException(
+                        "Error processing delete request for ID " + id + ": " + e.getMessage(), e));
+    }
+
+    public Mono<ResponseEntity<Employee>> createEmployee(EmployeeRequest employeeInput) {
+        return webClient
+                .post()
+                .uri(employeeApiUrl)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(employeeInput)
+                .retrieve()
+                .toEntity(new ParameterizedTypeReference<UpstreamResponse<Employee>>() {})
+                .map(UpstreamResponse::unwrap)
+                .map(response -> {
+                    // Verify successful creation
+                    if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
+                        employeeRoster.added(response.getBody());
+                        return response;
+                    }
+                    throw new RuntimeException("Failed to create employee. Status: " + response.getStatusCode());
+                })
+                .onErrorMap(e -> new RuntimeException("Error processing create request: " + e.getMessage(), e));
+    }
+
+    /**
+     * Creates employees as they are decoded from a JSON array or NDJSON body. They are sent upstream in chunks of
+     * {@code bulkChunk}, and each item's result is emitted as its chunk completes.
+     */
+    public Flux<BulkItemResult> createEmployees(Flux<EmployeeRequest> employeeInputs) {
+        return employeeInputs
+                .buffer(bulkChunk)
+                .index()
+                .concatMap(chunk -> createChunk(chunk.getT2(), (int) (chunk.getT1() * bulkChunk)));
+    }
+
+    /**
+     * Deletes employees by id. Each chunk's ids are resolved to employees through the batch lookup and then deleted
+     * with a single upstream bulk request.
+     */
+    public Flux<BulkItemResult> deleteEmployees(Flux<String> ids) {
+        return ids.buffer(bulkChunk)
+                .index()
+                .concatMap(chunk -> deleteChunk(chunk.getT2(), (int) (chunk.getT1() * bulkChunk)));
+    }
+
+    private Flux<BulkItemResult> createChunk(List<EmployeeRequest> chunk, int firstIndex) {
+        return webClient
+                .post()
+                .uri(employeeApiUrl + "/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(chunk)
+                .retrieve()
+                .bodyToMono(new ParameterizedTypeReference<UpstreamResponse<List<UpstreamBulkResult<Employee>>>>() {})
+                .mapNotNull(UpstreamResponse::getData)
+                .defaultIfEmpty(List.of())
+                .map(upstream -> {
+                    List<BulkItemResult> results = EmployeeBulk.created(firstIndex, chunk.size(), upstream, null);
+                    employeeRoster.addedAll(results.stream()
+                            .map(BulkItemResult::getEmployee)
+                            .filter(Objects::nonNull)
+                            .toList());
+                    return results;
+                })
+                .onErrorResume(e -> Mono.just(EmployeeBulk.created(firstIndex, chunk.size(), null, e)))
+                .flatMapIterable(results -> results);
+    }
+
+    private Flux<BulkItemResult> deleteChunk(List<String> ids, int firstIndex) {
+        return lookupEmployees(ids)
+                .flatMap(batch -> {
+                    List<EmployeeLookup> lookups = batch.results();
+                    List<Employee> found = lookups.stream()
+                            .filter(lookup -> lookup.getStatus() == HttpStatus.OK.value())
+                            .map(EmployeeLookup::getEmployee)
+                            .toList();
+                    if (found.isEmpty()) {
+                        return Mono.just(EmployeeBulk.deleted(firstIndex, lookups, List.of(), null));
+                    }
+                    return webClient
+                            .method(HttpMethod.DELETE)
+                            .uri(employeeApiUrl + "/bulk")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .bodyValue(EmployeeBulk.deleteInputs(found))
+                            .retrieve()
+                            .bodyToMono(
+                                    new ParameterizedTypeReference<
+                                            UpstreamResponse<List<UpstreamBulkResult<Boolean>>>>() {})
+                            .mapNotNull(UpstreamResponse::getData)
+                            .defaultIfEmpty(List.of())
+                            .map(upstream -> {
+                                List<BulkItemResult> results =
+                                        EmployeeBulk.deleted(firstIndex, lookups, upstream, null);
+                                employeeRoster.removedByName(results.stream()
+                                        .filter(result -> result.getStatus() == HttpStatus.OK.value())
+                                        .map(BulkItemResult::getEmployee)
+                                        .toList());
+                                return results;
+                            })
+                            .onErrorResume(e -> Mono.just(EmployeeBulk.deleted(firstIndex, lookups, null, e)));
+                })
+                .flatMapIterable(results -> results);
+    }
+}
@@ -0,0 +1,14 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.models.Employee;
+import java.util.List;
+
+/**
+ * Last full listing the upstream sent together with its ETag, shared by {@link EmployeeService} and
+ * {@link ReactiveEmployeeService}. The next full load revalidates it with {@code If-None-Match}; while the upstream has
+ * not changed it answers 304 without a body and these employees are reused.
+ *
+ * @param changeVersion upstream change version the listing was at, or
+ *     {@link com.reliaquest.api.roster.RosterSnapshot#NO_CHANGE_VERSION}
+ */
+record ValidatedListing(String etag, List<Employee> employees, long changeVersion) {}
@@ -0,0 +1,60 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.client.AdaptiveRateLimiter;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveRateLimiterTest {
+
+    private static final int BUDGET = 5;
+    private static final long WINDOW_MILLIS = 200;
+
+    private AdaptiveRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        rateLimiter = new AdaptiveRateLimiter(
+                10_000, BUDGET, Duration.ofMillis(10), Duration.ofMillis(100), Duration.ofSeconds(1));
+    }
+
+    @Test
+    void successesAfterRecovery_KeepRateNearLearnedBudget() throws Exception {
+        final double learned = learnBudget();
+        assertEquals(BUDGET * 1000.0 / WINDOW_MILLIS, learned, learned * 0.5);
+
+        for (int i = 0; i < 10_000; i++) {
+            rateLimiter.onSuccess();
+        }
+
+        // However many calls succeed, the rate only grows with the time elapsed since the recovery
+        assertTrue(rateLimiter.permitsPerSecond() >= learned);
+        assertTrue(rateLimiter.permitsPerSecond() < learned * 1.1, () -> rateLimiter.permitsPerSecond() + "/s");
+    }
+
+    @Test
+    void successesAfterRecovery_ProbeUpwardPerRefillWindow() throws Exception {
+        final double learned = learnBudget();
+
+        Thread.sleep(WINDOW_MILLIS * 3);
+        rateLimiter.onSuccess();
+
+        // About 10% of the learned rate per window since the recovery
+        assertTrue(rateLimiter.permitsPerSecond() > learned * 1.2, () -> rateLimiter.permitsPerSecond() + "/s");
+        assertTrue(rateLimiter.permitsPerSecond() < learned * 2, () -> rateLimiter.permitsPerSecond() + "/s");
+    }
+
+    // The upstream admits BUDGET requests, then throttles for WINDOW_MILLIS
+    private double learnBudget() throws Exception {
+        for (int i = 0; i < BUDGET; i++) {
+            rateLimiter.reserve();
+            rateLimiter.onSuccess();
+        }
+        rateLimiter.onThrottled(Duration.ZERO);
+        Thread.sleep(WINDOW_MILLIS);
+        rateLimiter.onSuccess();
+        return rateLimiter.permitsPerSecond();
+    }
+}
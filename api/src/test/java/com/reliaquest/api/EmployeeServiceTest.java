@@ -1,20 +1,47 @@
 package com.reliaquest.api;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.client.UpstreamCircuitOpenException;
+import com.reliaquest.api.client.UpstreamThrottledException;
+import com.reliaquest.api.models.BulkItemResult;
+import com.reliaquest.api.models.ChangeFeed;
 import com.reliaquest.api.models.Employee;
+import com.reliaquest.api.models.EmployeeChange;
+import com.reliaquest.api.models.EmployeeLookup;
+import com.reliaquest.api.models.EmployeePage;
 import com.reliaquest.api.models.EmployeeRequest;
+import com.reliaquest.api.models.HistogramBucket;
+import com.reliaquest.api.models.UpstreamBulkResult;
+import com.reliaquest.api.models.UpstreamResponse;
+import com.reliaquest.api.roster.EmployeeRoster;
 import com.reliaquest.api.service.EmployeeService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.*;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -26,6 +53,12 @@ class EmployeeServiceTest {
     @Mock
     private RestTemplate restTemplate;
 
+    @Spy
+    private EmployeeRoster employeeRoster = new EmployeeRoster();
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
     @InjectMocks
     private EmployeeService employeeService;
 
@@ -60,7 +93,8 @@ class EmployeeServiceTest {
     @Test
     void getAllEmployeesWithErrorHandlingResponse_Success() {
         List<Employee> employees = Arrays.asList(employee1, employee2);
-        ResponseEntity<List<Employee>> responseEntity = new ResponseEntity<>(employees, HttpStatus.OK);
+        ResponseEntity<UpstreamResponse<List<Employee>>> responseEntity =
+                new ResponseEntity<>(wrapped(employees), HttpStatus.OK);
 
         when(restTemplate.exchange(
                 eq(API_URL),
@@ -83,7 +117,8 @@ class EmployeeServiceTest {
     @Test
     void getEmployeeByIdWithErrorHandling_Success() {
         String employeeId = "1";
-        ResponseEntity<Employee> responseEntity = new ResponseEntity<>(employee1, HttpStatus.OK);
+        ResponseEntity<UpstreamResponse<Employee>> responseEntity =
+                new ResponseEntity<>(wrapped(employee1), HttpStatus.OK);
 
         when(restTemplate.exchange(
                 eq(API_URL + "/" + employeeId),
@@ -101,7 +136,8 @@ class EmployeeServiceTest {
     @Test
     void searchEmployeesByNameLocallyResponse_Success() {
         List<Employee> employees = Arrays.asList(employee1, employee2);
-        ResponseEntity<List<Employee>> responseEntity = new ResponseEntity<>(employees, HttpStatus.OK);
+        ResponseEntity<UpstreamResponse<List<Employee>>> responseEntity =
+                new ResponseEntity<>(wrapped(employees), HttpStatus.OK);
 
         when(restTemplate.exchange(
                 eq(API_URL),
@@ -119,15 +155,8 @@ class EmployeeServiceTest {
 
     @Test
     void getTopTenHighestEarningEmployeeNames_Success() {
-        List<Employee> employees = Arrays.asList(employee1, employee2);
-        ResponseEntity<List<Employee>> responseEntity = new ResponseEntity<>(employees, HttpStatus.OK);
-
-        when(restTemplate.exchange(
-                eq(API_URL),
-                eq(HttpMethod.GET),
-                isNull(),
-                any(ParameterizedTypeReference.class)))
-                .thenReturn(responseEntity);
+        stubSalaryPages();
+        stubBatchLookup(List.of(employee2, employee1));
 
         ResponseEntity<List<String>> response = employeeService.getTopTenHighestEarningEmployeeNames();
 
@@ -135,44 +164,98 @@ class EmployeeServiceTest {
         assertEquals(2, response.getBody().size());
         assertEquals("Jane Smith", response.getBody().get(0)); // Higher salary first
         assertEquals("John Doe", response.getBody().get(1));
+        // Ranked from the salary projection; the full roster is never fetched
+        verify(restTemplate, never()).exchange(
+                eq(API_URL),
+                eq(HttpMethod.GET),
+                isNull(),
+                any(ParameterizedTypeReference.class));
+    }
+
+    @Test
+    void getTopHighestEarningEmployeeNames_RespectsLimit() {
+        stubSalaryPages();
+        stubBatchLookup(List.of(employee2));
+
+        ResponseEntity<List<String>> response = employeeService.getTopHighestEarningEmployeeNames(1);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of("Jane Smith"), response.getBody());
+        assertEquals(HttpStatus.BAD_REQUEST, employeeService.getTopHighestEarningEmployeeNames(0).getStatusCode());
     }
 
     @Test
     void getHighestSalaryOfEmployees_Success() {
-        List<Employee> employees = Arrays.asList(employee1, employee2);
-        ResponseEntity<List<Employee>> responseEntity = new ResponseEntity<>(employees, HttpStatus.OK);
+        stubSalaryPages();
+
+        ResponseEntity<Integer> response = employeeService.getHighestSalaryOfEmployees();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(120000, response.getBody());
+        verify(restTemplate, times(2)).exchange(
+                startsWith(API_URL + "?limit="), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class));
+    }
 
+    // Two pages of the id and salary projection, linked by a cursor
+    private void stubSalaryPages() {
         when(restTemplate.exchange(
-                eq(API_URL),
+                eq(API_URL + "?limit=1000&fields=id,employee_salary"),
                 eq(HttpMethod.GET),
                 isNull(),
                 any(ParameterizedTypeReference.class)))
-                .thenReturn(responseEntity);
+                .thenReturn(new ResponseEntity<>(
+                        wrapped(new EmployeePage(List.of(salaryOnly(employee1)), "next")), HttpStatus.OK));
+        when(restTemplate.exchange(
+                eq(API_URL + "?limit=1000&fields=id,employee_salary&cursor=next"),
+                eq(HttpMethod.GET),
+                isNull(),
+                any(ParameterizedTypeReference.class)))
+                .thenReturn(new ResponseEntity<>(
+                        wrapped(new EmployeePage(List.of(salaryOnly(employee2)), null)), HttpStatus.OK));
+    }
 
-        ResponseEntity<Integer> response = employeeService.getHighestSalaryOfEmployees();
+    private void stubBatchLookup(List<Employee> employees) {
+        when(restTemplate.exchange(
+                startsWith(API_URL + "?ids="),
+                eq(HttpMethod.GET),
+                isNull(),
+                any(ParameterizedTypeReference.class)))
+                .thenReturn(new ResponseEntity<>(wrapped(employees), HttpStatus.OK));
+    }
 
-        assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals(120000, response.getBody());
+    // The upstream wraps every answer in an envelope
+    private static <T> UpstreamResponse<T> wrapped(T data) {
+        return new UpstreamResponse<>(data, "Successfully processed request.", null);
+    }
+
+    private static Employee salaryOnly(Employee employee) {
+        Employee projected = new Employee();
+        projected.setId(employee.getId());
+        projected.setEmployeeSalary(employee.getEmployeeSalary());
+        return projected;
     }
 
     @Test
     void deleteEmployeeById_Success() {
         String employeeId = "1";
-        ResponseEntity<Employee> getResponse = new ResponseEntity<>(employee1, HttpStatus.OK);
-        ResponseEntity<Void> deleteResponse = new ResponseEntity<>(HttpStatus.OK);
+        ResponseEntity<UpstreamResponse<Employee>> getResponse =
+                new ResponseEntity<>(wrapped(employee1), HttpStatus.OK);
+        ResponseEntity<UpstreamResponse<Boolean>> deleteResponse = new ResponseEntity<>(wrapped(true), HttpStatus.OK);
 
         when(restTemplate.exchange(
-                eq("http://localhost:8112/api/v1/employees/" + employeeId),
+                eq(API_URL + "/" + employeeId),
                 eq(HttpMethod.GET),
                 isNull(),
-                eq(Employee.class)))
+                any(ParameterizedTypeReference.class)))
                 .thenReturn(getResponse);
 
+        // The upstream deletes by name
         when(restTemplate.exchange(
-                eq("http://localhost:8112/api/v1/employees/" + employeeId),
+                eq(API_URL),
                 eq(HttpMethod.DELETE),
-                isNull(),
-                eq(Void.class)))
+                argThat((HttpEntity<?> request) -> request != null
+                        && Map.of("name", "John Doe").equals(request.getBody())),
+                any(ParameterizedTypeReference.class)))
                 .thenReturn(deleteResponse);
 
         ResponseEntity<String> response = employeeService.deleteEmployeeById(employeeId);
@@ -181,15 +264,48 @@ class EmployeeServiceTest {
         assertEquals("John Doe", response.getBody());
     }
 
+    @Test
+    void deleteEmployeeById_SharedName_DropsCachedRoster() {
+        Employee namesake = new Employee();
+        namesake.setId(UUID.randomUUID());
+        namesake.setEmployeeName("John Doe");
+        namesake.setEmployeeSalary(50000);
+        when(restTemplate.exchange(
+                eq(API_URL),
+                eq(HttpMethod.GET),
+                isNull(),
+                any(ParameterizedTypeReference.class)))
+                .thenReturn(new ResponseEntity<>(wrapped(Arrays.asList(namesake, employee1)), HttpStatus.OK));
+        when(restTemplate.exchange(
+                eq(API_URL + "/" + employee1.getId()),
+                eq(HttpMethod.GET),
+                isNull(),
+                any(ParameterizedTypeReference.class)))
+                .thenReturn(new ResponseEntity<>(wrapped(employee1), HttpStatus.OK));
+        when(restTemplate.exchange(
+                eq(API_URL),
+                eq(HttpMethod.DELETE),
+                any(HttpEntity.class),
+                any(ParameterizedTypeReference.class)))
+                .thenReturn(new ResponseEntity<>(wrapped(true), HttpStatus.OK));
+        employeeService.getAllEmployeesWithErrorHandlingResponse();
+
+        employeeService.deleteEmployeeById(employee1.getId().toString());
+
+        // The upstream removed the earliest John Doe, which need not be the one asked for
+        assertTrue(employeeRoster.peek().isEmpty());
+    }
+
     @Test
     void createEmployee_Success() {
-        ResponseEntity<Employee> responseEntity = new ResponseEntity<>(employee1, HttpStatus.CREATED);
+        ResponseEntity<UpstreamResponse<Employee>> responseEntity =
+                new ResponseEntity<>(wrapped(employee1), HttpStatus.CREATED);
 
         when(restTemplate.exchange(
                 eq(API_URL),
                 eq(HttpMethod.POST),
                 any(HttpEntity.class),
-                eq(Employee.class)))
+                any(ParameterizedTypeReference.class)))
                 .thenReturn(responseEntity);
 
         ResponseEntity<Employee> response = employeeService.createEmployee(employeeRequest);
@@ -198,6 +314,459 @@ class EmployeeServiceTest {
         assertEquals("John Doe", response.getBody().getEmployeeName());
     }
 
+    @Test
+    void readEndpoints_ShareCachedRoster() {
+        List<Employee> employees = Arrays.asList(employee1, employee2);
+        ResponseEntity<UpstreamResponse<List<Employee>>> responseEntity =
+                new ResponseEntity<>(wrapped(employees), HttpStatus.OK);
+
+        when(restTemplate.exchange(
+                eq(API_URL),
+                eq(HttpMethod.GET),
+                isNull(),
+                any(ParameterizedTypeReference.class)))
+                .thenReturn(responseEntity);
+
+        employeeService.getAllEmployeesWithErrorHandlingResponse();
+        employeeService.searchEmployeesByNameLocallyResponse("jane");
+        employeeService.getTopTenHighestEarningEmployeeNames();
+        employeeService.getHighestSalaryOfEmployees();
+
+        verify(restTemplate, times(1)).exchange(
+                eq(API_URL),
+                eq(HttpMethod.GET),
+                isNull(),
+                any(ParameterizedTypeReference.class));
+    }
+
+    @Test
+    void expiredRoster_SyncsFromChangeFeed() {
+        ReflectionTestUtils.setField(employeeRoster, "ttl", Duration.ZERO);
+        stubVersionedListing("5");
+        Employee hired = new Employee();
+        hired.setId(UUID.randomUUID());
+        hired.setEmployeeName("New Hire");
+        hired.setEmployeeSalary(90000);
+        stubChanges(5, new ChangeFeed(6, false, true,
+                List.of(new EmployeeChange(6, EmployeeChange.CREATED, hired))));
+        stubChanges(6, new ChangeFeed(7, false, false,
+                List.of(new EmployeeChange(7, EmployeeChange.DELETED, employee2))));
+
+        employeeService.getAllEmployeesWithErrorHandlingResponse();
+        List<Employee> synced = employeeService.getAllEmployeesWithErrorHandlingResponse().getBody();
+
+        assertEquals(List.of(employee1, hired), synced);
+        verify(restTemplate, times(1)).exchange(
+                eq(API_URL),
+                eq(HttpMethod.GET),
+                isNull(),
+                any(ParameterizedTypeReference.class));
+    }
+
+    @Test
+    void expiredRoster_ReloadsWhenChangeFeedAsksForResync() {
+        ReflectionTestUtils.setField(employeeRoster, "ttl", Duration.ZERO);
+        stubVersionedListing("5");
+        stubChanges(5, new ChangeFeed(20000, true, false, List.of()));
+
+        employeeService.getAllEmployeesWithErrorHandlingResponse();
+        employeeService.getAllEmployeesWithErrorHandlingResponse();
+
+        verify(restTemplate, times(2)).exchange(
+                eq(API_URL),
+                eq(HttpMethod.GET),
+                isNull(),
+                any(ParameterizedTypeReference.class));
+    }
+
+    @Test
+    void expiredRoster_ReloadsWhenChangeFeedIsMalformed() {
+        ReflectionTestUtils.setField(employeeRoster, "ttl", Duration.ZERO);
+        stubVersionedListing("5");
+        stubChanges(5, new ChangeFeed(0, false, false, null));
+
+        employeeService.getAllEmployeesWithErrorHandlingResponse();
+        employeeService.getAllEmployeesWithErrorHandlingResponse();
+
+        // Reloaded in full instead of installing the roster at version 0
+        assertEquals(5, employeeRoster.changeVersion());
+        verify(restTemplate, times(2)).exchange(
+                eq(API_URL),
+                eq(HttpMethod.GET),
+                isNull(),
+                any(ParameterizedTypeReference.class));
+    }
+
+    @Test
+    void fullReload_RevalidatesLastListingWithItsETag() {
+        ReflectionTestUtils.setField(employeeRoster, "ttl", Duration.ZERO);
+        ReflectionTestUtils.setField(employeeService, "changeFeed", false);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag("\"v1\"");
+        when(restTemplate.exchange(
+                eq(API_URL),
+                eq(HttpMethod.GET),
+                isNull(),
+                any(ParameterizedTypeReference.class)))
+                .thenReturn(new ResponseEntity<>(wrapped(Arrays.asList(employee1, employee2)), headers, HttpStatus.OK));
+        when(restTemplate.exchange(
+                eq(API_URL),
+                eq(HttpMethod.GET),
+                argThat((HttpEntity<?> request) -> request != null
+                        && List.of("\"v1\"").equals(request.getHeaders().getIfNoneMatch())),
+                any(ParameterizedTypeReference.class)))
+                .thenReturn(new ResponseEntity<>(headers, HttpStatus.NOT_MODIFIED));
+
+        ResponseEntity<List<Employee>> loaded = employeeService.getAllEmployeesWithErrorHandlingResponse();
+        ResponseEntity<List<Employee>> revalidated = employeeService.getAllEmployeesWithErrorHandlingResponse();
+
+        assertEquals(List.of(employee1, employee2), revalidated.getBody());
+        assertNotNull(loaded.getHeaders().getETag());
+        assertNotNull(revalidated.getHeaders().getETag());
+        verify(restTemplate, times(1)).exchange(
+                eq(API_URL),
+                eq(HttpMethod.GET),
+                isNull(),
+                any(ParameterizedTypeReference.class));
+    }
+
+    @Test
+    void readEndpoints_TagResponsesWithRosterRevision() {
+        List<Employee> employees = Arrays.asList(employee1, employee2);
+        when(restTemplate.exchange(
+                eq(API_URL),
+                eq(HttpMethod.GET),
+                isNull(),
+                any(ParameterizedTypeReference.class)))
+                .thenReturn(new ResponseEntity<>(wrapped(employees), HttpStatus.OK));
+
+        String etag = employeeService.getAllEmployeesWithErrorHandlingResponse().getHeaders().getETag();
+
+        assertNotNull(etag);
+        assertEquals(etag, employeeService.getAllEmployeesWithErrorHandlingResponse().getHeaders().getETag());
+        assertEquals(etag, employeeService.searchEmployeesByNameLocallyResponse("jane").getHeaders().getETag());
+        assertEquals(etag, employeeService.getHighestSalaryOfEmployees().getHeaders().getETag());
+
+        employeeRoster.removed(employee1.getId());
+
+        assertNotEquals(etag, employeeService.getAllEmployeesWithErrorHandlingResponse().getHeaders().getETag());
+    }
+
+    @Test
+    void openCircuit_ServesLastRosterMarkedStale() {
+        ReflectionTestUtils.setField(employeeRoster, "ttl", Duration.ZERO);
+        when(restTemplate.exchange(
+                eq(API_URL),
+                eq(HttpMethod.GET),
+                isNull(),
+                any(ParameterizedTypeReference.class)))
+                .thenReturn(new ResponseEntity<>(wrapped(Arrays.asList(employee1, employee2)), HttpStatus.OK))
+                .thenThrow(new UpstreamCircuitOpenException(Duration.ofSeconds(5)));
+        when(restTemplate.exchange(
+                eq(API_URL + "/" + employee1.getId()),
+                eq(HttpMethod.GET),
+                isNull(),
+                any(ParameterizedTypeReference.class)))
+                .thenThrow(new UpstreamCircuitOpenException(Duration.ofSeconds(5)));
+
+        employeeService.getAllEmployeesWithErrorHandlingResponse();
+        ResponseEntity<List<Employee>> stale = employeeService.getAllEmployeesWithErrorHandlingResponse();
+        ResponseEntity<Employee> byId = employeeService.getEmployeeByIdWithErrorHandling(employee1.getId().toString());
+
+        assertEquals(List.of(employee1, employee2), stale.getBody());
+        assertNotNull(stale.getHeaders().getFirst(HttpHeaders.WARNING));
+        assertEquals(employee1, byId.getBody());
+        assertNotNull(byId.getHeaders().getFirst(HttpHeaders.WARNING));
+    }
+
+    @Test
+    void salaryAnalytics_AnsweredFromRosterColumns() {
+        Employee employee3 = new Employee();
+        employee3.setId(UUID.randomUUID());
+        employee3.setEmployeeName("Sam Lee");
+        employee3.setEmployeeSalary(60000);
+        employee3.setEmployeeAge(52);
+        when(restTemplate.exchange(
+                eq(API_URL),
+                eq(HttpMethod.GET),
+                isNull(),
+                any(ParameterizedTypeReference.class)))
+                .thenReturn(new ResponseEntity<>(
+                        wrapped(Arrays.asList(employee1, employee2, employee3)), HttpStatus.OK));
+        employeeService.getAllEmployeesWithErrorHandlingResponse();
+
+        assertEquals(Map.of("0", 60000, "50", 100000, "100", 120000),
+                employeeService.getSalaryPercentiles(List.of("0", "50", "100")).getBody());
+        assertEquals(List.of(
+                        new HistogramBucket(50000, 100000, 1),
+                        new HistogramBucket(100000, 150000, 2)),
+                employeeService.getSalaryHistogram(50000).getBody());
+        assertEquals(List.of(
+                        new HistogramBucket(30, 40, 2),
+                        new HistogramBucket(40, 50, 0),
+                        new HistogramBucket(50, 60, 1)),
+                employeeService.getAgeHistogram(10).getBody());
+        assertEquals(2, employeeService.countEmployeesBySalaryRange(60000, 100000).getBody());
+        assertEquals(List.of(employee2, employee1),
+                employeeService.getEmployeesBySalaryRange(100000, 200000, 10).getBody());
+
+        employeeRoster.removed(employee2.getId());
+
+        assertEquals(1, employeeService.countEmployeesBySalaryRange(100000, 200000).getBody());
+        assertEquals(Map.of("100", 100000), employeeService.getSalaryPercentiles(List.of("100")).getBody());
+        assertEquals(HttpStatus.BAD_REQUEST, employeeService.getSalaryPercentiles(List.of("101")).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, employeeService.getSalaryHistogram(1).getStatusCode());
+        verify(restTemplate, times(1)).exchange(
+                eq(API_URL),
+                eq(HttpMethod.GET),
+                isNull(),
+                any(ParameterizedTypeReference.class));
+    }
+
+    private void stubVersionedListing(String changeVersion) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Change-Version", changeVersion);
+        when(restTemplate.exchange(
+                eq(API_URL),
+                eq(HttpMethod.GET),
+                isNull(),
+                any(ParameterizedTypeReference.class)))
+                .thenReturn(new ResponseEntity<>(wrapped(Arrays.asList(employee1, employee2)), headers, HttpStatus.OK));
+    }
+
+    private void stubChanges(long since, ChangeFeed feed) {
+        when(restTemplate.exchange(
+                eq(API_URL + "/changes?since=" + since),
+                eq(HttpMethod.GET),
+                isNull(),
+                any(ParameterizedTypeReference.class)))
+                .thenReturn(new ResponseEntity<>(wrapped(feed), HttpStatus.OK));
+    }
+
+    @Test
+    void createEmployee_UpdatesCachedRoster() {
+        ResponseEntity<UpstreamResponse<List<Employee>>> listResponse =
+                new ResponseEntity<>(wrapped(Arrays.asList(employee1)), HttpStatus.OK);
+        when(restTemplate.exchange(
+                eq(API_URL),
+                eq(HttpMethod.GET),
+                isNull(),
+                any(ParameterizedTypeReference.class)))
+                .thenReturn(listResponse);
+        when(restTemplate.exchange(
+                eq(API_URL),
+                eq(HttpMethod.POST),
+                any(HttpEntity.class),
+                any(ParameterizedTypeReference.class)))
+                .thenReturn(new ResponseEntity<>(wrapped(employee2), HttpStatus.OK));
+
+        employeeService.getAllEmployeesWithErrorHandlingResponse();
+        employeeService.createEmployee(employeeRequest);
+
+        assertEquals(120000, employeeService.getHighestSalaryOfEmployees().getBody());
+        verify(restTemplate, times(1)).exchange(
+                eq(API_URL),
+                eq(HttpMethod.GET),
+                isNull(),
+                any(ParameterizedTypeReference.class));
+    }
+
+    @Test
+    void concurrentRosterReads_ShareOneUpstreamCall() throws Exception {
+        List<Employee> employees = Arrays.asList(employee1, employee2);
+        CountDownLatch release = new CountDownLatch(1);
+
+        when(restTemplate.exchange(
+                eq(API_URL),
+                eq(HttpMethod.GET),
+                isNull(),
+                any(ParameterizedTypeReference.class)))
+                .thenAnswer(invocation -> {
+                    release.await();
+                    return new ResponseEntity<>(wrapped(employees), HttpStatus.OK);
+                });
+
+        List<ResponseEntity<List<Employee>>> responses =
+                callConcurrently(32, release, () -> employeeService.getAllEmployeesWithErrorHandlingResponse());
+
+        responses.forEach(response -> assertEquals(2, response.getBody().size()));
+        verify(restTemplate, times(1)).exchange(
+                eq(API_URL),
+                eq(HttpMethod.GET),
+                isNull(),
+                any(ParameterizedTypeReference.class));
+    }
+
+    @Test
+    void concurrentGetEmployeeById_ShareOneUpstreamCall() throws Exception {
+        String employeeId = employee1.getId().toString();
+        CountDownLatch release = new CountDownLatch(1);
+
+        when(restTemplate.exchange(
+                eq(API_URL + "/" + employeeId),
+                eq(HttpMethod.GET),
+                isNull(),
+                any(ParameterizedTypeReference.class)))
+                .thenAnswer(invocation -> {
+                    release.await();
+                    return new ResponseEntity<>(wrapped(employee1), HttpStatus.OK);
+                });
+
+        List<ResponseEntity<Employee>> responses =
+                callConcurrently(32, release, () -> employeeService.getEmployeeByIdWithErrorHandling(employeeId));
+
+        responses.forEach(response -> assertSame(employee1, response.getBody()));
+        verify(restTemplate, times(1)).exchange(
+                eq(API_URL + "/" + employeeId),
+                eq(HttpMethod.GET),
+                isNull(),
+                any(ParameterizedTypeReference.class));
+    }
+
+    @Test
+    void getEmployeesByIds_ServesCachedHitsAndBatchesMisses() {
+        UUID unknownId = UUID.randomUUID();
+        String batchUrl = API_URL + "?ids=" + employee2.getId() + "," + unknownId;
+        when(restTemplate.exchange(
+                eq(API_URL),
+                eq(HttpMethod.GET),
+                isNull(),
+                any(ParameterizedTypeReference.class)))
+                .thenReturn(new ResponseEntity<>(wrapped(List.of(employee1)), HttpStatus.OK));
+        when(restTemplate.exchange(
+                eq(batchUrl),
+                eq(HttpMethod.GET),
+                isNull(),
+                any(ParameterizedTypeReference.class)))
+                .thenReturn(new ResponseEntity<>(wrapped(List.of(employee2)), HttpStatus.OK));
+        employeeService.getAllEmployeesWithErrorHandlingResponse();
+
+        ResponseEntity<List<EmployeeLookup>> response = employeeService.getEmployeesByIds(List.of(
+                employee2.getId().toString(), "not-a-uuid", employee1.getId().toString(), unknownId.toString()));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        List<EmployeeLookup> results = response.getBody();
+        assertEquals(List.of(200, 400, 200, 404), results.stream().map(EmployeeLookup::getStatus).toList());
+        assertSame(employee2, results.get(0).getEmployee());
+        assertSame(employee1, results.get(2).getEmployee());
+        assertEquals("not-a-uuid", results.get(1).getId());
+        verify(restTemplate, times(1)).exchange(
+                eq(batchUrl),
+                eq(HttpMethod.GET),
+                isNull(),
+                any(ParameterizedTypeReference.class));
+    }
+
+    @Test
+    void getEmployeesByIds_FallsBackToParallelGetsWithoutUpstreamBatch() {
+        String employeeId1 = employee1.getId().toString();
+        String employeeId2 = employee2.getId().toString();
+        when(restTemplate.exchange(
+                startsWith(API_URL + "?ids="),
+                eq(HttpMethod.GET),
+                isNull(),
+                any(ParameterizedTypeReference.class)))
+                .thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND));
+        when(restTemplate.exchange(
+                eq(API_URL + "/" + employeeId1),
+                eq(HttpMethod.GET),
+                isNull(),
+                any(ParameterizedTypeReference.class)))
+                .thenReturn(new ResponseEntity<>(wrapped(employee1), HttpStatus.OK));
+        when(restTemplate.exchange(
+                eq(API_URL + "/" + employeeId2),
+                eq(HttpMethod.GET),
+                isNull(),
+                any(ParameterizedTypeReference.class)))
+                .thenThrow(new UpstreamThrottledException(Duration.ofSeconds(5)));
+
+        List<EmployeeLookup> first = employeeService.getEmployeesByIds(List.of(employeeId1, employeeId2)).getBody();
+        List<EmployeeLookup> second = employeeService.getEmployeesByIds(List.of(employeeId1)).getBody();
+
+        assertEquals(List.of(200, 503), first.stream().map(EmployeeLookup::getStatus).toList());
+        assertSame(employee1, first.get(0).getEmployee());
+        assertEquals(200, second.get(0).getStatus());
+        // The unsupported batch route is only tried once
+        verify(restTemplate, times(1)).exchange(
+                startsWith(API_URL + "?ids="),
+                eq(HttpMethod.GET),
+                isNull(),
+                any(ParameterizedTypeReference.class));
+    }
+
+    @Test
+    void createEmployees_StreamsResultPerItemAcrossChunks() throws Exception {
+        ReflectionTestUtils.setField(employeeService, "bulkChunk", 2);
+        UpstreamBulkResult<Employee> created = new UpstreamBulkResult<>();
+        created.setData(employee1);
+        UpstreamBulkResult<Employee> rejected = new UpstreamBulkResult<>();
+        rejected.setError("salary must be greater than 0");
+        when(restTemplate.exchange(
+                eq(API_URL + "/bulk"),
+                eq(HttpMethod.POST),
+                any(HttpEntity.class),
+                any(ParameterizedTypeReference.class)))
+                .thenReturn(new ResponseEntity<>(wrapped(List.of(created, rejected)), HttpStatus.OK))
+                .thenThrow(new ResourceAccessException("I/O error", new SocketTimeoutException("Read timed out")))
+                .thenThrow(new ResourceAccessException("I/O error", new ConnectException("Connection refused")));
+        String body = "{\"name\":\"A\",\"salary\":1,\"age\":30,\"title\":\"T\"}\n"
+                + "{\"name\":\"B\",\"salary\":-1,\"age\":30,\"title\":\"T\"}\n"
+                + "{\"name\":\"C\",\"salary\":1,\"age\":30,\"title\":\"T\"}\n"
+                + "{\"name\":\"D\",\"salary\":1,\"age\":30,\"title\":\"T\"}\n"
+                + "{\"name\":\"E\",\"salary\":1,\"age\":30,\"title\":\"T\"}\n";
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        employeeService.createEmployees(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)))
+                .writeTo(out);
+
+        List<BulkItemResult> results = out.toString(StandardCharsets.UTF_8).lines()
+                .map(line -> {
+                    try {
+                        return objectMapper.readValue(line, BulkItemResult.class);
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                })
+                .toList();
+        assertEquals(List.of(0, 1, 2, 3, 4), results.stream().map(BulkItemResult::getIndex).toList());
+        // A read timeout leaves the chunk's outcome unknown; a refused connection never sent it
+        assertEquals(List.of(201, 400, 504, 504, 502), results.stream().map(BulkItemResult::getStatus).toList());
+        assertEquals("John Doe", results.get(0).getEmployee().getEmployeeName());
+        assertEquals("salary must be greater than 0", results.get(1).getError());
+    }
+
+    /**
+     * Starts {@code callers} threads running {@code call}, waits until every one of them is parked (the first inside the
+     * stubbed upstream call, the rest waiting on its result) and only then lets the upstream call return.
+     */
+    private <T> List<T> callConcurrently(int callers, CountDownLatch release, Supplier<T> call) throws Exception {
+        List<T> results = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            Thread thread = new Thread(() -> {
+                T result = call.get();
+                synchronized (results) {
+                    results.add(result);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!threads.stream().allMatch(thread -> thread.getState() == Thread.State.WAITING)) {
+            assertTrue(System.nanoTime() < deadline, "callers did not all block on the upstream call");
+            Thread.sleep(5);
+        }
+        release.countDown();
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+        }
+
+        assertEquals(callers, results.size());
+        return results;
+    }
+
     @Test
     void getAllEmployeesWithErrorHandlingResponse_Error() {
         when(restTemplate.exchange(
@@ -0,0 +1,213 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+
+/**
+ * Shared plumbing for the in-process load benchmarks: a non-blocking stub upstream that answers every get-by-id after a
+ * fixed delay, an api booted against it, and a non-blocking driver that measures latency, throughput, threads and
+ * memory. The stub and the driver cost no threads per request, so differences come from the api alone.
+ */
+final class LoadHarness {
+
+    static final Duration UPSTREAM_LATENCY = Duration.ofMillis(200);
+
+    private static final int REQUESTS_PER_CALLER = 5;
+    private static final Duration SAMPLE_INTERVAL = Duration.ofMillis(10);
+    private static final Path PROC_STATUS = Path.of("/proc/self/status");
+    // The stub's own event loops: a reactive api disposes Reactor Netty's global ones when its context closes
+    private static final LoopResources UPSTREAM_LOOPS = LoopResources.create("load-upstream", 1, true);
+
+    private LoadHarness() {}
+
+    static DisposableServer startUpstream() {
+        return HttpServer.create()
+                .runOn(UPSTREAM_LOOPS)
+                .port(0)
+                .route(routes -> routes.get("/api/v1/employee/{id}", (request, response) -> response.header(
+                                "Content-Type", "application/json")
+                        .sendString(Mono.delay(UPSTREAM_LATENCY)
+                                .map(tick -> "{\"data\":{\"id\":\"" + request.param("id")
+                                        + "\",\"employee_name\":\"Load Test\",\"employee_salary\":1},"
+                                        + "\"status\":\"Successfully processed request.\"}"))))
+                .bindNow();
+    }
+
+    /**
+     * Boots the api against {@code upstream} with its connection pool, pacing and retries opened up to
+     * {@code concurrency}, so only the execution model under test limits it.
+     */
+    static ConfigurableApplicationContext startApi(
+            DisposableServer upstream, int concurrency, List<String> profiles, String... properties) {
+        final var settings = new ArrayList<>(List.of(
+                "server.port=0",
+                "server.tomcat.max-connections=" + (concurrency + 100),
+                "server.tomcat.accept-count=" + concurrency,
+                "employee.api.url=http://localhost:" + upstream.port() + "/api/v1/employee",
+                "employee.client.max-connections=" + concurrency,
+                "employee.client.max-connections-per-route=" + concurrency,
+                "employee.client.lease-timeout=PT60S",
+                "employee.client.read-timeout=PT60S",
+                "employee.client.rate-limit.max-per-second=1000000",
+                "employee.client.rate-limit.initial-burst=1000000",
+                "employee.client.retry.max-attempts=1"));
+        settings.addAll(List.of(properties));
+        // Passed as arguments: default properties would lose to the same keys in application.yml
+        return new SpringApplicationBuilder(ApiApplication.class)
+                .profiles(profiles.toArray(String[]::new))
+                .run(settings.stream().map(setting -> "--" + setting).toArray(String[]::new));
+    }
+
+    /**
+     * Warms the api up with one request per caller, then keeps {@code concurrency} get-by-id requests in flight until
+     * each caller has completed several, sampling threads and memory throughout.
+     */
+    static Result drive(ConfigurableApplicationContext api, int concurrency) {
+        final var provider = ConnectionProvider.builder("load-driver")
+                .maxConnections(concurrency)
+                .pendingAcquireMaxCount(-1)
+                .pendingAcquireTimeout(Duration.ofMinutes(1))
+                .build();
+        try {
+            final int port = ((WebServerApplicationContext) api).getWebServer().getPort();
+            final var client = HttpClient.create(provider).baseUrl("http://localhost:" + port);
+            requests(client, concurrency, concurrency, new AtomicInteger());
+
+            System.gc();
+            final var threads = ManagementFactory.getThreadMXBean();
+            final int idleThreads = threads.getThreadCount();
+            final long idleRss = residentSetBytes();
+            threads.resetPeakThreadCount();
+            final var sampler = new Sampler();
+            sampler.start();
+
+            final var failures = new AtomicInteger();
+            final long start = System.nanoTime();
+            final long[] latencies = requests(client, concurrency, concurrency * REQUESTS_PER_CALLER, failures);
+            final long elapsed = System.nanoTime() - start;
+            sampler.interrupt();
+
+            assertEquals(0, failures.get(), "failed requests");
+            Arrays.sort(latencies);
+            return new Result(
+                    idleThreads,
+                    threads.getPeakThreadCount(),
+                    sampler.peakHeap.get(),
+                    Math.max(0, sampler.peakRss.get() - idleRss),
+                    percentile(latencies, 0.50),
+                    percentile(latencies, 0.99),
+                    latencies.length * 1e9 / elapsed);
+        } finally {
+            provider.disposeLater().block();
+        }
+    }
+
+    private static long[] requests(HttpClient client, int concurrency, int requests, AtomicInteger failures) {
+        return Flux.range(0, requests)
+                .flatMap(
+                        i -> {
+                            final long start = System.nanoTime();
+                            return client.get()
+                                    .uri("/api/v1/employee/" + UUID.randomUUID())
+                                    .responseSingle((response, body) -> body.asString()
+                                            .defaultIfEmpty("")
+                                            .map(ignored -> {
+                                                if (response.status().code() != 200) {
+                                                    failures.incrementAndGet();
+                                                }
+                                                return System.nanoTime() - start;
+                                            }));
+                        },
+                        concurrency)
+                .collectList()
+                .map(list -> list.stream().mapToLong(Long::longValue).toArray())
+                .block(Duration.ofMinutes(5));
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(quantile * sorted.length) - 1)];
+    }
+
+    // Thread stacks live outside the heap, so the resident set is what shows their cost; 0 where /proc is missing
+    private static long residentSetBytes() {
+        try {
+            for (String line : Files.readAllLines(PROC_STATUS)) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D", "")) * 1024;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // Not on Linux
+        }
+        return 0;
+    }
+
+    private static final class Sampler extends Thread {
+
+        private final AtomicLong peakHeap = new AtomicLong();
+        private final AtomicLong peakRss = new AtomicLong();
+
+        private Sampler() {
+            super("load-harness-sampler");
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            final var memory = ManagementFactory.getMemoryMXBean();
+            while (!isInterrupted()) {
+                peakHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+                peakRss.accumulateAndGet(residentSetBytes(), Math::max);
+                try {
+                    Thread.sleep(SAMPLE_INTERVAL.toMillis());
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+
+    record Result(
+            int idleThreads,
+            int peakThreads,
+            long peakHeapBytes,
+            long rssGrowthBytes,
+            long p50Nanos,
+            long p99Nanos,
+            double throughput) {
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "threads idle=%d peak=%d  heap peak=%dMB  rss +%dMB  p50=%dms p99=%dms  %,.0f req/s",
+                    idleThreads,
+                    peakThreads,
+                    peakHeapBytes >> 20,
+                    rssGrowthBytes >> 20,
+                    p50Nanos / 1_000_000,
+                    p99Nanos / 1_000_000,
+                    throughput);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.reliaquest.api.models.Employee;
+import com.reliaquest.api.roster.RosterSnapshot;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Compares the trigram index against the previous lower-case-and-contains stream filter. Run with
+ * {@code ./gradlew api:benchmark}.
+ */
+@Tag("benchmark")
+class NameSearchBenchmarkTest {
+
+    private static final String[] SYLLABLES = {
+        "an", "ber", "cho", "dal", "el", "fra", "gor", "hil", "is", "jen", "ka", "lor", "mi", "nat", "ol", "pe", "qui",
+        "ros", "sa", "tor", "ul", "ve", "wen", "xa", "yor", "zel"
+    };
+    private static final List<String> QUERIES = List.of("jen", "Tor", "berch", "xa yor", "zzz", "Miol");
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 20;
+
+    @ParameterizedTest
+    @ValueSource(ints = {50, 10_000, 100_000, 1_000_000})
+    void searchByName(int rosterSize) {
+        final var roster = roster(rosterSize, new Random(42));
+        final var snapshot = RosterSnapshot.of(roster, System.nanoTime());
+
+        for (String query : QUERIES) {
+            assertEquals(streamFilter(roster, query), snapshot.searchByName(query), query);
+        }
+
+        final long streamNanos = measure(() -> QUERIES.forEach(query -> streamFilter(roster, query)));
+        final long indexNanos = measure(() -> QUERIES.forEach(snapshot::searchByName));
+        System.out.printf(
+                "roster=%,d stream=%,d ns/query index=%,d ns/query speedup=%.1fx%n",
+                rosterSize,
+                streamNanos / QUERIES.size(),
+                indexNanos / QUERIES.size(),
+                (double) streamNanos / Math.max(1, indexNanos));
+    }
+
+    private static List<Employee> streamFilter(List<Employee> roster, String nameSearch) {
+        return roster.stream()
+                .filter(employee -> employee.getEmployeeName() != null
+                        && employee.getEmployeeName().toLowerCase().contains(nameSearch.toLowerCase()))
+                .collect(Collectors.toList());
+    }
+
+    private static long measure(Runnable round) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            round.run();
+        }
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            final long start = System.nanoTime();
+            round.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+
+    private static List<Employee> roster(int size, Random random) {
+        final var roster = new ArrayList<Employee>(size);
+        for (int i = 0; i < size; i++) {
+            final var employee = new Employee();
+            employee.setId(UUID.randomUUID());
+            employee.setEmployeeName(word(random) + " " + word(random));
+            employee.setEmployeeSalary(30_000 + random.nextInt(470_000));
+            roster.add(employee);
+        }
+        return roster;
+    }
+
+    private static String word(Random random) {
+        final var word = new StringBuilder();
+        final int syllables = 2 + random.nextInt(2);
+        for (int i = 0; i < syllables; i++) {
+            word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        word.setCharAt(0, Character.toUpperCase(word.charAt(0)));
+        return word.toString();
+    }
+}
@@ -0,0 +1,550 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.client.UpstreamCircuitOpenException;
+import com.reliaquest.api.client.UpstreamEnvelopeDecoder;
+import com.reliaquest.api.models.Employee;
+import com.reliaquest.api.models.EmployeeRequest;
+import com.reliaquest.api.models.HistogramBucket;
+import com.reliaquest.api.roster.EmployeeRoster;
+import com.reliaquest.api.service.ReactiveEmployeeService;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+class ReactiveEmployeeServiceTest {
+
+    private static final String API_URL = "http://localhost:8112/api/v1/employee";
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final List<ClientRequest> requests = new CopyOnWriteArrayList<>();
+    private final EmployeeRoster employeeRoster = new EmployeeRoster();
+    private final ReactiveEmployeeService employeeService = new ReactiveEmployeeService();
+
+    private Function<ClientRequest, Mono<ClientResponse>> upstream;
+    private Employee employee1;
+    private Employee employee2;
+
+    @BeforeEach
+    void setUp() {
+        employee1 = employee("John Doe", 100000);
+        employee2 = employee("Jane Smith", 120000);
+
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    requests.add(request);
+                    return upstream.apply(request);
+                })
+                .build();
+        ReflectionTestUtils.setField(employeeService, "webClient", webClient);
+        ReflectionTestUtils.setField(employeeService, "employeeRoster", employeeRoster);
+        ReflectionTestUtils.setField(
+                employeeService,
+                "envelopeDecoder",
+                new UpstreamEnvelopeDecoder(Jackson2ObjectMapperBuilder.json().build()));
+    }
+
+    @Test
+    void getAllEmployeesWithErrorHandlingResponse_Success() {
+        upstream = request -> json(HttpStatus.OK, envelope(roster(employee1, employee2)));
+
+        ResponseEntity<Flux<Employee>> response =
+                employeeService.getAllEmployeesWithErrorHandlingResponse().block(TIMEOUT);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(
+                List.of(employee1, employee2), response.getBody().collectList().block(TIMEOUT));
+        assertEquals(API_URL, requests.get(0).url().toString());
+    }
+
+    @Test
+    void getAllEmployees_DecodesRosterSplitAcrossBuffers() {
+        byte[] payload = envelope(roster(employee1, employee2)).getBytes(StandardCharsets.UTF_8);
+        // Cut the payload into small chunks so records straddle buffer boundaries, as they do on the wire
+        List<DataBuffer> chunks = new ArrayList<>();
+        for (int offset = 0; offset < payload.length; offset += 7) {
+            chunks.add(DefaultDataBufferFactory.sharedInstance.wrap(
+                    Arrays.copyOfRange(payload, offset, Math.min(payload.length, offset + 7))));
+        }
+        upstream = request -> Mono.just(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(Flux.fromIterable(chunks))
+                .build());
+
+        assertEquals(
+                List.of(employee1, employee2),
+                employeeService
+                        .getAllEmployeesWithErrorHandlingResponse()
+                        .block(TIMEOUT)
+                        .getBody()
+                        .collectList()
+                        .block(TIMEOUT));
+        assertEquals(
+                120000,
+                employeeService.getHighestSalaryOfEmployees().block(TIMEOUT).getBody());
+    }
+
+    @Test
+    void getAllEmployees_DecodesListingLargerThanTheCodecBufferLimit() {
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            employees.add(employee("Employee " + i, 50000 + i));
+        }
+        String body = envelope(roster(employees.toArray(Employee[]::new)));
+        // Past the 256 KB WebFlux buffers by default, which a listing decoded in one piece would hit
+        assertTrue(body.length() > 256 * 1024);
+        upstream = request -> json(HttpStatus.OK, body);
+
+        assertEquals(
+                employees,
+                employeeService
+                        .getAllEmployeesWithErrorHandlingResponse()
+                        .block(TIMEOUT)
+                        .getBody()
+                        .collectList()
+                        .block(TIMEOUT));
+    }
+
+    @Test
+    void readEndpoints_ShareCachedRoster() {
+        upstream = request -> json(HttpStatus.OK, envelope(roster(employee1, employee2)));
+
+        assertEquals(
+                List.of(employee1),
+                employeeService
+                        .searchEmployeesByNameLocallyResponse("john")
+                        .block(TIMEOUT)
+                        .getBody());
+        // The unexpired full roster also answers the salary-ranked reads
+        assertEquals(
+                120000,
+                employeeService.getHighestSalaryOfEmployees().block(TIMEOUT).getBody());
+        assertEquals(
+                List.of("Jane Smith", "John Doe"),
+                employeeService
+                        .getTopTenHighestEarningEmployeeNames()
+                        .block(TIMEOUT)
+                        .getBody());
+        assertEquals(1, requests.size());
+    }
+
+    @Test
+    void salaryReads_UseSalaryProjectionWithoutFullRoster() {
+        upstream = request -> {
+            String url = request.url().toString();
+            if (url.equals(API_URL + "?limit=1000&fields=id,employee_salary")) {
+                return json(HttpStatus.OK, envelope(page("next", salaryOnly(employee1))));
+            }
+            if (url.equals(API_URL + "?limit=1000&fields=id,employee_salary&cursor=next")) {
+                return json(HttpStatus.OK, envelope(page(null, salaryOnly(employee2))));
+            }
+            if (url.startsWith(API_URL + "?ids=")) {
+                return json(HttpStatus.OK, envelope(roster(employee2, employee1)));
+            }
+            return Mono.error(new AssertionError("Unexpected request " + url));
+        };
+
+        assertEquals(
+                120000,
+                employeeService.getHighestSalaryOfEmployees().block(TIMEOUT).getBody());
+        ResponseEntity<List<String>> top =
+                employeeService.getTopTenHighestEarningEmployeeNames().block(TIMEOUT);
+
+        assertEquals(List.of("Jane Smith", "John Doe"), top.getBody());
+        assertNotNull(top.getHeaders().getETag());
+        // Two projection pages, shared by both reads, and one batch lookup for the names
+        assertEquals(3, requests.size());
+        assertEquals(0, listingRequests());
+    }
+
+    @Test
+    void openCircuit_ServesLastRosterMarkedStale() {
+        ReflectionTestUtils.setField(employeeRoster, "ttl", Duration.ZERO);
+        upstream = request -> {
+            if (requests.size() > 1) {
+                return Mono.error(new UpstreamCircuitOpenException(Duration.ofSeconds(5)));
+            }
+            return json(HttpStatus.OK, envelope(roster(employee1, employee2)));
+        };
+
+        employeeService.getAllEmployeesWithErrorHandlingResponse().block(TIMEOUT);
+        ResponseEntity<Flux<Employee>> stale =
+                employeeService.getAllEmployeesWithErrorHandlingResponse().block(TIMEOUT);
+        ResponseEntity<Employee> byId = employeeService
+                .getEmployeeByIdWithErrorHandling(employee1.getId().toString())
+                .block(TIMEOUT);
+
+        assertEquals(
+                List.of(employee1, employee2), stale.getBody().collectList().block(TIMEOUT));
+        assertNotNull(stale.getHeaders().getFirst(HttpHeaders.WARNING));
+        assertEquals(employee1, byId.getBody());
+        assertNotNull(byId.getHeaders().getFirst(HttpHeaders.WARNING));
+    }
+
+    @Test
+    void salaryAnalytics_AnsweredFromRosterColumns() {
+        Employee employee3 = employee("Sam Lee", 60000);
+        employee3.setEmployeeAge(52);
+        upstream = request -> json(HttpStatus.OK, envelope(roster(employee1, employee2, employee3)));
+        employeeService.getAllEmployeesWithErrorHandlingResponse().block(TIMEOUT);
+
+        assertEquals(
+                Map.of("0", 60000, "50", 100000, "100", 120000),
+                employeeService
+                        .getSalaryPercentiles(List.of("0", "50", "100"))
+                        .block(TIMEOUT)
+                        .getBody());
+        assertEquals(
+                List.of(new HistogramBucket(50000, 100000, 1), new HistogramBucket(100000, 150000, 2)),
+                employeeService.getSalaryHistogram(50000).block(TIMEOUT).getBody());
+        assertEquals(
+                List.of(new HistogramBucket(30, 40, 2), new HistogramBucket(40, 50, 0), new HistogramBucket(50, 60, 1)),
+                employeeService.getAgeHistogram(10).block(TIMEOUT).getBody());
+        assertEquals(
+                2,
+                employeeService
+                        .countEmployeesBySalaryRange(60000, 100000)
+                        .block(TIMEOUT)
+                        .getBody());
+        assertEquals(
+                List.of(employee2, employee1),
+                employeeService
+                        .getEmployeesBySalaryRange(100000, 200000, 10)
+                        .block(TIMEOUT)
+                        .getBody());
+
+        assertEquals(
+                HttpStatus.BAD_REQUEST,
+                employeeService
+                        .getSalaryPercentiles(List.of("101"))
+                        .block(TIMEOUT)
+                        .getStatusCode());
+        assertEquals(
+                HttpStatus.BAD_REQUEST,
+                employeeService.getSalaryHistogram(1).block(TIMEOUT).getStatusCode());
+        assertEquals(
+                HttpStatus.BAD_REQUEST,
+                employeeService
+                        .getEmployeesBySalaryRange(0, 1, 0)
+                        .block(TIMEOUT)
+                        .getStatusCode());
+        assertEquals(1, requests.size());
+    }
+
+    @Test
+    void readEndpoints_TagResponsesWithRosterRevision() {
+        upstream = request -> json(HttpStatus.OK, envelope(roster(employee1, employee2)));
+
+        String etag = employeeService
+                .getAllEmployeesWithErrorHandlingResponse()
+                .block(TIMEOUT)
+                .getHeaders()
+                .getETag();
+        assertNotNull(etag);
+        assertEquals(
+                etag,
+                employeeService
+                        .getHighestSalaryOfEmployees()
+                        .block(TIMEOUT)
+                        .getHeaders()
+                        .getETag());
+
+        employeeRoster.removed(employee1.getId());
+
+        assertNotEquals(
+                etag,
+                employeeService
+                        .getAllEmployeesWithErrorHandlingResponse()
+                        .block(TIMEOUT)
+                        .getHeaders()
+                        .getETag());
+        assertEquals(1, requests.size());
+    }
+
+    @Test
+    void expiredRoster_RevalidatesUpstreamListing() {
+        ReflectionTestUtils.setField(employeeRoster, "ttl", Duration.ZERO);
+        upstream = request -> {
+            if (request.headers().getIfNoneMatch().contains("\"listing-1\"")) {
+                return Mono.just(ClientResponse.create(HttpStatus.NOT_MODIFIED).build());
+            }
+            return Mono.just(ClientResponse.create(HttpStatus.OK)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .header(HttpHeaders.ETAG, "\"listing-1\"")
+                    .body(envelope(roster(employee1, employee2)))
+                    .build());
+        };
+
+        employeeService.getAllEmployeesWithErrorHandlingResponse().block(TIMEOUT);
+        ResponseEntity<Flux<Employee>> revalidated =
+                employeeService.getAllEmployeesWithErrorHandlingResponse().block(TIMEOUT);
+
+        assertEquals(
+                List.of(employee1, employee2),
+                revalidated.getBody().collectList().block(TIMEOUT));
+        assertEquals(2, requests.size());
+        assertTrue(requests.get(0).headers().getIfNoneMatch().isEmpty());
+        assertEquals(List.of("\"listing-1\""), requests.get(1).headers().getIfNoneMatch());
+    }
+
+    @Test
+    void expiredRoster_SyncsFromChangeFeed() {
+        ReflectionTestUtils.setField(employeeRoster, "ttl", Duration.ZERO);
+        Employee hired = employee("New Hire", 90000);
+        upstream = request -> {
+            String url = request.url().toString();
+            if (url.startsWith(API_URL + "/changes?since=5&")) {
+                return json(HttpStatus.OK, envelope(changeFeed(6, false, true, change(6, "created", hired))));
+            }
+            if (url.startsWith(API_URL + "/changes?since=6&")) {
+                return json(HttpStatus.OK, envelope(changeFeed(7, false, false, change(7, "deleted", employee2))));
+            }
+            return versionedListing("5", employee1, employee2);
+        };
+
+        employeeService.getAllEmployeesWithErrorHandlingResponse().block(TIMEOUT);
+        List<Employee> synced = employeeService
+                .getAllEmployeesWithErrorHandlingResponse()
+                .block(TIMEOUT)
+                .getBody()
+                .collectList()
+                .block(TIMEOUT);
+
+        assertEquals(List.of(employee1, hired), synced);
+        assertEquals(7, employeeRoster.changeVersion());
+        assertEquals(1, listingRequests());
+    }
+
+    @Test
+    void expiredRoster_ReloadsWhenChangeFeedAsksForResync() {
+        ReflectionTestUtils.setField(employeeRoster, "ttl", Duration.ZERO);
+        upstream = request -> request.url().getPath().endsWith("/changes")
+                ? json(HttpStatus.OK, envelope(changeFeed(20000, true, false)))
+                : versionedListing("5", employee1, employee2);
+
+        employeeService.getAllEmployeesWithErrorHandlingResponse().block(TIMEOUT);
+        employeeService.getAllEmployeesWithErrorHandlingResponse().block(TIMEOUT);
+
+        assertEquals(2, listingRequests());
+        assertEquals(
+                API_URL + "/changes?since=5&limit=500", requests.get(1).url().toString());
+    }
+
+    @Test
+    void expiredRoster_ReloadsInFullWithoutChangeFeed() {
+        ReflectionTestUtils.setField(employeeRoster, "ttl", Duration.ZERO);
+        upstream = request -> request.url().getPath().endsWith("/changes")
+                ? Mono.just(ClientResponse.create(HttpStatus.NOT_FOUND).build())
+                : versionedListing("5", employee1, employee2);
+
+        employeeService.getAllEmployeesWithErrorHandlingResponse().block(TIMEOUT);
+        employeeService.getAllEmployeesWithErrorHandlingResponse().block(TIMEOUT);
+        employeeService.getAllEmployeesWithErrorHandlingResponse().block(TIMEOUT);
+
+        // The feed is tried once, then remembered as missing
+        assertEquals(3, listingRequests());
+        assertEquals(4, requests.size());
+    }
+
+    @Test
+    void getTopHighestEarningEmployeeNames_RejectsLimitWithoutCallingUpstream() {
+        ResponseEntity<List<String>> response =
+                employeeService.getTopHighestEarningEmployeeNames(0).block(TIMEOUT);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertTrue(requests.isEmpty());
+    }
+
+    @Test
+    void concurrentGetEmployeeById_ShareOneUpstreamCall() {
+        Sinks.One<ClientResponse> release = Sinks.one();
+        upstream = request -> release.asMono();
+        String employeeId = employee1.getId().toString();
+
+        List<Mono<ResponseEntity<Employee>>> pending = new ArrayList<>();
+        for (int i = 0; i < 32; i++) {
+            Mono<ResponseEntity<Employee>> response =
+                    employeeService.getEmployeeByIdWithErrorHandling(employeeId).cache();
+            response.subscribe();
+            pending.add(response);
+        }
+        release.tryEmitValue(json(HttpStatus.OK, envelope(toJson(employee1))).block());
+
+        pending.forEach(
+                response -> assertEquals(employee1, response.block(TIMEOUT).getBody()));
+        assertEquals(1, requests.size());
+        assertEquals(API_URL + "/" + employeeId, requests.get(0).url().toString());
+    }
+
+    @Test
+    void getEmployeeByIdWithErrorHandling_NotFound() {
+        upstream =
+                request -> Mono.just(ClientResponse.create(HttpStatus.NOT_FOUND).build());
+
+        RuntimeException error = assertThrows(
+                RuntimeException.class,
+                () -> employeeService.getEmployeeByIdWithErrorHandling("99").block(TIMEOUT));
+        assertTrue(error.getMessage().startsWith("Error while fetching employee with ID 99"));
+    }
+
+    @Test
+    void createAndDelete_UpdateCachedRoster() {
+        upstream = request -> {
+            if (request.method() == HttpMethod.POST) {
+                return json(HttpStatus.OK, envelope(toJson(employee2)));
+            }
+            if (request.method() == HttpMethod.DELETE) {
+                return json(HttpStatus.OK, envelope("true"));
+            }
+            if (request.url().toString().equals(API_URL)) {
+                return json(HttpStatus.OK, envelope(roster(employee1)));
+            }
+            return json(HttpStatus.OK, envelope(toJson(employee1)));
+        };
+        EmployeeRequest employeeRequest = new EmployeeRequest();
+        employeeRequest.setName("Jane Smith");
+        employeeRequest.setSalary(120000);
+        employeeRequest.setAge(35);
+
+        employeeService.getAllEmployeesWithErrorHandlingResponse().block(TIMEOUT);
+        employeeService.createEmployee(employeeRequest).block(TIMEOUT);
+        assertEquals(
+                120000,
+                employeeService.getHighestSalaryOfEmployees().block(TIMEOUT).getBody());
+
+        String id = employee1.getId().toString();
+        assertEquals(
+                "John Doe",
+                employeeService.deleteEmployeeById(id).block(TIMEOUT).getBody());
+        assertEquals(
+                List.of(employee2),
+                employeeService
+                        .getAllEmployeesWithErrorHandlingResponse()
+                        .block(TIMEOUT)
+                        .getBody()
+                        .collectList()
+                        .block(TIMEOUT));
+        assertEquals(API_URL + "/" + id, requests.get(requests.size() - 2).url().toString());
+        assertEquals(API_URL, requests.get(requests.size() - 1).url().toString());
+        assertEquals(
+                1,
+                requests.stream()
+                        .filter(request ->
+                                request.url().toString().equals(API_URL) && request.method() == HttpMethod.GET)
+                        .count());
+    }
+
+    @Test
+    void deleteEmployeeById_SharedName_DropsCachedRoster() {
+        Employee namesake = employee("John Doe", 50000);
+        upstream = request -> {
+            if (request.method() == HttpMethod.DELETE) {
+                return json(HttpStatus.OK, envelope("true"));
+            }
+            if (request.url().toString().equals(API_URL)) {
+                return json(HttpStatus.OK, envelope(roster(namesake, employee1)));
+            }
+            return json(HttpStatus.OK, envelope(toJson(employee1)));
+        };
+        employeeService.getAllEmployeesWithErrorHandlingResponse().block(TIMEOUT);
+
+        employeeService.deleteEmployeeById(employee1.getId().toString()).block(TIMEOUT);
+
+        // The upstream removed the earliest John Doe, which need not be the one asked for
+        assertTrue(employeeRoster.peek().isEmpty());
+    }
+
+    private long listingRequests() {
+        return requests.stream()
+                .filter(request -> request.url().toString().equals(API_URL) && request.method() == HttpMethod.GET)
+                .count();
+    }
+
+    private static Mono<ClientResponse> versionedListing(String changeVersion, Employee... employees) {
+        return Mono.just(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .header("X-Change-Version", changeVersion)
+                .body(envelope(roster(employees)))
+                .build());
+    }
+
+    private static String page(String nextCursor, String... items) {
+        return String.format(
+                "{\"items\":[%s],\"next_cursor\":%s}",
+                String.join(",", items), nextCursor == null ? "null" : "\"" + nextCursor + "\"");
+    }
+
+    // Id and salary only, as the upstream answers ?fields=id,employee_salary
+    private static String salaryOnly(Employee employee) {
+        return String.format("{\"id\":\"%s\",\"employee_salary\":%d}", employee.getId(), employee.getEmployeeSalary());
+    }
+
+    private static String changeFeed(long version, boolean resync, boolean more, String... changes) {
+        return String.format(
+                "{\"version\":%d,\"resync\":%b,\"more\":%b,\"changes\":[%s]}",
+                version, resync, more, String.join(",", changes));
+    }
+
+    private static String change(long version, String type, Employee employee) {
+        return String.format("{\"version\":%d,\"type\":\"%s\",\"employee\":%s}", version, type, toJson(employee));
+    }
+
+    private static Mono<ClientResponse> json(HttpStatus status, String body) {
+        return Mono.just(ClientResponse.create(status)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(body)
+                .build());
+    }
+
+    private static String roster(Employee... employees) {
+        List<String> entries = new ArrayList<>();
+        for (Employee employee : employees) {
+            entries.add(toJson(employee));
+        }
+        return "[" + String.join(",", entries) + "]";
+    }
+
+    // Field names and envelope as the mock server writes them
+    private static String toJson(Employee employee) {
+        return String.format(
+                "{\"id\":\"%s\",\"employee_name\":\"%s\",\"employee_salary\":%d,\"employee_age\":%d}",
+                employee.getId(), employee.getEmployeeName(), employee.getEmployeeSalary(), employee.getEmployeeAge());
+    }
+
+    private static String envelope(String data) {
+        return "{\"data\":" + data + ",\"status\":\"Successfully processed request.\"}";
+    }
+
+    private static Employee employee(String name, int salary) {
+        Employee employee = new Employee();
+        employee.setId(UUID.randomUUID());
+        employee.setEmployeeName(name);
+        employee.setEmployeeSalary(salary);
+        employee.setEmployeeAge(30);
+        return employee;
+    }
+}
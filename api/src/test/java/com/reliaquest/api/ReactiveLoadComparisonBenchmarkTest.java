@@ -0,0 +1,46 @@
+package com.reliaquest.api;
+
+import java.util.List;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import reactor.netty.DisposableServer;
+
+/**
+ * Boots the api once on Tomcat and once under the {@code reactive} profile against a stub upstream that answers every
+ * get-by-id after a fixed delay, drives the same number of concurrent requests through each, and prints the peak number
+ * of live JVM threads and the p50/p99 latency. Run with {@code ./gradlew api:benchmark}.
+ */
+@Tag("benchmark")
+class ReactiveLoadComparisonBenchmarkTest {
+
+    private static DisposableServer upstream;
+
+    @BeforeAll
+    static void startUpstream() {
+        upstream = LoadHarness.startUpstream();
+    }
+
+    @AfterAll
+    static void stopUpstream() {
+        upstream.disposeNow();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {100, 1_000, 4_000})
+    void getEmployeeById(int concurrency) {
+        final var reactive = run(concurrency, List.of("reactive"));
+        final var blocking = run(concurrency, List.of());
+        System.out.printf(
+                "concurrency=%,d upstream=%dms%n  blocking: %s%n  reactive: %s%n",
+                concurrency, LoadHarness.UPSTREAM_LATENCY.toMillis(), blocking, reactive);
+    }
+
+    private static LoadHarness.Result run(int concurrency, List<String> profiles) {
+        try (var api = LoadHarness.startApi(upstream, concurrency, profiles)) {
+            return LoadHarness.drive(api, concurrency);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.models.Employee;
+import com.reliaquest.api.roster.EmployeeRoster;
+import com.reliaquest.api.roster.RosterChangeSubscriber;
+import com.reliaquest.api.roster.RosterUpdate;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+class RosterChangeSubscriberTest {
+
+    private final List<String> lastEventIds = new CopyOnWriteArrayList<>();
+    private final EmployeeRoster employeeRoster = new EmployeeRoster();
+
+    private Employee employee1;
+    private Employee employee2;
+    private Employee hired;
+    private DisposableServer upstream;
+    private RosterChangeSubscriber subscriber;
+
+    @BeforeEach
+    void setUp() {
+        employee1 = employee("John Doe", 100000);
+        employee2 = employee("Jane Smith", 120000);
+        hired = employee("New Hire", 90000);
+
+        // Each connection replays a create and a delete after version 5, confirms version 7, then ends
+        final var events = "id:6\nevent:created\ndata:" + change(6, "created", hired) + "\n\n"
+                + "id:7\nevent:deleted\ndata:" + change(7, "deleted", employee1) + "\n\n"
+                + "event:heartbeat\ndata:7\n\n";
+        upstream = HttpServer.create()
+                .port(0)
+                .route(routes -> routes.get("/api/v1/employee/events", (request, response) -> {
+                    lastEventIds.add(String.valueOf(request.requestHeaders().get("Last-Event-ID")));
+                    return response.header("Content-Type", "text/event-stream").sendString(Mono.just(events));
+                }))
+                .bindNow();
+        subscriber = new RosterChangeSubscriber(
+                employeeRoster,
+                new ObjectMapper(),
+                WebClient.builder(),
+                "http://localhost:" + upstream.port() + "/api/v1/employee",
+                Duration.ofMillis(50),
+                Duration.ofMillis(200));
+    }
+
+    @AfterEach
+    void tearDown() {
+        subscriber.stop();
+        upstream.disposeNow();
+    }
+
+    @Test
+    void pushedChanges_ApplyToCachedRosterAndResumeFromItsVersion() {
+        employeeRoster.sync(version -> RosterUpdate.full(List.of(employee1, employee2), 5));
+
+        subscriber.start();
+
+        await(() -> employeeRoster.changeVersion() == 7);
+        assertEquals(
+                List.of(employee2, hired), employeeRoster.peek().orElseThrow().getEmployees());
+        // Reconnects after the stream ends, resuming from the version the roster reached
+        await(() -> lastEventIds.size() >= 2);
+        assertEquals("5", lastEventIds.get(0));
+        assertEquals("7", lastEventIds.get(1));
+        // Replayed changes that the roster already has do not continue its version and are skipped
+        assertEquals(
+                List.of(employee2, hired), employeeRoster.peek().orElseThrow().getEmployees());
+    }
+
+    private static Employee employee(String name, int salary) {
+        final var employee = new Employee();
+        employee.setId(UUID.randomUUID());
+        employee.setEmployeeName(name);
+        employee.setEmployeeSalary(salary);
+        return employee;
+    }
+
+    private static String change(long version, String type, Employee employee) {
+        return "{\"version\":" + version + ",\"type\":\"" + type + "\",\"employee\":{\"id\":\"" + employee.getId()
+                + "\",\"employeeName\":\"" + employee.getEmployeeName() + "\",\"employeeSalary\":"
+                + employee.getEmployeeSalary() + "}}";
+    }
+
+    private static void await(BooleanSupplier condition) {
+        final long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Timed out waiting for the change stream");
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.client.SingleFlight;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void sameKey_ConcurrentCallersShareOneCall() throws Exception {
+        final var calls = new AtomicInteger();
+        final var started = new CountDownLatch(1);
+        final var release = new CountDownLatch(1);
+
+        final Future<String> first = executor.submit(() -> singleFlight.execute("key", () -> {
+            calls.incrementAndGet();
+            started.countDown();
+            await(release);
+            return "value";
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        final var waiters = new Thread[2];
+        final var results = new String[2];
+        for (int i = 0; i < waiters.length; i++) {
+            final int index = i;
+            waiters[i] = new Thread(() -> results[index] = singleFlight.execute("key", () -> {
+                calls.incrementAndGet();
+                return "other";
+            }));
+            waiters[i].start();
+        }
+        for (final var waiter : waiters) {
+            awaitBlocked(waiter);
+        }
+        release.countDown();
+
+        assertEquals("value", first.get(5, TimeUnit.SECONDS));
+        for (final var waiter : waiters) {
+            waiter.join(5000);
+        }
+        assertArrayEquals(new String[] {"value", "value"}, results);
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void sameKeyAsync_ConcurrentCallersShareOneFuture() throws Exception {
+        final var calls = new AtomicInteger();
+        final var upstream = new CompletableFuture<String>();
+
+        final var first = singleFlight.executeAsync("key", () -> {
+            calls.incrementAndGet();
+            return upstream;
+        });
+        final var second = singleFlight.executeAsync("key", () -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture("other");
+        });
+        upstream.complete("value");
+
+        assertSame(first, second);
+        assertEquals("value", second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void differentKeys_RunIndependentCalls() throws Exception {
+        final var calls = new AtomicInteger();
+        final var a = new CompletableFuture<String>();
+        final var b = new CompletableFuture<String>();
+
+        final var forA = singleFlight.executeAsync("a", () -> {
+            calls.incrementAndGet();
+            return a;
+        });
+        final var forB = singleFlight.executeAsync("b", () -> {
+            calls.incrementAndGet();
+            return b;
+        });
+        b.complete("b");
+
+        assertEquals(2, calls.get());
+        assertEquals("b", forB.get(5, TimeUnit.SECONDS));
+        assertFalse(forA.isDone());
+        a.complete("a");
+        assertEquals("a", forA.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void failure_PropagatesToEveryWaiterAndReleasesKey() throws Exception {
+        final var failure = new IllegalStateException("upstream down");
+        final var started = new CountDownLatch(1);
+        final var release = new CountDownLatch(1);
+
+        final Future<String> first = executor.submit(() -> singleFlight.execute("key", () -> {
+            started.countDown();
+            await(release);
+            throw failure;
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        final var thrown = new Throwable[1];
+        final var waiter = new Thread(() -> {
+            try {
+                singleFlight.execute("key", () -> "other");
+            } catch (Throwable t) {
+                thrown[0] = t;
+            }
+        });
+        waiter.start();
+        awaitBlocked(waiter);
+        release.countDown();
+
+        final var error = assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS));
+        assertSame(failure, error.getCause());
+        waiter.join(5000);
+        assertSame(failure, thrown[0]);
+        // Nothing is remembered: the next call runs again
+        assertEquals("recovered", singleFlight.execute("key", () -> "recovered"));
+    }
+
+    @Test
+    void failureAsync_PropagatesToEveryWaiterAndReleasesKey() {
+        final var failure = new IllegalStateException("upstream down");
+        final var upstream = new CompletableFuture<String>();
+
+        final var first = singleFlight.executeAsync("key", () -> upstream);
+        final var second = singleFlight.executeAsync("key", () -> CompletableFuture.completedFuture("other"));
+        upstream.completeExceptionally(failure);
+
+        for (final var future : new CompletableFuture[] {first, second}) {
+            final var error = assertThrows(ExecutionException.class, future::get);
+            assertSame(failure, error.getCause());
+        }
+        assertEquals(
+                "recovered",
+                singleFlight
+                        .executeAsync("key", () -> CompletableFuture.completedFuture("recovered"))
+                        .join());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // The waiter has found the call in flight once it parks on its future
+    private static void awaitBlocked(Thread thread) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.getState() != Thread.State.WAITING) {
+            assertTrue(System.nanoTime() < deadline, "waiter never blocked");
+            Thread.sleep(1);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.*;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.*;
+
+import com.reliaquest.api.client.CircuitBreaker;
+import com.reliaquest.api.client.UpstreamCircuitBreakerInterceptor;
+import com.reliaquest.api.client.UpstreamCircuitOpenException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestTemplate;
+
+class UpstreamCircuitBreakerTest {
+
+    private static final String API_URL = "http://localhost:8112/api/v1/employee";
+    private static final Duration OPEN_DURATION = Duration.ofMillis(100);
+
+    private SimpleMeterRegistry meterRegistry;
+    private CircuitBreaker circuitBreaker;
+    private RestTemplate restTemplate;
+    private MockRestServiceServer server;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        circuitBreaker = new CircuitBreaker(2, OPEN_DURATION, 1);
+        circuitBreaker.bindTo(meterRegistry);
+        restTemplate = new RestTemplate();
+        restTemplate.getInterceptors().add(new UpstreamCircuitBreakerInterceptor(circuitBreaker));
+        server = MockRestServiceServer.bindTo(restTemplate).build();
+    }
+
+    @Test
+    void consecutiveFailures_OpenCircuitUntilAProbeSucceeds() throws Exception {
+        server.expect(ExpectedCount.twice(), requestTo(API_URL)).andRespond(withServerError());
+        server.expect(requestTo(API_URL)).andRespond(withSuccess());
+
+        assertThrows(HttpServerErrorException.class, () -> restTemplate.getForObject(API_URL, String.class));
+        assertThrows(HttpServerErrorException.class, () -> restTemplate.getForObject(API_URL, String.class));
+        // Open: rejected without reaching the upstream, which expects no third failing call
+        assertThrows(UpstreamCircuitOpenException.class, () -> restTemplate.getForObject(API_URL, String.class));
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.state());
+
+        Thread.sleep(OPEN_DURATION.toMillis() + 50);
+        restTemplate.getForObject(API_URL, String.class);
+
+        server.verify();
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.state());
+        assertEquals(1, transitions("open"));
+        assertEquals(1, transitions("half_open"));
+        assertEquals(1, transitions("closed"));
+        assertEquals(
+                0, meterRegistry.get("employee.upstream.circuit.state").gauge().value());
+    }
+
+    @Test
+    void failedProbe_ReopensCircuit() throws Exception {
+        server.expect(ExpectedCount.times(3), requestTo(API_URL)).andRespond(withServerError());
+
+        assertThrows(HttpServerErrorException.class, () -> restTemplate.getForObject(API_URL, String.class));
+        assertThrows(HttpServerErrorException.class, () -> restTemplate.getForObject(API_URL, String.class));
+        Thread.sleep(OPEN_DURATION.toMillis() + 50);
+        assertThrows(HttpServerErrorException.class, () -> restTemplate.getForObject(API_URL, String.class));
+
+        server.verify();
+        assertThrows(UpstreamCircuitOpenException.class, () -> restTemplate.getForObject(API_URL, String.class));
+        assertEquals(2, transitions("open"));
+    }
+
+    private double transitions(String state) {
+        return meterRegistry
+                .get("employee.upstream.circuit.transitions")
+                .tag("state", state)
+                .functionCounter()
+                .count();
+    }
+}
@@ -0,0 +1,329 @@
+package com.reliaquest.api;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.models.BulkItemResult;
+import com.reliaquest.api.models.Employee;
+import com.reliaquest.api.models.EmployeeLookup;
+import com.reliaquest.api.models.EmployeeRequest;
+import com.reliaquest.api.roster.EmployeeRoster;
+import com.reliaquest.api.service.EmployeeService;
+import com.reliaquest.server.config.ServerConfiguration;
+import com.reliaquest.server.controller.MockEmployeeController;
+import com.reliaquest.server.controller.MockEmployeeControllerAdvice;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.Response;
+import com.reliaquest.server.repository.MockEmployeeRepository;
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.web.EmployeeChangeStream;
+import com.reliaquest.server.web.EncodedListingCache;
+import jakarta.validation.Validation;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import net.datafaker.Faker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.client.MockMvcClientHttpRequestFactory;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Runs {@link EmployeeService} against the mock server's real controller: requests go through a {@link RestTemplate}
+ * with the default message converters and are answered by {@link MockEmployeeController} over MockMvc, so the
+ * envelope and field names are the ones the server actually writes.
+ */
+class UpstreamContractTest {
+
+    private static final String API_URL = "http://localhost:8112/api/v1/employee";
+
+    private final MockEmployeeRepository repository = new MockEmployeeRepository();
+    private final EmployeeRoster employeeRoster = new EmployeeRoster();
+    private final EmployeeService employeeService = new EmployeeService();
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+
+    private RestTemplate restTemplate;
+    private MockEmployee employee1;
+    private MockEmployee employee2;
+
+    @BeforeEach
+    void setUp() {
+        employee1 = mockEmployee("John Doe", 100000, 30);
+        employee2 = mockEmployee("Jane Smith", 120000, 35);
+        repository.saveAll(List.of(employee1, employee2));
+
+        MockEmployeeService mockEmployeeService = new MockEmployeeService(new Faker(Locale.ROOT), repository);
+        MockEmployeeController controller = new MockEmployeeController(
+                mockEmployeeService,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new EmployeeChangeStream(mockEmployeeService, Duration.ofMinutes(1), Duration.ofMinutes(1)),
+                new EncodedListingCache(
+                        Jackson2ObjectMapperBuilder.json().build(),
+                        new MappingJackson2SmileHttpMessageConverter(Jackson2ObjectMapperBuilder.smile()
+                                .factory(ServerConfiguration.smileFactory())
+                                .build())));
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new MockEmployeeControllerAdvice())
+                .build();
+        restTemplate = new RestTemplateBuilder()
+                .requestFactory(() -> new MockMvcClientHttpRequestFactory(mockMvc))
+                .additionalInterceptors((request, body, execution) -> {
+                    requests.add(request.getMethod() + " " + request.getURI());
+                    return execution.execute(request, body);
+                })
+                .build();
+
+        ReflectionTestUtils.setField(employeeService, "restTemplate", restTemplate);
+        ReflectionTestUtils.setField(employeeService, "employeeRoster", employeeRoster);
+        ReflectionTestUtils.setField(
+                employeeService,
+                "objectMapper",
+                Jackson2ObjectMapperBuilder.json().build());
+        ReflectionTestUtils.setField(employeeService, "employeeApiUrl", API_URL);
+    }
+
+    @Test
+    void fullListing_DecodesEnvelopeAndFieldNames() {
+        List<Employee> employees =
+                employeeService.getAllEmployeesWithErrorHandlingResponse().getBody();
+
+        assertEquals(2, employees.size());
+        assertMatches(employee1, employees.get(0));
+        assertMatches(employee2, employees.get(1));
+    }
+
+    @Test
+    void pagedListing_FollowsCursorsToTheLastPage() {
+        ReflectionTestUtils.setField(employeeService, "pagedRosterLoad", true);
+        ReflectionTestUtils.setField(employeeService, "upstreamPageSize", 1);
+
+        List<Employee> employees =
+                employeeService.getAllEmployeesWithErrorHandlingResponse().getBody();
+
+        assertEquals(2, employees.size());
+        assertMatches(employee1, employees.get(0));
+        assertMatches(employee2, employees.get(1));
+    }
+
+    @Test
+    void salaryProjection_ReadsProjectedSalaries() {
+        ReflectionTestUtils.setField(employeeService, "upstreamPageSize", 1);
+
+        assertEquals(120000, employeeService.getHighestSalaryOfEmployees().getBody());
+        assertEquals(
+                1, employeeService.countEmployeesBySalaryRange(110000, 130000).getBody());
+    }
+
+    @Test
+    void expiredRoster_SyncsFromChangeFeed() {
+        ReflectionTestUtils.setField(employeeRoster, "ttl", Duration.ZERO);
+        employeeService.getAllEmployeesWithErrorHandlingResponse();
+        MockEmployee hired = mockEmployee("New Hire", 90000, 22);
+        repository.save(hired);
+        repository.deleteFirstByName(employee2.getName());
+
+        List<Employee> employees =
+                employeeService.getAllEmployeesWithErrorHandlingResponse().getBody();
+
+        assertEquals(2, employees.size());
+        assertMatches(employee1, employees.get(0));
+        assertMatches(hired, employees.get(1));
+        assertEquals(repository.changeVersion(), employeeRoster.changeVersion());
+        assertEquals(List.of("GET " + API_URL, "GET " + API_URL + "/changes?since=2"), requests);
+    }
+
+    @Test
+    void topEarners_NamesFetchedThroughBatchRoute() {
+        assertEquals(
+                List.of("Jane Smith", "John Doe"),
+                employeeService.getTopTenHighestEarningEmployeeNames().getBody());
+        assertTrue(requests.stream().anyMatch(request -> request.startsWith("GET " + API_URL + "?ids=")));
+    }
+
+    @Test
+    void batchLookup_FallsBackToPerIdGetsWhenRouteIsNotAllowed() throws Exception {
+        ReflectionTestUtils.setField(employeeService, "batchParallelism", 1);
+        UUID unknownId = UUID.randomUUID();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate)
+                .ignoreExpectOrder(true)
+                .build();
+        server.expect(requestTo(startsWith(API_URL + "?ids="))).andRespond(withStatus(HttpStatus.METHOD_NOT_ALLOWED));
+        server.expect(requestTo(API_URL + "/" + employee1.getId()))
+                .andRespond(withSuccess(serverJson(Response.handledWith(employee1)), MediaType.APPLICATION_JSON));
+        server.expect(requestTo(API_URL + "/" + unknownId))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(serverJson(Response.handled())));
+        server.expect(requestTo(API_URL + "/" + employee2.getId()))
+                .andRespond(withSuccess(serverJson(Response.handledWith(employee2)), MediaType.APPLICATION_JSON));
+
+        List<EmployeeLookup> first = employeeService
+                .getEmployeesByIds(List.of(employee1.getId().toString(), unknownId.toString()))
+                .getBody();
+        // The batch route is not tried again
+        List<EmployeeLookup> second = employeeService
+                .getEmployeesByIds(List.of(employee2.getId().toString()))
+                .getBody();
+
+        server.verify();
+        assertEquals(
+                List.of(200, 404), first.stream().map(EmployeeLookup::getStatus).toList());
+        assertMatches(employee1, first.get(0).getEmployee());
+        assertEquals(200, second.get(0).getStatus());
+        assertMatches(employee2, second.get(0).getEmployee());
+    }
+
+    @Test
+    void getEmployeeById_DecodesEnvelope() {
+        ResponseEntity<Employee> response = employeeService.getEmployeeByIdWithErrorHandling(
+                employee1.getId().toString());
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertMatches(employee1, response.getBody());
+        assertThrows(
+                RuntimeException.class,
+                () -> employeeService.getEmployeeByIdWithErrorHandling(
+                        UUID.randomUUID().toString()));
+    }
+
+    @Test
+    void createEmployee_DecodesCreatedEmployee() {
+        EmployeeRequest request = new EmployeeRequest();
+        request.setName("Sam Lee");
+        request.setSalary(90000);
+        request.setAge(41);
+        request.setTitle("Engineer");
+
+        Employee created = employeeService.createEmployee(request).getBody();
+
+        assertNotNull(created.getId());
+        assertEquals("Sam Lee", created.getEmployeeName());
+        assertEquals(90000, created.getEmployeeSalary());
+        assertEquals("Engineer", created.getEmployeeTitle());
+        assertEquals(repository.findById(created.getId()).orElseThrow().getEmail(), created.getEmployeeEmail());
+    }
+
+    @Test
+    void deleteEmployeeById_DeletesByNameThroughTheRealRoutes() {
+        employeeService.getAllEmployeesWithErrorHandlingResponse();
+
+        ResponseEntity<String> response =
+                employeeService.deleteEmployeeById(employee1.getId().toString());
+
+        assertEquals("John Doe", response.getBody());
+        assertTrue(repository.findById(employee1.getId()).isEmpty());
+        assertEquals(
+                List.of(employee2.getId()),
+                employeeService.getAllEmployeesWithErrorHandlingResponse().getBody().stream()
+                        .map(Employee::getId)
+                        .toList());
+        assertEquals(
+                List.of("GET " + API_URL, "GET " + API_URL + "/" + employee1.getId(), "DELETE " + API_URL), requests);
+        assertThrows(
+                RuntimeException.class,
+                () -> employeeService.deleteEmployeeById(employee1.getId().toString()));
+    }
+
+    @Test
+    void bulkCreateAndDelete_DecodeEnvelopePerItem() throws Exception {
+        String created = "[{\"name\":\"Sam Lee\",\"salary\":90000,\"age\":41,\"title\":\"Engineer\"},"
+                + "{\"name\":\"No Salary\",\"age\":41,\"title\":\"Engineer\"}]";
+        List<BulkItemResult> createResults = bulk(employeeService.createEmployees(stream(created)));
+
+        assertEquals(
+                List.of(201, 400),
+                createResults.stream().map(BulkItemResult::getStatus).toList());
+        assertEquals("Sam Lee", createResults.get(0).getEmployee().getEmployeeName());
+        assertTrue(
+                repository.findById(createResults.get(0).getEmployee().getId()).isPresent());
+        assertEquals("salary must not be null", createResults.get(1).getError());
+
+        // Resolved from the cached roster, then deleted with one upstream bulk request; employee2 is already gone there
+        employeeService.getAllEmployeesWithErrorHandlingResponse();
+        repository.deleteFirstByName(employee2.getName());
+        String deleted = "[\"" + employee1.getId() + "\",\"" + employee2.getId() + "\"]";
+        List<BulkItemResult> deleteResults = bulk(employeeService.deleteEmployees(stream(deleted)));
+
+        assertEquals(
+                List.of(200, 404),
+                deleteResults.stream().map(BulkItemResult::getStatus).toList());
+        assertTrue(repository.findById(employee1.getId()).isEmpty());
+    }
+
+    @Test
+    void bulkCreate_UndecodableAnswerLeavesOutcomeUnknown() throws Exception {
+        MockRestServiceServer server =
+                MockRestServiceServer.bindTo(restTemplate).build();
+        server.expect(requestTo(API_URL + "/bulk"))
+                .andRespond(withSuccess("{\"data\":[{\"data\":", MediaType.APPLICATION_JSON));
+
+        List<BulkItemResult> results = bulk(employeeService.createEmployees(
+                stream("[{\"name\":\"Sam Lee\",\"salary\":90000,\"age\":41,\"title\":\"Engineer\"}]")));
+
+        server.verify();
+        assertEquals(504, results.get(0).getStatus());
+        assertTrue(results.get(0).getError().startsWith("Outcome unknown"));
+    }
+
+    private static String serverJson(Response<?> response) throws IOException {
+        return Jackson2ObjectMapperBuilder.json().build().writeValueAsString(response);
+    }
+
+    private static InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<BulkItemResult> bulk(StreamingResponseBody body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        body.writeTo(out);
+        ObjectMapper objectMapper = new ObjectMapper();
+        List<BulkItemResult> results = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            results.add(objectMapper.readValue(line, BulkItemResult.class));
+        }
+        return results;
+    }
+
+    private static void assertMatches(MockEmployee expected, Employee actual) {
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getName(), actual.getEmployeeName());
+        assertEquals(expected.getSalary(), actual.getEmployeeSalary());
+        assertEquals(expected.getAge(), actual.getEmployeeAge());
+        assertEquals(expected.getTitle(), actual.getEmployeeTitle());
+        assertEquals(expected.getEmail(), actual.getEmployeeEmail());
+    }
+
+    private static MockEmployee mockEmployee(String name, int salary, int age) {
+        return MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .salary(salary)
+                .age(age)
+                .title("Analyst")
+                .email(name.toLowerCase(Locale.ROOT).replace(' ', '.') + "@company.com")
+                .build();
+    }
+}
@@ -0,0 +1,94 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.reliaquest.api.client.UpstreamEnvelopeDecoder;
+import com.reliaquest.api.models.Employee;
+import com.reliaquest.api.models.UpstreamResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import reactor.core.publisher.Flux;
+
+class UpstreamEnvelopeDecoderTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    private final UpstreamEnvelopeDecoder decoder =
+            new UpstreamEnvelopeDecoder(Jackson2ObjectMapperBuilder.json().build());
+
+    @Test
+    void decodeData_SkipsFieldsAroundTheDataArray() {
+        final var employee1 = employee("John Doe");
+        final var employee2 = employee("Jane Smith");
+        final String body = "{\"status\":\"ok\",\"meta\":{\"data\":[1,2],\"nested\":[{\"a\":[]}]},\"data\":["
+                + toJson(employee1) + ",null," + toJson(employee2) + "],\"error\":null}";
+
+        assertEquals(List.of(employee1, employee2), decode(body.getBytes(StandardCharsets.UTF_8), 3, null));
+    }
+
+    @Test
+    void decodeData_StreamsSmile() throws Exception {
+        final var employees = List.of(employee("John Doe"), employee("Jane Smith"));
+        // Encoded like the mock server does: UUIDs as raw bytes rather than 7-bit safe ones
+        final var smileMapper = new ObjectMapper(SmileFactory.builder()
+                .disable(SmileGenerator.Feature.ENCODE_BINARY_AS_7BIT)
+                .build());
+        final byte[] body = smileMapper.writeValueAsBytes(new UpstreamResponse<>(employees, "ok", null));
+
+        assertEquals(employees, decode(body, 5, SMILE));
+    }
+
+    @Test
+    void decodeData_FailsWithoutDataArray() {
+        final byte[] body = "{\"data\":null,\"status\":\"ok\"}".getBytes(StandardCharsets.UTF_8);
+
+        assertThrows(DecodingException.class, () -> decode(body, 4, null));
+    }
+
+    @Test
+    void decodeData_FailsOnTruncatedBody() {
+        final String body = "{\"data\":[" + toJson(employee("John Doe")) + ",{\"id\":";
+
+        assertThrows(DecodingException.class, () -> decode(body.getBytes(StandardCharsets.UTF_8), 8, null));
+    }
+
+    private List<Employee> decode(byte[] body, int chunkSize, MediaType contentType) {
+        final List<DataBuffer> chunks = new ArrayList<>();
+        for (int offset = 0; offset < body.length; offset += chunkSize) {
+            chunks.add(DefaultDataBufferFactory.sharedInstance.wrap(
+                    Arrays.copyOfRange(body, offset, Math.min(body.length, offset + chunkSize))));
+        }
+        return decoder.decodeData(Flux.fromIterable(chunks), contentType, Employee.class)
+                .collectList()
+                .block(TIMEOUT);
+    }
+
+    private static String toJson(Employee employee) {
+        return String.format(
+                "{\"id\":\"%s\",\"employee_name\":\"%s\",\"employee_salary\":%d,\"employee_age\":%d}",
+                employee.getId(), employee.getEmployeeName(), employee.getEmployeeSalary(), employee.getEmployeeAge());
+    }
+
+    private static Employee employee(String name) {
+        final var employee = new Employee();
+        employee.setId(UUID.randomUUID());
+        employee.setEmployeeName(name);
+        employee.setEmployeeSalary(100000);
+        employee.setEmployeeAge(30);
+        return employee;
+    }
+}
@@ -0,0 +1,86 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.*;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.*;
+
+import com.reliaquest.api.client.UpstreamMetrics;
+import com.reliaquest.api.client.UpstreamMetricsInterceptor;
+import com.reliaquest.api.models.Employee;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.SocketTimeoutException;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+class UpstreamMetricsInterceptorTest {
+
+    private static final String API_URL = "http://localhost:8112/api/v1/employee";
+
+    private SimpleMeterRegistry meterRegistry;
+    private RestTemplate restTemplate;
+    private MockRestServiceServer server;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        restTemplate = new RestTemplate();
+        restTemplate.getInterceptors().add(new UpstreamMetricsInterceptor(new UpstreamMetrics(meterRegistry)));
+        server = MockRestServiceServer.bindTo(restTemplate).build();
+    }
+
+    @Test
+    void getAll_RecordsSuccessAndPayloadSize() {
+        final String body = "[{\"id\":\"4a3a170b-22cd-4ac2-aad1-9bb5b34a1507\",\"employeeName\":\"John Doe\"}]";
+        server.expect(requestTo(API_URL)).andRespond(withSuccess(body, MediaType.APPLICATION_JSON));
+
+        final List<Employee> employees = restTemplate
+                .exchange(API_URL, HttpMethod.GET, null, new ParameterizedTypeReference<List<Employee>>() {})
+                .getBody();
+
+        assertEquals(1, employees.size());
+        assertEquals(1, requests("get_all", "2xx"));
+        final var payload = meterRegistry
+                .get("employee.upstream.payload")
+                .tag("operation", "get_all")
+                .summary();
+        assertEquals(1, payload.count());
+        assertEquals(body.length(), payload.totalAmount());
+    }
+
+    @Test
+    void getById_NotFound_RecordsOutcome() {
+        server.expect(requestTo(API_URL + "/123")).andRespond(withResourceNotFound());
+
+        assertThrows(
+                HttpClientErrorException.NotFound.class,
+                () -> restTemplate.getForObject(API_URL + "/123", Employee.class));
+
+        assertEquals(1, requests("get_by_id", "404"));
+    }
+
+    @Test
+    void create_Timeout_RecordsOutcome() {
+        server.expect(requestTo(API_URL)).andRespond(withException(new SocketTimeoutException("Read timed out")));
+
+        assertThrows(ResourceAccessException.class, () -> restTemplate.postForObject(API_URL, "{}", Employee.class));
+
+        assertEquals(1, requests("create", "timeout"));
+    }
+
+    private long requests(String operation, String outcome) {
+        return meterRegistry
+                .get("employee.upstream.requests")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .timer()
+                .count();
+    }
+}
@@ -0,0 +1,73 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.*;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.reliaquest.api.client.UpstreamWireFormat;
+import com.reliaquest.api.models.Employee;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+class UpstreamWireFormatTest {
+
+    private static final String API_URL = "http://localhost:8112/api/v1/employee";
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    private RestTemplate restTemplate;
+    private MockRestServiceServer server;
+
+    @BeforeEach
+    void setUp() {
+        restTemplate = new RestTemplate();
+        restTemplate.getInterceptors().add(UpstreamWireFormat.SMILE.interceptor());
+        server = MockRestServiceServer.bindTo(restTemplate).build();
+    }
+
+    @Test
+    void smile_PrefersSmileAndDecodesIt() throws Exception {
+        final var employee = new Employee();
+        employee.setId(UUID.randomUUID());
+        employee.setEmployeeName("John Doe");
+        employee.setEmployeeSalary(100000);
+        employee.setEmployeeAge(30);
+        // Encoded like the mock server does: UUIDs as raw bytes rather than 7-bit safe ones
+        final var smileMapper = new ObjectMapper(SmileFactory.builder()
+                .disable(SmileGenerator.Feature.ENCODE_BINARY_AS_7BIT)
+                .build());
+        final byte[] body = smileMapper.writeValueAsBytes(List.of(employee));
+        server.expect(requestTo(API_URL))
+                .andExpect(header(HttpHeaders.ACCEPT, "application/x-jackson-smile, application/json;q=0.5"))
+                .andRespond(withSuccess(body, SMILE));
+
+        final List<Employee> employees = restTemplate
+                .exchange(API_URL, HttpMethod.GET, null, new ParameterizedTypeReference<List<Employee>>() {})
+                .getBody();
+
+        assertEquals(List.of(employee), employees);
+        assertTrue(body.length < new ObjectMapper().writeValueAsBytes(List.of(employee)).length);
+    }
+
+    @Test
+    void smile_LeavesRequestsWithoutAcceptAlone() {
+        server.expect(requestTo(API_URL + "/123"))
+                .andExpect(headerDoesNotExist(HttpHeaders.ACCEPT))
+                .andRespond(withSuccess());
+
+        // No response extractor, so RestTemplate sends no Accept; even Void.class lists the JSON types
+        restTemplate.execute(API_URL + "/123", HttpMethod.DELETE, null, null);
+
+        server.verify();
+    }
+}
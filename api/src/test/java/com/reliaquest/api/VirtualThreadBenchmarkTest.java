@@ -0,0 +1,51 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.List;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import reactor.netty.DisposableServer;
+
+/**
+ * Compares the api on Tomcat's default platform-thread pool with {@code spring.threads.virtual.enabled} against a stub
+ * upstream that answers every get-by-id after a fixed delay, printing throughput, latency, threads and memory. Needs a
+ * Java 21 toolchain: run with {@code ./gradlew -PjavaVersion=21 api:benchmark}.
+ */
+@Tag("benchmark")
+class VirtualThreadBenchmarkTest {
+
+    private static DisposableServer upstream;
+
+    @BeforeAll
+    static void startUpstream() {
+        assumeTrue(Runtime.version().feature() >= 21, "virtual threads need Java 21, run with -PjavaVersion=21");
+        upstream = LoadHarness.startUpstream();
+    }
+
+    @AfterAll
+    static void stopUpstream() {
+        if (upstream != null) {
+            upstream.disposeNow();
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1_000, 10_000})
+    void getEmployeeById(int concurrency) {
+        final var virtual = run(concurrency, "spring.threads.virtual.enabled=true");
+        final var platform = run(concurrency, "spring.threads.virtual.enabled=false");
+        System.out.printf(
+                "concurrency=%,d upstream=%dms%n  platform: %s%n  virtual:  %s%n",
+                concurrency, LoadHarness.UPSTREAM_LATENCY.toMillis(), platform, virtual);
+    }
+
+    private static LoadHarness.Result run(int concurrency, String threadingMode) {
+        try (var api = LoadHarness.startApi(upstream, concurrency, List.of(), threadingMode)) {
+            return LoadHarness.drive(api, concurrency);
+        }
+    }
+}
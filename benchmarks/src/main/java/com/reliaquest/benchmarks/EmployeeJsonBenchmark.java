@@ -0,0 +1,89 @@
+package com.reliaquest.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.reliaquest.api.models.Employee;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Jackson (de)serialization of {@link Employee} as the api exchanges it: single records, the whole roster bound to a
+ * list, and the roster read one record at a time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class EmployeeJsonBenchmark {
+
+    @Param({"50", "10000", "100000", "1000000"})
+    public int rosterSize;
+
+    // Configured like Spring Boot's auto-configured mapper
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    private ObjectReader employeeReader;
+    private ObjectReader rosterReader;
+    private List<Employee> roster;
+    private byte[] rosterJson;
+    private byte[] employeeJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        employeeReader = objectMapper.readerFor(Employee.class);
+        rosterReader = objectMapper.readerFor(new TypeReference<List<Employee>>() {});
+        roster = Rosters.employees(rosterSize);
+        rosterJson = objectMapper.writeValueAsBytes(roster);
+        employeeJson = objectMapper.writeValueAsBytes(roster.get(0));
+    }
+
+    @Benchmark
+    public byte[] writeEmployee() throws IOException {
+        return objectMapper.writeValueAsBytes(roster.get(0));
+    }
+
+    @Benchmark
+    public Employee readEmployee() throws IOException {
+        return employeeReader.readValue(employeeJson);
+    }
+
+    @Benchmark
+    public byte[] writeRoster() throws IOException {
+        return objectMapper.writeValueAsBytes(roster);
+    }
+
+    @Benchmark
+    public List<Employee> readRoster() throws IOException {
+        return rosterReader.readValue(rosterJson);
+    }
+
+    @Benchmark
+    public int readRosterStreaming() throws IOException {
+        int highest = Integer.MIN_VALUE;
+        try (var employees = employeeReader.<Employee>readValues(rosterJson)) {
+            while (employees.hasNextValue()) {
+                highest = Math.max(highest, employees.nextValue().getEmployeeSalary());
+            }
+        }
+        return highest;
+    }
+}
@@ -0,0 +1,110 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.models.Employee;
+import com.reliaquest.api.roster.EmployeeRoster;
+import com.reliaquest.api.service.EmployeeService;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Read endpoints of {@link EmployeeService} over a warm roster cache, with the upstream replaced by an in-memory
+ * {@link RestTemplate} so only the service's own work is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class EmployeeServiceBenchmark {
+
+    @Param({"50", "10000", "100000", "1000000"})
+    public int rosterSize;
+
+    private EmployeeService employeeService;
+
+    @Setup
+    public void setUp() {
+        final List<Employee> roster = Rosters.employees(rosterSize);
+        final var employeeRoster = new EmployeeRoster();
+        // Keep the snapshot fresh for the whole run so no background reload competes with the measurement
+        inject(employeeRoster, "ttl", Duration.ofDays(1));
+
+        employeeService = new EmployeeService();
+        inject(employeeService, "restTemplate", new InMemoryRestTemplate(roster));
+        inject(employeeService, "employeeRoster", employeeRoster);
+        employeeService.getAllEmployeesWithErrorHandlingResponse();
+    }
+
+    @Benchmark
+    public ResponseEntity<List<Employee>> searchByName(Query query) {
+        return employeeService.searchEmployeesByNameLocallyResponse(query.nameSearch);
+    }
+
+    @Benchmark
+    public ResponseEntity<List<String>> topTenHighestEarningEmployeeNames() {
+        return employeeService.getTopTenHighestEarningEmployeeNames();
+    }
+
+    @Benchmark
+    public ResponseEntity<Integer> highestSalary() {
+        return employeeService.getHighestSalaryOfEmployees();
+    }
+
+    @Benchmark
+    public ResponseEntity<List<Employee>> getAllEmployees() {
+        return employeeService.getAllEmployeesWithErrorHandlingResponse();
+    }
+
+    // Separate state so only the search benchmark is multiplied by the queries
+    @State(Scope.Benchmark)
+    public static class Query {
+
+        @Param({"jen", "Tor", "xa yor", "zzz"})
+        public String nameSearch;
+    }
+
+    static void inject(Object target, String name, Object value) {
+        final var field = ReflectionUtils.findField(target.getClass(), name);
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target, value);
+    }
+
+    private static final class InMemoryRestTemplate extends RestTemplate {
+
+        private final List<Employee> roster;
+
+        private InMemoryRestTemplate(List<Employee> roster) {
+            this.roster = roster;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> ResponseEntity<T> exchange(
+                String url,
+                HttpMethod method,
+                HttpEntity<?> requestEntity,
+                ParameterizedTypeReference<T> responseType,
+                Object... uriVariables) {
+            return ResponseEntity.ok((T) roster);
+        }
+    }
+}
@@ -0,0 +1,355 @@
+package com.reliaquest.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.ApiApplication;
+import com.reliaquest.server.ServerApplication;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.repository.MockEmployeeRepository;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * End-to-end load run: boots {@link ServerApplication} and {@link ApiApplication} in this JVM on random ports, seeds the
+ * server with {@code load.employees} employees and sends a weighted mix of every api endpoint at {@code load.rps}
+ * requests per second using the JDK's {@link HttpClient}.
+ *
+ * <p>Requests are sent on a fixed schedule whatever the api's response times (an open workload), and each latency is
+ * measured from the scheduled send time. The report lists throughput, p50/p99/p999 latency and error rates per endpoint,
+ * the api's 503s while the upstream throttles it, and the share of upstream calls the server rejected with 429. Run with
+ * {@code ./gradlew benchmarks:loadTest}; the report is also written as JSON to {@code load.report} when set.
+ */
+public final class EndToEndLoad {
+
+    private static final String API_PATH = "/api/v1/employee";
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(60);
+
+    enum Endpoint {
+        GET_ALL,
+        SEARCH,
+        GET_BY_ID,
+        HIGHEST_SALARY,
+        TOP_TEN,
+        CREATE,
+        DELETE
+    }
+
+    private record Settings(
+            int rps, Duration warmup, Duration duration, int employees, Map<Endpoint, Integer> mix, String report) {
+
+        static Settings fromSystemProperties() {
+            return new Settings(
+                    Integer.getInteger("load.rps", 200),
+                    Duration.parse(System.getProperty("load.warmup", "PT10S")),
+                    Duration.parse(System.getProperty("load.duration", "PT60S")),
+                    Integer.getInteger("load.employees", 1_000),
+                    mix(System.getProperty(
+                            "load.mix",
+                            "get_all=10,search=25,get_by_id=25,highest_salary=15,top_ten=15,create=5,delete=5")),
+                    System.getProperty("load.report"));
+        }
+
+        // e.g. "search=3,get_by_id=1": endpoints not listed are not called
+        private static Map<Endpoint, Integer> mix(String spec) {
+            final var mix = new EnumMap<Endpoint, Integer>(Endpoint.class);
+            for (String entry : spec.split(",")) {
+                final var parts = entry.trim().split("=");
+                mix.put(Endpoint.valueOf(parts[0].trim().toUpperCase()), Integer.parseInt(parts[1].trim()));
+            }
+            return mix;
+        }
+    }
+
+    private record Call(Endpoint endpoint, HttpRequest request) {}
+
+    private EndToEndLoad() {}
+
+    public static void main(String[] args) throws Exception {
+        final var settings = Settings.fromSystemProperties();
+        final var upstreamStatuses = new StatusCountingFilter();
+        try (var server = startServer(settings, upstreamStatuses);
+                var api = startApi(port(server))) {
+            final var workload = new Workload(
+                    URI.create("http://localhost:" + port(api) + API_PATH),
+                    server.getBean(MockEmployeeRepository.class).findAll(),
+                    settings.mix());
+            final var report = run(settings, workload, upstreamStatuses);
+            print(report);
+            if (settings.report() != null) {
+                final var path = Path.of(settings.report());
+                Files.createDirectories(path.toAbsolutePath().getParent());
+                new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(path.toFile(), report);
+                System.out.println("Report written to " + path.toAbsolutePath());
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext startServer(Settings settings, StatusCountingFilter statuses)
+            throws IOException {
+        final ApplicationContextInitializer<ConfigurableApplicationContext> registerFilter =
+                context -> context.getBeanFactory().registerSingleton("loadStatusCountingFilter", statuses);
+        // Passed as arguments: default properties would lose to the same keys in the app's application.yml
+        return new SpringApplicationBuilder(ServerApplication.class)
+                .initializers(registerFilter)
+                .properties("spring.config.location=" + configLocation("mock-employee-api"))
+                .run(
+                        "--server.port=0",
+                        "--mock.employees.max=" + settings.employees(),
+                        "--logging.level.com.reliaquest=INFO");
+    }
+
+    private static ConfigurableApplicationContext startApi(int serverPort) throws IOException {
+        return new SpringApplicationBuilder(ApiApplication.class)
+                .properties("spring.config.location=" + configLocation("employee-api"))
+                .run(
+                        "--server.port=0",
+                        "--employee.api.url=http://localhost:" + serverPort + API_PATH,
+                        "--logging.level.com.reliaquest=INFO");
+    }
+
+    // Both apps ship a root application.yml, so each is located by the application name it declares
+    private static String configLocation(String applicationName) throws IOException {
+        final var resources = EndToEndLoad.class.getClassLoader().getResources("application.yml");
+        while (resources.hasMoreElements()) {
+            final URL url = resources.nextElement();
+            try (var in = url.openStream()) {
+                if (new String(in.readAllBytes(), StandardCharsets.UTF_8)
+                        .contains("spring.application.name: " + applicationName)) {
+                    return url.toString();
+                }
+            }
+        }
+        throw new IllegalStateException("No application.yml for " + applicationName + " on the classpath");
+    }
+
+    private static int port(ConfigurableApplicationContext context) {
+        return ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    private static Map<String, Object> run(Settings settings, Workload workload, StatusCountingFilter upstreamStatuses)
+            throws InterruptedException {
+        final var client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        final var stats = new EnumMap<Endpoint, EndpointStats>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            stats.put(endpoint, new EndpointStats(endpoint.name().toLowerCase()));
+        }
+        final var total = new EndpointStats("total");
+        final var random = new Random(Rosters.SEED);
+        final var pending = new AtomicLong();
+
+        System.out.printf(
+                "Driving %d req/s for %ds after %ds of warm-up against %d seeded employees%n",
+                settings.rps(),
+                settings.duration().toSeconds(),
+                settings.warmup().toSeconds(),
+                settings.employees());
+        final long start = System.nanoTime();
+        final long measureFrom = start + settings.warmup().toNanos();
+        final long end = measureFrom + settings.duration().toNanos();
+        boolean measuring = false;
+        for (long i = 0; ; i++) {
+            final long scheduled = start + i * 1_000_000_000L / settings.rps();
+            if (scheduled >= end) {
+                break;
+            }
+            if (!measuring && scheduled >= measureFrom) {
+                // Upstream counts cover the measured window only, like the endpoint stats
+                upstreamStatuses.reset();
+                measuring = true;
+            }
+            for (long wait; (wait = scheduled - System.nanoTime()) > 0; ) {
+                LockSupport.parkNanos(wait);
+            }
+            final Call call = workload.next(random);
+            final boolean measured = scheduled >= measureFrom;
+            pending.incrementAndGet();
+            client.sendAsync(call.request(), HttpResponse.BodyHandlers.ofByteArray())
+                    .whenComplete((response, error) -> {
+                        if (measured) {
+                            final long latency = System.nanoTime() - scheduled;
+                            final int status = response == null ? -1 : response.statusCode();
+                            stats.get(call.endpoint()).record(latency, status);
+                            total.record(latency, status);
+                        }
+                        if (call.endpoint() == Endpoint.CREATE && response != null && response.statusCode() < 300) {
+                            workload.created(response.body());
+                        }
+                        pending.decrementAndGet();
+                    });
+        }
+
+        final long drainDeadline = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+        while (pending.get() > 0 && System.nanoTime() < drainDeadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+
+        final double seconds = settings.duration().toNanos() / 1e9;
+        final var endpoints = new ArrayList<Map<String, Object>>();
+        stats.forEach((endpoint, endpointStats) -> {
+            if (settings.mix().containsKey(endpoint)) {
+                endpoints.add(endpointStats.summary(seconds));
+            }
+        });
+        final var upstream = new LinkedHashMap<String, Object>();
+        upstream.put("requests", upstreamStatuses.requests());
+        upstream.put("throttled", upstreamStatuses.throttled());
+        upstream.put(
+                "throttleRate",
+                upstreamStatuses.requests() == 0
+                        ? 0.0
+                        : (double) upstreamStatuses.throttled() / upstreamStatuses.requests());
+
+        final var report = new LinkedHashMap<String, Object>();
+        report.put("targetRps", settings.rps());
+        report.put("durationSeconds", seconds);
+        report.put("employees", settings.employees());
+        report.put("unfinished", pending.get());
+        report.put("total", total.summary(seconds));
+        report.put("endpoints", endpoints);
+        report.put("upstream", upstream);
+        return report;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void print(Map<String, Object> report) {
+        System.out.printf(
+                "%n%-15s %9s %9s %9s %9s %9s %8s %9s%n",
+                "endpoint", "requests", "req/s", "p50 ms", "p99 ms", "p999 ms", "errors", "503s");
+        final var rows = new ArrayList<>((List<Map<String, Object>>) report.get("endpoints"));
+        rows.add((Map<String, Object>) report.get("total"));
+        for (var row : rows) {
+            System.out.printf(
+                    "%-15s %9d %9.1f %9.1f %9.1f %9.1f %7.2f%% %9d%n",
+                    row.get("endpoint"),
+                    row.get("requests"),
+                    row.get("throughput"),
+                    row.get("p50Millis"),
+                    row.get("p99Millis"),
+                    row.get("p999Millis"),
+                    100 * (double) row.get("errorRate"),
+                    row.get("throttled"));
+        }
+        final var upstream = (Map<String, Object>) report.get("upstream");
+        System.out.printf(
+                "upstream: %d requests, %d rejected with 429 (%.2f%%); %d requests unfinished%n",
+                upstream.get("requests"),
+                upstream.get("throttled"),
+                100 * (double) upstream.get("throttleRate"),
+                report.get("unfinished"));
+    }
+
+    /**
+     * Builds the requests of the mix. Lookups target the seeded roster; deletes consume employees created during the
+     * run first and fall back to the seeded ones, so every delete names an employee that should exist.
+     */
+    private static final class Workload {
+
+        private static final String[] TITLES = {"Engineer", "Analyst", "Manager", "Designer"};
+
+        private final URI base;
+        private final List<MockEmployee> seeded;
+        private final Endpoint[] weighted;
+        private final ConcurrentLinkedQueue<String> deletable = new ConcurrentLinkedQueue<>();
+        private final ObjectMapper objectMapper = new ObjectMapper();
+
+        Workload(URI base, List<MockEmployee> seeded, Map<Endpoint, Integer> mix) {
+            this.base = base;
+            this.seeded = seeded;
+            final var weighted = new ArrayList<Endpoint>();
+            mix.forEach((endpoint, weight) -> {
+                for (int i = 0; i < weight; i++) {
+                    weighted.add(endpoint);
+                }
+            });
+            this.weighted = weighted.toArray(Endpoint[]::new);
+            seeded.forEach(employee -> deletable.add(employee.getId().toString()));
+        }
+
+        Call next(Random random) {
+            final var endpoint = weighted[random.nextInt(weighted.length)];
+            final var request =
+                    switch (endpoint) {
+                        case GET_ALL -> get("");
+                        case SEARCH -> get("/search/" + nameFragment(random));
+                        case GET_BY_ID -> get(
+                                "/" + seeded.get(random.nextInt(seeded.size())).getId());
+                        case HIGHEST_SALARY -> get("/highestSalary");
+                        case TOP_TEN -> get("/topTenHighestEarningEmployeeNames");
+                        case CREATE -> HttpRequest.newBuilder(base)
+                                .timeout(REQUEST_TIMEOUT)
+                                .header("Content-Type", "application/json")
+                                .POST(HttpRequest.BodyPublishers.ofString(String.format(
+                                        "{\"name\":\"Load Test %d\",\"salary\":%d,\"age\":%d,\"title\":\"%s\"}",
+                                        random.nextInt(1_000_000),
+                                        30_000 + random.nextInt(470_000),
+                                        16 + random.nextInt(55),
+                                        TITLES[random.nextInt(TITLES.length)])))
+                                .build();
+                        case DELETE -> {
+                            final var id = deletable.poll();
+                            yield id == null
+                                    ? get("/highestSalary")
+                                    : request("/" + id).DELETE().build();
+                        }
+                    };
+            return new Call(endpoint, request);
+        }
+
+        void created(byte[] body) {
+            try {
+                final var id = objectMapper.readTree(body).path("id").asText(null);
+                if (id != null) {
+                    deletable.add(id);
+                }
+            } catch (IOException e) {
+                // Not an employee; nothing to delete later
+            }
+        }
+
+        // Three to five characters from inside a seeded name, so searches usually match
+        private String nameFragment(Random random) {
+            final var name = seeded.get(random.nextInt(seeded.size())).getName();
+            if (name == null || name.length() < 3) {
+                return "an";
+            }
+            final int length = Math.min(name.length(), 3 + random.nextInt(3));
+            final int from = random.nextInt(name.length() - length + 1);
+            return URLEncoder.encode(name.substring(from, from + length), StandardCharsets.UTF_8)
+                    .replace("+", "%20");
+        }
+
+        private HttpRequest get(String path) {
+            return request(path).GET().build();
+        }
+
+        private HttpRequest.Builder request(String path) {
+            return HttpRequest.newBuilder(URI.create(base + path)).timeout(REQUEST_TIMEOUT);
+        }
+    }
+}
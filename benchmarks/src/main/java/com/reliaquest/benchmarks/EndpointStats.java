@@ -0,0 +1,74 @@
+package com.reliaquest.benchmarks;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Latencies and outcomes of the measured calls to one endpoint. Latency runs from the call's scheduled send time, not
+ * from when it was actually sent, so a stalled api shows up as latency rather than as fewer requests.
+ */
+final class EndpointStats {
+
+    private final String name;
+
+    private long[] latencies = new long[1024];
+    private int count;
+    private long ok;
+    private long throttled;
+    private long clientErrors;
+    private long serverErrors;
+    private long failures;
+
+    EndpointStats(String name) {
+        this.name = name;
+    }
+
+    /**
+     * @param status the HTTP status, or {@code -1} if the call failed without a response
+     */
+    synchronized void record(long latencyNanos, int status) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = latencyNanos;
+        if (status < 0) {
+            failures++;
+        } else if (status < 400) {
+            ok++;
+        } else if (status == 503) {
+            // The api's answer when the upstream is rate limiting it and nothing cached could serve the request
+            throttled++;
+        } else if (status < 500) {
+            clientErrors++;
+        } else {
+            serverErrors++;
+        }
+    }
+
+    synchronized Map<String, Object> summary(double seconds) {
+        final long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        final var summary = new LinkedHashMap<String, Object>();
+        summary.put("endpoint", name);
+        summary.put("requests", count);
+        summary.put("throughput", count / seconds);
+        summary.put("p50Millis", percentile(sorted, 0.50) / 1e6);
+        summary.put("p99Millis", percentile(sorted, 0.99) / 1e6);
+        summary.put("p999Millis", percentile(sorted, 0.999) / 1e6);
+        summary.put("ok", ok);
+        summary.put("throttled", throttled);
+        summary.put("clientErrors", clientErrors);
+        summary.put("serverErrors", serverErrors);
+        summary.put("failures", failures);
+        summary.put("errorRate", count == 0 ? 0.0 : (double) (count - ok) / count);
+        return summary;
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(quantile * sorted.length) - 1)];
+    }
+}
@@ -0,0 +1,80 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.server.config.MockEmployeeGenerator;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.repository.MockEmployeeRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Server startup cost of seeding the roster with {@link MockEmployeeGenerator}, one cold shot per iteration: the
+ * chunks generated one after another on a single thread as a baseline, eager seeding in parallel, and the time until a
+ * lazily seeded server can serve its first chunk.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class MockEmployeeGeneratorBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int rosterSize;
+
+    private MockEmployeeGenerator generator;
+    private CompletableFuture<Void> remaining;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        generator = new MockEmployeeGenerator(Locale.ROOT, Rosters.SEED, 10_000);
+    }
+
+    // Lazy seeding keeps generating after the shot; it must not compete with the next one
+    @TearDown(Level.Iteration)
+    public void awaitBackgroundGeneration() {
+        if (remaining != null) {
+            remaining.join();
+            remaining = null;
+        }
+    }
+
+    @Benchmark
+    public List<MockEmployee> sequential() {
+        final var employees = new ArrayList<MockEmployee>(rosterSize);
+        for (int index = 0; index < generator.chunks(rosterSize); index++) {
+            employees.addAll(generator.chunk(index, rosterSize));
+        }
+        return employees;
+    }
+
+    @Benchmark
+    public MockEmployeeRepository eager() {
+        final var repository = new MockEmployeeRepository();
+        generator.populate(repository, rosterSize, false);
+        return repository;
+    }
+
+    @Benchmark
+    public MockEmployeeRepository lazyFirstChunk() {
+        final var repository = new MockEmployeeRepository();
+        remaining = generator.populate(repository, rosterSize, true);
+        return repository;
+    }
+}
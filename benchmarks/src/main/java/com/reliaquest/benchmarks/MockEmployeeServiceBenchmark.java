@@ -0,0 +1,76 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.server.model.CreateMockEmployeeInput;
+import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.repository.MockEmployeeRepository;
+import com.reliaquest.server.service.MockEmployeeService;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import net.datafaker.Faker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The mock server's store behind {@link MockEmployeeService}. Create and delete are measured as a pair so the roster
+ * stays at its configured size for the whole run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class MockEmployeeServiceBenchmark {
+
+    @Param({"50", "10000", "100000", "1000000"})
+    public int rosterSize;
+
+    private MockEmployeeService mockEmployeeService;
+    private UUID[] ids;
+    private int next;
+    private CreateMockEmployeeInput createInput;
+    private DeleteMockEmployeeInput deleteInput;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final var roster = Rosters.mockEmployees(rosterSize);
+        final var repository = new MockEmployeeRepository();
+        repository.saveAll(roster);
+        mockEmployeeService = new MockEmployeeService(new Faker(Locale.ROOT), repository);
+        ids = roster.stream().map(MockEmployee::getId).toArray(UUID[]::new);
+
+        // Not produced by Rosters, so each delete removes exactly the employee the paired create added
+        createInput = new CreateMockEmployeeInput();
+        createInput.setName("Benchmark Employee");
+        createInput.setSalary(100_000);
+        createInput.setAge(30);
+        createInput.setTitle("Engineer");
+        deleteInput = new DeleteMockEmployeeInput();
+        deleteInput.setName(createInput.getName());
+    }
+
+    @Benchmark
+    public Optional<MockEmployee> findById() {
+        next = next + 1 == ids.length ? 0 : next + 1;
+        return mockEmployeeService.findById(ids[next]);
+    }
+
+    @Benchmark
+    public boolean createAndDelete() {
+        mockEmployeeService.create(createInput);
+        return mockEmployeeService.delete(deleteInput);
+    }
+}
@@ -0,0 +1,70 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.models.Employee;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Deterministic synthetic rosters, so every run of a suite measures the same data. Names are built from a fixed
+ * syllable table rather than with Datafaker, which would take minutes at a million employees.
+ */
+final class Rosters {
+
+    static final long SEED = 42;
+
+    private static final String[] SYLLABLES = {
+        "an", "ber", "cho", "dal", "el", "fra", "gor", "hil", "is", "jen", "ka", "lor", "mi", "nat", "ol", "pe", "qui",
+        "ros", "sa", "tor", "ul", "ve", "wen", "xa", "yor", "zel"
+    };
+
+    private Rosters() {}
+
+    static List<Employee> employees(int size) {
+        final var random = new Random(SEED);
+        final var roster = new ArrayList<Employee>(size);
+        for (int i = 0; i < size; i++) {
+            final var employee = new Employee();
+            employee.setId(new UUID(random.nextLong(), random.nextLong()));
+            employee.setEmployeeName(name(random));
+            employee.setEmployeeSalary(30_000 + random.nextInt(470_000));
+            employee.setEmployeeAge(16 + random.nextInt(55));
+            employee.setEmployeeTitle("Engineer");
+            employee.setEmployeeEmail("employee" + i + "@company.com");
+            roster.add(employee);
+        }
+        return roster;
+    }
+
+    static List<MockEmployee> mockEmployees(int size) {
+        final var random = new Random(SEED);
+        final var roster = new ArrayList<MockEmployee>(size);
+        for (int i = 0; i < size; i++) {
+            roster.add(MockEmployee.builder()
+                    .id(new UUID(random.nextLong(), random.nextLong()))
+                    .name(name(random))
+                    .salary(30_000 + random.nextInt(470_000))
+                    .age(16 + random.nextInt(55))
+                    .title("Engineer")
+                    .email("employee" + i + "@company.com")
+                    .build());
+        }
+        return roster;
+    }
+
+    private static String name(Random random) {
+        return word(random) + " " + word(random);
+    }
+
+    private static String word(Random random) {
+        final var word = new StringBuilder();
+        final int syllables = 2 + random.nextInt(2);
+        for (int i = 0; i < syllables; i++) {
+            word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        word.setCharAt(0, Character.toUpperCase(word.charAt(0)));
+        return word.toString();
+    }
+}
@@ -0,0 +1,47 @@
+package com.reliaquest.benchmarks;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Registered on the mock server during a load run to count the requests that reach it and the ones its rate limiter
+ * rejects, which the api otherwise absorbs behind its cache and retries.
+ */
+final class StatusCountingFilter implements Filter {
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            requests.increment();
+            if (((HttpServletResponse) response).getStatus() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+                throttled.increment();
+            }
+        }
+    }
+
+    long requests() {
+        return requests.sum();
+    }
+
+    long throttled() {
+        return throttled.sum();
+    }
+
+    void reset() {
+        requests.reset();
+        throttled.reset();
+    }
+}
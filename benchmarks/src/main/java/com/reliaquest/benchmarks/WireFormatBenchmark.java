@@ -0,0 +1,97 @@
+package com.reliaquest.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.reliaquest.api.models.Employee;
+import com.reliaquest.server.config.ServerConfiguration;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.Response;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JSON against Jackson Smile on the wire between the api and the mock server: encoding the server's listing envelope,
+ * and encoding and decoding the roster as the api's model. Sizes, raw and gzipped as the server's compression would
+ * send JSON, are printed once per trial since JMH only reports time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class WireFormatBenchmark {
+
+    @Param({"50", "10000", "100000", "1000000"})
+    public int rosterSize;
+
+    @Param({"json", "smile"})
+    public String format;
+
+    private ObjectMapper objectMapper;
+    private ObjectReader rosterReader;
+    private Response<List<MockEmployee>> listing;
+    private List<Employee> roster;
+    private byte[] rosterBytes;
+
+    @Setup
+    public void setUp() throws IOException {
+        // Smile configured as the server's message converter is
+        objectMapper =
+                "smile".equals(format) ? new ObjectMapper(ServerConfiguration.smileFactory()) : new ObjectMapper();
+        objectMapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        rosterReader = objectMapper.readerFor(new TypeReference<List<Employee>>() {});
+        listing = Response.handledWith(Rosters.mockEmployees(rosterSize));
+        roster = Rosters.employees(rosterSize);
+        rosterBytes = objectMapper.writeValueAsBytes(roster);
+
+        final byte[] listingBytes = objectMapper.writeValueAsBytes(listing);
+        System.out.printf(
+                "%n%s, %d employees: listing %d bytes (%d gzipped), roster %d bytes (%d gzipped)%n",
+                format,
+                rosterSize,
+                listingBytes.length,
+                gzippedSize(listingBytes),
+                rosterBytes.length,
+                gzippedSize(rosterBytes));
+    }
+
+    @Benchmark
+    public byte[] encodeListing() throws IOException {
+        return objectMapper.writeValueAsBytes(listing);
+    }
+
+    @Benchmark
+    public byte[] encodeRoster() throws IOException {
+        return objectMapper.writeValueAsBytes(roster);
+    }
+
+    @Benchmark
+    public List<Employee> decodeRoster() throws IOException {
+        return rosterReader.readValue(rosterBytes);
+    }
+
+    private static int gzippedSize(byte[] bytes) throws IOException {
+        final var out = new ByteArrayOutputStream(bytes.length / 4);
+        try (var gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.size();
+    }
+}
@@ -0,0 +1,142 @@
+package com.reliaquest.server.config;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.repository.MockEmployeeRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import net.datafaker.Faker;
+
+/**
+ * Generates mock rosters in parallel and reproducibly.
+ *
+ * <p>The roster is cut into chunks of {@code chunkSize} employees, and chunk {@code i} is always generated from a
+ * random seeded with {@code seed} and {@code i}. Each thread keeps its own {@link Faker} over its own {@link Random}
+ * and reseeds it per chunk, so chunks are generated concurrently without sharing a Faker, and a seed and locale
+ * generate the same employees in the same order whatever the number of threads.
+ */
+@Slf4j
+public class MockEmployeeGenerator {
+
+    // Spreads consecutive chunk indexes over the seed space
+    private static final long CHUNK_SEED_STRIDE = 0x9E3779B97F4A7C15L;
+
+    private final long seed;
+    private final int chunkSize;
+    private final ThreadLocal<SeededFaker> fakers;
+
+    public MockEmployeeGenerator(@NonNull Locale locale, long seed, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be positive");
+        }
+        this.seed = seed;
+        this.chunkSize = chunkSize;
+        this.fakers = ThreadLocal.withInitial(() -> {
+            final var random = new Random();
+            return new SeededFaker(random, new Faker(locale, random));
+        });
+    }
+
+    public long seed() {
+        return seed;
+    }
+
+    public int chunks(int count) {
+        return (count + chunkSize - 1) / chunkSize;
+    }
+
+    /**
+     * @return the first {@code count} employees, generated in parallel on the common fork-join pool
+     */
+    public List<MockEmployee> generate(int count) {
+        return IntStream.range(0, chunks(count))
+                .parallel()
+                .mapToObj(index -> chunk(index, count))
+                .flatMap(List::stream)
+                .toList();
+    }
+
+    /**
+     * @return chunk {@code index} of a roster of {@code count} employees
+     */
+    public List<MockEmployee> chunk(int index, int count) {
+        final var seeded = fakers.get();
+        seeded.random().setSeed(seed + index * CHUNK_SEED_STRIDE);
+        final var faker = seeded.faker();
+        final int size = Math.min(chunkSize, count - index * chunkSize);
+        final var employees = new ArrayList<MockEmployee>(size);
+        for (int i = 0; i < size; i++) {
+            employees.add(MockEmployee.builder()
+                    .id(uuid(seeded.random()))
+                    .name(faker.name().fullName())
+                    .salary(faker.number().numberBetween(30000, 500000))
+                    .age(faker.number().numberBetween(16, 70))
+                    .title(faker.job().title())
+                    .email(ServerConfiguration.EMAIL_TEMPLATE.formatted(
+                            faker.twitter().userName().toLowerCase()))
+                    .build());
+        }
+        return employees;
+    }
+
+    /**
+     * Stores {@code count} generated employees in {@code repository}. With {@code lazy}, only the first chunk is stored
+     * before returning, so the server can start serving it, and the remaining chunks are generated in parallel on a
+     * background thread and stored in order, one write per chunk.
+     *
+     * @return completes once every employee is stored
+     */
+    public CompletableFuture<Void> populate(@NonNull MockEmployeeRepository repository, int count, boolean lazy) {
+        final long started = System.nanoTime();
+        final int chunks = chunks(count);
+        if (!lazy || chunks <= 1) {
+            repository.saveAll(generate(count));
+            generated(count, started);
+            return CompletableFuture.completedFuture(null);
+        }
+        repository.saveAll(chunk(0, count));
+        final var remaining = new CompletableFuture<Void>();
+        final var thread = new Thread(
+                () -> {
+                    try {
+                        IntStream.range(1, chunks)
+                                .parallel()
+                                .mapToObj(index -> chunk(index, count))
+                                .forEachOrdered(repository::saveAll);
+                        generated(count, started);
+                        remaining.complete(null);
+                    } catch (RuntimeException e) {
+                        log.error("Failed to generate employees", e);
+                        remaining.completeExceptionally(e);
+                    }
+                },
+                "employee-generator");
+        thread.setDaemon(true);
+        thread.start();
+        return remaining;
+    }
+
+    private void generated(int count, long started) {
+        log.info(
+                "Generated {} employees with seed {} in {}ms",
+                count,
+                seed,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    // Version 4 layout over seeded bits, so ids are reproducible too
+    private static UUID uuid(Random random) {
+        final long mostSigBits = (random.nextLong() & ~0xF000L) | 0x4000L;
+        final long leastSigBits = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    private record SeededFaker(Random random, Faker faker) {}
+}
@@ -1,25 +1,25 @@
 package com.reliaquest.server.config;
 
-import com.reliaquest.server.model.MockEmployee;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.reliaquest.server.repository.EmployeeJournal;
+import com.reliaquest.server.repository.MockEmployeeRepository;
 import com.reliaquest.server.web.RandomRequestLimitInterceptor;
-import java.util.ArrayList;
-import java.util.List;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Locale;
-import java.util.UUID;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
-import lombok.extern.slf4j.Slf4j;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
 import net.datafaker.Faker;
-import net.datafaker.transformations.Field;
-import net.datafaker.transformations.JavaObjectTransformer;
-import net.datafaker.transformations.Schema;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
-@Slf4j
 @Configuration
 public class ServerConfiguration implements WebMvcConfigurer {
 
@@ -31,25 +31,71 @@ public class ServerConfiguration implements WebMvcConfigurer {
     }
 
     /*
-     * This list is modifiable by design for CRUD operations.
+     * Opt-in persistence of the repository below, see EmployeeJournal. Closing it on shutdown forces the log to disk.
      */
     @Bean
-    public List<MockEmployee> mockEmployees(Faker faker, @Value("${mock.employees.max:20}") int maxEmployees) {
-        final var transformer = new JavaObjectTransformer();
-        final var schema = Schema.of(
-                Field.field("id", UUID::randomUUID),
-                Field.field("name", () -> faker.name().fullName()),
-                Field.field("salary", () -> faker.number().numberBetween(30000, 500000)),
-                Field.field("age", () -> faker.number().numberBetween(16, 70)),
-                Field.field("title", () -> faker.job().title()),
-                Field.field(
-                        "email",
-                        () -> EMAIL_TEMPLATE.formatted(
-                                faker.twitter().userName().toLowerCase())));
-        return IntStream.rangeClosed(1, maxEmployees)
-                .mapToObj(ignored -> (MockEmployee) transformer.apply(MockEmployee.class, schema))
-                .peek(mockEmployee -> log.debug("Created employee: {}", mockEmployee))
-                .collect(Collectors.toCollection(ArrayList::new));
+    @ConditionalOnProperty("mock.employees.persistence.enabled")
+    public EmployeeJournal employeeJournal(
+            @Value("${mock.employees.persistence.directory:data}") Path directory,
+            @Value("${mock.employees.persistence.fsync-interval:PT0.05S}") Duration fsyncInterval,
+            @Value("${mock.employees.persistence.snapshot-every:10000}") int snapshotEvery) {
+        return new EmployeeJournal(directory, fsyncInterval, snapshotEvery);
+    }
+
+    /*
+     * Seeds an empty roster. Without a configured seed a random one is used, and logged so the roster can be generated
+     * again.
+     */
+    @Bean
+    public MockEmployeeGenerator mockEmployeeGenerator(
+            @Value("${mock.employees.generation.seed:#{null}}") Long seed,
+            @Value("${mock.employees.generation.chunk-size:10000}") int chunkSize) {
+        return new MockEmployeeGenerator(
+                Locale.getDefault(),
+                seed != null ? seed : ThreadLocalRandom.current().nextLong(),
+                chunkSize);
+    }
+
+    /*
+     * This repository is modifiable by design for CRUD operations. With persistence enabled it is restored from disk,
+     * and only seeded the first time.
+     */
+    @Bean
+    public MockEmployeeRepository mockEmployeeRepository(
+            MockEmployeeGenerator mockEmployeeGenerator,
+            Optional<EmployeeJournal> employeeJournal,
+            @Value("${mock.employees.max:20}") int maxEmployees,
+            @Value("${mock.employees.generation.lazy:false}") boolean lazy,
+            @Value("${mock.employees.change-log.capacity:" + MockEmployeeRepository.DEFAULT_CHANGE_LOG_CAPACITY + "}")
+                    int changeLogCapacity) {
+        final var repository = new MockEmployeeRepository(changeLogCapacity);
+        final boolean restored =
+                employeeJournal.isPresent() && employeeJournal.get().restore(repository);
+        // Attached before seeding, so chunks still being generated in the background are logged too
+        employeeJournal.ifPresent(journal -> journal.attach(repository));
+        if (!restored) {
+            mockEmployeeGenerator.populate(repository, maxEmployees, lazy);
+        }
+        return repository;
+    }
+
+    /*
+     * Answers Accept: application/x-jackson-smile with Smile instead of JSON, with the same field names and envelope.
+     * Smile writes each repeated key such as employee_salary once and back-references it, ints as zigzag varints and,
+     * with 7-bit binary encoding off, UUIDs as 16 raw bytes. JSON stays the default for every other client.
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(
+            Jackson2ObjectMapperBuilder jackson2ObjectMapperBuilder) {
+        return new MappingJackson2SmileHttpMessageConverter(
+                jackson2ObjectMapperBuilder.factory(smileFactory()).build());
+    }
+
+    public static SmileFactory smileFactory() {
+        return SmileFactory.builder()
+                .disable(SmileGenerator.Feature.ENCODE_BINARY_AS_7BIT)
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
     }
 
     @Override
@@ -1,34 +1,179 @@
 package com.reliaquest.server.controller;
 
+import com.reliaquest.server.model.BulkResult;
+import com.reliaquest.server.model.ChangeFeed;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.EmployeePage;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeFields;
 import com.reliaquest.server.model.Response;
 import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.web.EmployeeChangeStream;
+import com.reliaquest.server.web.EncodedListingCache;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api/v1/employee")
 @RequiredArgsConstructor
 public class MockEmployeeController {
 
+    static final int MAX_BATCH_IDS = 1000;
+    static final int MAX_BULK_ITEMS = 1000;
+    static final int MAX_PAGE_SIZE = 1000;
+    static final int MAX_CHANGES = 1000;
+
+    // Change version the listing is at; pass it as ?since= to /changes to follow later writes
+    public static final String CHANGE_VERSION_HEADER = "X-Change-Version";
+
     private final MockEmployeeService mockEmployeeService;
 
+    private final Validator validator;
+
+    private final EmployeeChangeStream employeeChangeStream;
+
+    private final EncodedListingCache encodedListingCache;
+
+    /*
+     * The full listing, served from bytes encoded once per version of the roster: JSON or, when the client prefers it,
+     * Smile, gzipped up front for clients that accept it. Each body carries a strong ETag of its own, and a request
+     * whose If-None-Match still lists it is answered 304 without encoding anything.
+     */
     @GetMapping()
-    public Response<List<MockEmployee>> getEmployees() {
-        return Response.handledWith(mockEmployeeService.getMockEmployees());
+    public ResponseEntity<byte[]> getEmployees(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // Read before the listing, which then holds at least every change up to this version
+        final long changeVersion = mockEmployeeService.getChangeVersion();
+        final var employees = mockEmployeeService.getMockEmployees();
+        final var format = EncodedListingCache.Format.negotiate(accept);
+        final var gzip = EncodedListingCache.acceptsGzip(acceptEncoding);
+        final var etag = encodedListingCache.etag(changeVersion, format, gzip);
+        final var headers = new HttpHeaders();
+        headers.set(CHANGE_VERSION_HEADER, Long.toString(changeVersion));
+        headers.setVary(List.of(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING));
+        headers.setETag(etag);
+        if (EncodedListingCache.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .headers(headers)
+                    .build();
+        }
+        final var encoded = encodedListingCache.get(changeVersion, employees, format);
+        headers.setContentType(encoded.contentType());
+        if (gzip) {
+            // Already compressed, which also keeps the container's own response compression off this body
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+            return ResponseEntity.ok().headers(headers).body(encoded.gzipped());
+        }
+        return ResponseEntity.ok().headers(headers).body(encoded.body());
+    }
+
+    /*
+     * Change feed, e.g. ?since=42: the creates and deletes after version 42 in the order they happened, at most limit
+     * at a time. A resync answer means the changes after that version are no longer retained and the listing has to be
+     * loaded again.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<Response<ChangeFeed>> getChanges(
+            @RequestParam("since") long since,
+            @RequestParam(value = "limit", defaultValue = "" + MAX_CHANGES) int limit) {
+        if (limit < 1 || limit > MAX_CHANGES) {
+            return ResponseEntity.badRequest()
+                    .body(Response.error("limit must be between 1 and %d.".formatted(MAX_CHANGES)));
+        }
+        return ResponseEntity.ok(Response.handledWith(mockEmployeeService.getChangesSince(since, limit)));
+    }
+
+    /*
+     * Keyset pagination over the listing, e.g. ?limit=500, then &cursor= with each page's next_cursor until a page has
+     * none. Adding fields=id,employee_salary returns only those fields of each employee.
+     */
+    @GetMapping(params = {"limit", "!ids"})
+    public ResponseEntity<Response<EmployeePage<?>>> getEmployeePage(
+            @RequestParam("limit") int limit,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "fields", required = false) List<String> fields) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest()
+                    .body(Response.error("limit must be between 1 and %d.".formatted(MAX_PAGE_SIZE)));
+        }
+        final long after;
+        final MockEmployeeFields projection;
+        try {
+            after = decodeCursor(cursor);
+            projection = fields == null ? null : MockEmployeeFields.of(fields);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Response.error(e.getMessage()));
+        }
+        final long changeVersion = mockEmployeeService.getChangeVersion();
+        final var page = mockEmployeeService.getMockEmployeePage(after, limit);
+        final List<?> items = projection == null ? page.employees() : projection.project(page.employees());
+        final var nextCursor = page.next() == null ? null : encodeCursor(page.next());
+        return ResponseEntity.ok()
+                .header(CHANGE_VERSION_HEADER, Long.toString(changeVersion))
+                .body(Response.handledWith(new EmployeePage<>(items, nextCursor)));
+    }
+
+    /*
+     * Server-Sent Events stream of creates and deletes, each with its change version as the event id. Reconnecting
+     * with Last-Event-ID (or ?since= on the first connection) resumes after that version.
+     */
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+            @RequestParam(value = "since", required = false) Long since) {
+        return employeeChangeStream.subscribe(lastEventId != null ? lastEventId : since);
+    }
+
+    // The full listing with only the requested fields, e.g. ?fields=id,employee_salary
+    @GetMapping(params = {"fields", "!limit", "!ids"})
+    public ResponseEntity<Response<List<Map<String, Object>>>> getEmployeeFields(
+            @RequestParam("fields") List<String> fields) {
+        final MockEmployeeFields projection;
+        try {
+            projection = MockEmployeeFields.of(fields);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Response.error(e.getMessage()));
+        }
+        return ResponseEntity.ok(Response.handledWith(projection.project(mockEmployeeService.getMockEmployees())));
+    }
+
+    /*
+     * Batch lookup, e.g. ?ids=a,b,c. Known employees are returned in request order and unknown ids are left out, so
+     * one request replaces a GET per id.
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<Response<List<MockEmployee>>> getEmployeesById(@RequestParam("ids") List<UUID> uuids) {
+        if (uuids.size() > MAX_BATCH_IDS) {
+            return ResponseEntity.badRequest()
+                    .body(Response.error("At most %d ids per request.".formatted(MAX_BATCH_IDS)));
+        }
+        return ResponseEntity.ok(Response.handledWith(mockEmployeeService.findAllById(uuids)));
     }
 
     @GetMapping("/{id}")
@@ -48,4 +193,76 @@ public class MockEmployeeController {
     public Response<Boolean> deleteEmployee(@Valid @RequestBody DeleteMockEmployeeInput input) {
         return Response.handledWith(mockEmployeeService.delete(input));
     }
+
+    /*
+     * Bulk variants of create and delete. Each item is validated on its own; the valid ones are applied in a single
+     * store write and every item gets a result at its position, so one bad item does not fail the rest.
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<Response<List<BulkResult<MockEmployee>>>> createEmployees(
+            @RequestBody List<CreateMockEmployeeInput> inputs) {
+        if (inputs.size() > MAX_BULK_ITEMS) {
+            return ResponseEntity.badRequest().body(tooManyItems());
+        }
+        return ResponseEntity.ok(Response.handledWith(applyValid(inputs, mockEmployeeService::createAll)));
+    }
+
+    @DeleteMapping("/bulk")
+    public ResponseEntity<Response<List<BulkResult<Boolean>>>> deleteEmployees(
+            @RequestBody List<DeleteMockEmployeeInput> inputs) {
+        if (inputs.size() > MAX_BULK_ITEMS) {
+            return ResponseEntity.badRequest().body(tooManyItems());
+        }
+        return ResponseEntity.ok(Response.handledWith(applyValid(inputs, mockEmployeeService::deleteAll)));
+    }
+
+    private <I, O> List<BulkResult<O>> applyValid(List<I> inputs, Function<List<I>, List<O>> apply) {
+        final var errors = inputs.stream().map(this::violations).toList();
+        final var valid = new ArrayList<I>(inputs.size());
+        for (int i = 0; i < inputs.size(); i++) {
+            if (errors.get(i) == null) {
+                valid.add(inputs.get(i));
+            }
+        }
+        final var applied = apply.apply(valid).iterator();
+        return errors.stream()
+                .map(error -> error == null ? BulkResult.applied(applied.next()) : BulkResult.<O>rejected(error))
+                .toList();
+    }
+
+    private String violations(Object input) {
+        if (input == null) {
+            return "Item is null.";
+        }
+        final var violations = validator.validate(input);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    // Cursors are opaque to clients: the url-safe base64 of the last insertion position served
+    private static String encodeCursor(long position) {
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(Long.toString(position).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor '%s'.".formatted(cursor), e);
+        }
+    }
+
+    private static <T> Response<T> tooManyItems() {
+        return Response.error("At most %d items per request.".formatted(MAX_BULK_ITEMS));
+    }
 }
@@ -0,0 +1,18 @@
+package com.reliaquest.server.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome of one item of a bulk request: its data when applied, otherwise why it was rejected.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BulkResult<T>(T data, String error) {
+
+    public static <T> BulkResult<T> applied(T data) {
+        return new BulkResult<>(data, null);
+    }
+
+    public static <T> BulkResult<T> rejected(String error) {
+        return new BulkResult<>(null, error);
+    }
+}
@@ -0,0 +1,18 @@
+package com.reliaquest.server.model;
+
+import java.util.List;
+
+/**
+ * Answer to "changes since version N".
+ *
+ * @param version the version the client is at after applying {@code changes}, to pass as {@code since} next time
+ * @param resync whether the requested version is no longer retained (or was never issued) so the client has to reload
+ *     the full listing; {@code changes} is then empty and {@code version} is the current one
+ * @param more whether further changes are already available past {@code version}
+ */
+public record ChangeFeed(long version, boolean resync, boolean more, List<EmployeeChange> changes) {
+
+    public static ChangeFeed resync(long version) {
+        return new ChangeFeed(version, true, false, List.of());
+    }
+}
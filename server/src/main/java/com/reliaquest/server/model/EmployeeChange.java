@@ -0,0 +1,21 @@
+package com.reliaquest.server.model;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+import java.util.Locale;
+
+/**
+ * One write to the employee store. Versions start at 1 and increase by one per change, so a client that has applied
+ * every change up to {@code version} can ask for the ones after it.
+ */
+public record EmployeeChange(long version, Type type, MockEmployee employee) {
+
+    public enum Type {
+        CREATED,
+        DELETED;
+
+        @JsonValue
+        public String value() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.reliaquest.server.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+
+/**
+ * One page of the employee listing. {@code next_cursor} is absent on the last page.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record EmployeePage<T>(List<T> items, @JsonProperty("next_cursor") String nextCursor) {}
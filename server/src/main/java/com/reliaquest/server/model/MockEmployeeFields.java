@@ -0,0 +1,56 @@
+package com.reliaquest.server.model;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Field projection of {@link MockEmployee} for {@code fields=} queries, keyed by the JSON names the
+ * {@link MockEmployee.PrefixNamingStrategy} produces. Projected employees serialize as maps holding only the requested
+ * keys, in the order they were requested.
+ */
+public final class MockEmployeeFields {
+
+    private static final Map<String, Function<MockEmployee, Object>> FIELDS = Map.of(
+            "id", MockEmployee::getId,
+            "employee_name", MockEmployee::getName,
+            "employee_salary", MockEmployee::getSalary,
+            "employee_age", MockEmployee::getAge,
+            "employee_title", MockEmployee::getTitle,
+            "employee_email", MockEmployee::getEmail);
+
+    private final List<String> names;
+    private final List<Function<MockEmployee, Object>> accessors;
+
+    private MockEmployeeFields(List<String> names) {
+        this.names = names;
+        this.accessors = names.stream().map(FIELDS::get).toList();
+    }
+
+    /**
+     * @throws IllegalArgumentException if a name is not a field of {@link MockEmployee}
+     */
+    public static MockEmployeeFields of(List<String> names) {
+        final var distinct = names.stream().map(String::trim).distinct().toList();
+        for (String name : distinct) {
+            if (!FIELDS.containsKey(name)) {
+                throw new IllegalArgumentException("Unknown field '%s', expected one of %s."
+                        .formatted(name, FIELDS.keySet().stream().sorted().toList()));
+            }
+        }
+        return new MockEmployeeFields(distinct);
+    }
+
+    public Map<String, Object> project(MockEmployee employee) {
+        final var projected = new LinkedHashMap<String, Object>(names.size() * 2);
+        for (int i = 0; i < names.size(); i++) {
+            projected.put(names.get(i), accessors.get(i).apply(employee));
+        }
+        return projected;
+    }
+
+    public List<Map<String, Object>> project(List<MockEmployee> employees) {
+        return employees.stream().map(this::project).toList();
+    }
+}
@@ -0,0 +1,54 @@
+package com.reliaquest.server.repository;
+
+import com.reliaquest.server.model.ChangeFeed;
+import com.reliaquest.server.model.EmployeeChange;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+
+/**
+ * Bounded, versioned log of the last {@code capacity} changes to a {@link MockEmployeeRepository}, kept in a ring
+ * buffer. Version {@code v} lives in slot {@code (v - 1) % capacity}, so appending overwrites the oldest change and
+ * reading a range is a walk over consecutive slots.
+ */
+public class ChangeLog {
+
+    private final EmployeeChange[] changes;
+    private long latest;
+
+    public ChangeLog(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.changes = new EmployeeChange[capacity];
+    }
+
+    synchronized void append(EmployeeChange.Type type, MockEmployee employee) {
+        latest++;
+        changes[slot(latest)] = new EmployeeChange(latest, type, employee);
+    }
+
+    public synchronized long latest() {
+        return latest;
+    }
+
+    /**
+     * @return up to {@code limit} changes after version {@code since}, or a resync when changes after it have already
+     *     been overwritten or {@code since} is ahead of this log, e.g. after a server restart
+     */
+    public synchronized ChangeFeed since(long since, int limit) {
+        final long oldest = Math.max(1, latest - changes.length + 1);
+        if (since < oldest - 1 || since > latest) {
+            return ChangeFeed.resync(latest);
+        }
+        final long until = Math.min(latest, since + limit);
+        final var page = new ArrayList<EmployeeChange>((int) (until - since));
+        for (long version = since + 1; version <= until; version++) {
+            page.add(changes[slot(version)]);
+        }
+        return new ChangeFeed(until, false, until < latest, page);
+    }
+
+    private int slot(long version) {
+        return (int) ((version - 1) % changes.length);
+    }
+}
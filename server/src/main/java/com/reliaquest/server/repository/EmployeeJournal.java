@@ -0,0 +1,470 @@
+package com.reliaquest.server.repository;
+
+import com.reliaquest.server.model.EmployeeChange;
+import com.reliaquest.server.model.MockEmployee;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * On-disk copy of a {@link MockEmployeeRepository}, so creates and deletes survive a restart and a large roster is not
+ * generated again on every boot.
+ *
+ * <p>Every write is appended to a write-ahead log as one length-prefixed, CRC-checked record before the repository
+ * applies it: the created employees in full, or the ids of the deleted ones. A record that fails to be written or
+ * forced is cut off the log again, and the write fails without being applied. Once {@code snapshotEvery} employees
+ * have been logged, the next write first rotates the log under the write lock, and a background thread writes the
+ * roster as of the rotation to a compact binary snapshot that atomically replaces the previous one, then deletes the
+ * logs it covers.
+ *
+ * <p>{@link #restore} maps the snapshot read-only and decodes employees straight from the page cache, then replays the
+ * logs written after it, which are short by construction and read into memory. A record torn by a crash ends the
+ * replay and is truncated.
+ *
+ * <p>With a zero {@code fsyncInterval} each record is forced to disk before its write is acknowledged. Otherwise the
+ * log is forced by the background thread at that interval: a process crash loses nothing, while a machine crash loses
+ * at most the writes of the last interval.
+ */
+@Slf4j
+public class EmployeeJournal implements MockEmployeeRepository.Journal, Closeable {
+
+    private static final String SNAPSHOT = "employees.snapshot";
+    private static final String LOG_PREFIX = "employees-";
+    private static final String LOG_SUFFIX = ".wal";
+
+    // Magic "MEMP", format version, generation of the last log covered, employee count, CRC-32 of the employees
+    private static final int MAGIC = 0x4D454D50;
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = 24;
+    // Record length and CRC-32 of the record
+    private static final int FRAME_BYTES = 8;
+
+    private static final int NULL_STRING = -1;
+    private static final int NULL_INT = Integer.MIN_VALUE;
+
+    private final Path directory;
+    private final boolean syncEachWrite;
+    private final int snapshotEvery;
+    private final AtomicBoolean unsynced = new AtomicBoolean();
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final var thread = new Thread(runnable, "employee-journal");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Guarded by the repository's write lock once attached
+    private MockEmployeeRepository repository;
+    private volatile FileChannel wal;
+    private long generation;
+    private int logged;
+
+    private boolean snapshotted;
+    private int replayed;
+
+    public EmployeeJournal(@NonNull Path directory, @NonNull Duration fsyncInterval, int snapshotEvery) {
+        if (snapshotEvery < 1) {
+            throw new IllegalArgumentException("snapshotEvery must be positive");
+        }
+        this.directory = directory;
+        this.syncEachWrite = fsyncInterval.isZero();
+        this.snapshotEvery = snapshotEvery;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create " + directory, e);
+        }
+        if (!syncEachWrite) {
+            executor.scheduleWithFixedDelay(
+                    this::sync, fsyncInterval.toMillis(), fsyncInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Loads the stored roster into an empty {@code repository}.
+     *
+     * @return whether anything was stored; if not, the repository is left untouched for the caller to seed
+     */
+    public boolean restore(@NonNull MockEmployeeRepository repository) {
+        final long started = System.nanoTime();
+        final var employees = new LinkedHashMap<UUID, MockEmployee>();
+        try {
+            final long covered = readSnapshot(employees);
+            snapshotted = covered >= 0;
+            generation = Math.max(covered, 0);
+            for (long logGeneration : logGenerations()) {
+                if (logGeneration <= covered) {
+                    // Left behind by a crash between writing a snapshot and deleting the logs it covers
+                    Files.deleteIfExists(logPath(logGeneration));
+                    continue;
+                }
+                replayed += replay(logPath(logGeneration), employees);
+                generation = logGeneration;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to restore employees from " + directory, e);
+        }
+        if (!snapshotted && replayed == 0) {
+            return false;
+        }
+        repository.saveAll(List.copyOf(employees.values()));
+        log.info(
+                "Restored {} employees from {} ({} logged records) in {}ms",
+                employees.size(),
+                directory,
+                replayed,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        return true;
+    }
+
+    /**
+     * Starts logging the writes to {@code repository}, restored or still empty. Call it before the repository takes
+     * writes; whatever it holds by then is snapshotted in the background unless the snapshot on disk already has it.
+     */
+    public void attach(@NonNull MockEmployeeRepository repository) {
+        this.repository = repository;
+        final long covered = generation;
+        openLog(covered + 1);
+        if (!snapshotted || replayed > 0) {
+            snapshot(repository.findAll(), covered);
+        }
+        repository.journal(this);
+    }
+
+    @Override
+    public void append(EmployeeChange.Type type, List<MockEmployee> employees) {
+        if (logged >= snapshotEvery) {
+            // The write lock is held and every logged write is applied, so the listing holds exactly the logged writes
+            final long covered = generation;
+            openLog(covered + 1);
+            snapshot(repository.findAll(), covered);
+        }
+        final var record = frame(type, employees);
+        long start = -1;
+        try {
+            start = wal.size();
+            while (record.hasRemaining()) {
+                wal.write(record);
+            }
+            if (syncEachWrite) {
+                wal.force(false);
+            } else {
+                unsynced.set(true);
+            }
+        } catch (IOException e) {
+            discard(start, e);
+            throw new UncheckedIOException("Failed to log employee changes", e);
+        }
+        logged += employees.size();
+    }
+
+    /**
+     * Waits for a pending snapshot and forces the log to disk.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                log.warn("Gave up waiting for the employee snapshot");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        final var current = wal;
+        if (current != null) {
+            try (current) {
+                current.force(false);
+            } catch (IOException e) {
+                log.warn("Failed to close the employee log", e);
+            }
+        }
+    }
+
+    // The write is failing, so a partial or unforced record must not be replayed after a restart either
+    private void discard(long start, IOException failure) {
+        if (start < 0) {
+            return;
+        }
+        try {
+            wal.truncate(start);
+        } catch (IOException e) {
+            failure.addSuppressed(e);
+        }
+    }
+
+    private void sync() {
+        if (!unsynced.getAndSet(false)) {
+            return;
+        }
+        try {
+            wal.force(false);
+        } catch (ClosedChannelException e) {
+            // Rotated away, and rotating forced it
+        } catch (IOException e) {
+            unsynced.set(true);
+            log.warn("Failed to sync the employee log", e);
+        }
+    }
+
+    private void openLog(long next) {
+        final var previous = wal;
+        try {
+            wal = FileChannel.open(
+                    logPath(next), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            if (previous != null) {
+                try (previous) {
+                    previous.force(false);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to rotate the employee log", e);
+        }
+        generation = next;
+        logged = 0;
+    }
+
+    private void snapshot(List<MockEmployee> employees, long covered) {
+        executor.execute(() -> {
+            try {
+                final long started = System.nanoTime();
+                writeSnapshot(employees, covered);
+                for (long logGeneration : logGenerations()) {
+                    if (logGeneration <= covered) {
+                        Files.deleteIfExists(logPath(logGeneration));
+                    }
+                }
+                log.debug(
+                        "Snapshotted {} employees in {}ms",
+                        employees.size(),
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+            } catch (IOException | RuntimeException e) {
+                // The logs stay, so a restart still replays everything the snapshot would have covered
+                log.error("Failed to snapshot employees", e);
+            }
+        });
+    }
+
+    private void writeSnapshot(List<MockEmployee> employees, long covered) throws IOException {
+        final var temporary = directory.resolve(SNAPSHOT + ".tmp");
+        try (var channel = FileChannel.open(
+                temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.position(HEADER_BYTES);
+            final var checksum = new CRC32();
+            final var out = new DataOutputStream(new BufferedOutputStream(
+                    new CheckedOutputStream(Channels.newOutputStream(channel), checksum), 64 * 1024));
+            for (MockEmployee employee : employees) {
+                writeEmployee(out, employee);
+            }
+            out.flush();
+            final var header = ByteBuffer.allocate(HEADER_BYTES)
+                    .putInt(MAGIC)
+                    .putInt(FORMAT_VERSION)
+                    .putLong(covered)
+                    .putInt(employees.size())
+                    .putInt((int) checksum.getValue())
+                    .flip();
+            channel.write(header, 0);
+            channel.force(true);
+        }
+        Files.move(
+                temporary,
+                directory.resolve(SNAPSHOT),
+                StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * @return the generation of the last log the snapshot covers, or {@code -1} without a snapshot
+     */
+    private long readSnapshot(Map<UUID, MockEmployee> employees) throws IOException {
+        final var path = directory.resolve(SNAPSHOT);
+        if (!Files.exists(path)) {
+            return -1;
+        }
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < HEADER_BYTES || buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                throw new IOException("Not an employee snapshot: " + path);
+            }
+            final long covered = buffer.getLong();
+            final int count = buffer.getInt();
+            final int checksum = buffer.getInt();
+            final var crc = new CRC32();
+            crc.update(buffer.duplicate());
+            if ((int) crc.getValue() != checksum) {
+                throw new IOException("Corrupt employee snapshot: " + path);
+            }
+            for (int i = 0; i < count; i++) {
+                final var employee = readEmployee(buffer);
+                employees.put(employee.getId(), employee);
+            }
+            return covered;
+        }
+    }
+
+    /**
+     * Applies a log's records to {@code employees} the way the repository applied them, truncating a torn tail.
+     *
+     * @return how many records were applied
+     */
+    private static int replay(Path path, Map<UUID, MockEmployee> employees) throws IOException {
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // Read rather than mapped, so a torn tail can be truncated without a live mapping of the file
+            final var buffer = ByteBuffer.allocate(Math.toIntExact(channel.size()));
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {}
+            buffer.flip();
+            int records = 0;
+            while (buffer.remaining() >= FRAME_BYTES) {
+                final int start = buffer.position();
+                final int length = buffer.getInt();
+                final int checksum = buffer.getInt();
+                if (length < 1 || length > buffer.remaining()) {
+                    buffer.position(start);
+                    break;
+                }
+                final var record = buffer.slice(buffer.position(), length);
+                final var crc = new CRC32();
+                crc.update(record.duplicate());
+                if ((int) crc.getValue() != checksum) {
+                    buffer.position(start);
+                    break;
+                }
+                apply(record, employees);
+                buffer.position(buffer.position() + length);
+                records++;
+            }
+            if (buffer.hasRemaining()) {
+                log.warn("Truncating {} torn bytes off {}", buffer.remaining(), path);
+                channel.truncate(buffer.position());
+            }
+            return records;
+        }
+    }
+
+    private static void apply(ByteBuffer record, Map<UUID, MockEmployee> employees) {
+        final var type = EmployeeChange.Type.values()[record.get()];
+        final int count = record.getInt();
+        for (int i = 0; i < count; i++) {
+            if (type == EmployeeChange.Type.CREATED) {
+                final var employee = readEmployee(record);
+                // A stored id is replaced and moves to the end, as MockEmployeeRepository#save does
+                employees.remove(employee.getId());
+                employees.put(employee.getId(), employee);
+            } else {
+                employees.remove(new UUID(record.getLong(), record.getLong()));
+            }
+        }
+    }
+
+    private static ByteBuffer frame(EmployeeChange.Type type, List<MockEmployee> employees) {
+        final var bytes = new ByteArrayOutputStream(employees.size() * 96);
+        try (var out = new DataOutputStream(bytes)) {
+            out.writeByte(type.ordinal());
+            out.writeInt(employees.size());
+            for (MockEmployee employee : employees) {
+                if (type == EmployeeChange.Type.CREATED) {
+                    writeEmployee(out, employee);
+                } else {
+                    out.writeLong(employee.getId().getMostSignificantBits());
+                    out.writeLong(employee.getId().getLeastSignificantBits());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        final byte[] record = bytes.toByteArray();
+        final var crc = new CRC32();
+        crc.update(record);
+        return ByteBuffer.allocate(FRAME_BYTES + record.length)
+                .putInt(record.length)
+                .putInt((int) crc.getValue())
+                .put(record)
+                .flip();
+    }
+
+    private static void writeEmployee(DataOutputStream out, MockEmployee employee) throws IOException {
+        out.writeLong(employee.getId().getMostSignificantBits());
+        out.writeLong(employee.getId().getLeastSignificantBits());
+        writeString(out, employee.getName());
+        out.writeInt(employee.getSalary() == null ? NULL_INT : employee.getSalary());
+        out.writeInt(employee.getAge() == null ? NULL_INT : employee.getAge());
+        writeString(out, employee.getTitle());
+        writeString(out, employee.getEmail());
+    }
+
+    private static MockEmployee readEmployee(ByteBuffer buffer) {
+        return new MockEmployee(
+                new UUID(buffer.getLong(), buffer.getLong()),
+                readString(buffer),
+                readInt(buffer),
+                readInt(buffer),
+                readString(buffer),
+                readString(buffer));
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(NULL_STRING);
+            return;
+        }
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        final int length = buffer.getInt();
+        if (length == NULL_STRING) {
+            return null;
+        }
+        final var bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static Integer readInt(ByteBuffer buffer) {
+        final int value = buffer.getInt();
+        return value == NULL_INT ? null : value;
+    }
+
+    private List<Long> logGenerations() throws IOException {
+        try (var files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(LOG_PREFIX) && name.endsWith(LOG_SUFFIX))
+                    .map(name -> name.substring(LOG_PREFIX.length(), name.length() - LOG_SUFFIX.length()))
+                    .filter(number -> !number.isEmpty() && number.chars().allMatch(Character::isDigit))
+                    .map(Long::parseLong)
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private Path logPath(long logGeneration) {
+        return directory.resolve(LOG_PREFIX + logGeneration + LOG_SUFFIX);
+    }
+}
@@ -0,0 +1,313 @@
+package com.reliaquest.server.repository;
+
+import com.reliaquest.server.model.ChangeFeed;
+import com.reliaquest.server.model.EmployeeChange;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.NonNull;
+
+/**
+ * Thread-safe, indexed store of mock employees.
+ *
+ * <p>Lookups by id go through a {@link ConcurrentHashMap}; lookups by name through a lower-cased secondary index.
+ * Writers are serialized by a single lock while readers never lock: {@link #findAll()} returns an immutable
+ * copy-on-write snapshot in insertion order that is rebuilt lazily, once per burst of writes.
+ *
+ * <p>Every stored or removed employee is also recorded in a {@link ChangeLog}, so clients holding a copy of the
+ * listing can catch up with {@link #changesSince(long, int)} instead of downloading it again. Listeners registered
+ * with {@link #onChange(Runnable)} are told after each write that logged changes.
+ *
+ * <p>A {@link Journal} installed with {@link #journal(Journal)} is handed every write under the write lock, before the
+ * write is applied, so it sees writes in the order they are applied and a write it fails to record leaves no trace.
+ */
+public class MockEmployeeRepository {
+
+    public static final int DEFAULT_CHANGE_LOG_CAPACITY = 10_000;
+
+    /**
+     * Durable record of the writes to a repository, such as {@link EmployeeJournal}.
+     */
+    public interface Journal {
+
+        /**
+         * Called with the write lock held, before the write is applied; a failure fails the write's caller and leaves
+         * the repository unchanged.
+         *
+         * @param employees the employees one write created or deleted, never empty
+         */
+        void append(EmployeeChange.Type type, List<MockEmployee> employees);
+    }
+
+    private final Map<UUID, Entry> byId = new ConcurrentHashMap<>();
+    private final Map<String, ArrayDeque<Entry>> byName = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Long, MockEmployee> inInsertionOrder = new ConcurrentSkipListMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong version = new AtomicLong();
+
+    private final ChangeLog changeLog;
+    private final List<Runnable> changeListeners = new CopyOnWriteArrayList<>();
+
+    // Guarded by writeLock
+    private Journal journal;
+
+    private volatile Snapshot snapshot = new Snapshot(0, List.of());
+
+    public MockEmployeeRepository() {
+        this(DEFAULT_CHANGE_LOG_CAPACITY);
+    }
+
+    public MockEmployeeRepository(int changeLogCapacity) {
+        this.changeLog = new ChangeLog(changeLogCapacity);
+    }
+
+    public List<MockEmployee> findAll() {
+        final var current = snapshot;
+        final long currentVersion = version.get();
+        if (current.version() == currentVersion) {
+            return current.employees();
+        }
+        // Concurrent writes between the version read and the copy only cost another rebuild on the next read.
+        final var rebuilt = new Snapshot(currentVersion, List.copyOf(inInsertionOrder.values()));
+        snapshot = rebuilt;
+        return rebuilt.employees();
+    }
+
+    public Optional<MockEmployee> findById(@NonNull UUID id) {
+        return Optional.ofNullable(byId.get(id)).map(Entry::employee);
+    }
+
+    /**
+     * Keyset page over insertion order: employees stored after position {@code after}, which is {@code 0} for the
+     * first page or a previous page's {@link Page#next()}. Positions never shift, so concurrent writes neither repeat
+     * nor skip employees that stay stored while a client pages through.
+     */
+    public Page findPage(long after, int limit) {
+        final var employees = new ArrayList<MockEmployee>(limit);
+        long last = after;
+        for (var entry : inInsertionOrder.tailMap(after, false).entrySet()) {
+            if (employees.size() == limit) {
+                return new Page(employees, last);
+            }
+            employees.add(entry.getValue());
+            last = entry.getKey();
+        }
+        return new Page(employees, null);
+    }
+
+    /**
+     * @return the stored employees among {@code ids}, in the order of their first occurrence; unknown ids are skipped
+     */
+    public List<MockEmployee> findAllById(@NonNull Collection<UUID> ids) {
+        return ids.stream()
+                .distinct()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .map(Entry::employee)
+                .toList();
+    }
+
+    public int count() {
+        return byId.size();
+    }
+
+    /**
+     * Version of the latest change. Read it before {@link #findAll()}: the listing then reflects at least every change
+     * up to it, and later changes can be applied on top with {@link #changesSince(long, int)}.
+     */
+    public long changeVersion() {
+        return changeLog.latest();
+    }
+
+    public ChangeFeed changesSince(long version, int limit) {
+        return changeLog.since(version, limit);
+    }
+
+    /**
+     * Registers {@code listener} to run on the writing thread after each write that logged changes, outside the write
+     * lock. It should only hand off work, e.g. wake up a thread that reads {@link #changesSince(long, int)}.
+     */
+    public void onChange(@NonNull Runnable listener) {
+        changeListeners.add(listener);
+    }
+
+    /**
+     * Hands every following write to {@code journal}; writes already applied are not replayed to it.
+     */
+    public void journal(@NonNull Journal journal) {
+        writeLock.lock();
+        try {
+            this.journal = journal;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public MockEmployee save(@NonNull MockEmployee employee) {
+        Objects.requireNonNull(employee.getId(), "id");
+        writeLock.lock();
+        try {
+            appendToJournal(EmployeeChange.Type.CREATED, List.of(employee));
+            insert(employee);
+            version.incrementAndGet();
+            // Logged after the version bump, so a listing read after seeing a change version always holds the change
+            changeLog.append(EmployeeChange.Type.CREATED, employee);
+        } finally {
+            writeLock.unlock();
+        }
+        changed();
+        return employee;
+    }
+
+    public void saveAll(@NonNull Collection<MockEmployee> employees) {
+        employees.forEach(employee -> Objects.requireNonNull(employee.getId(), "id"));
+        writeLock.lock();
+        try {
+            appendToJournal(EmployeeChange.Type.CREATED, List.copyOf(employees));
+            employees.forEach(this::insert);
+            version.incrementAndGet();
+            employees.forEach(employee -> changeLog.append(EmployeeChange.Type.CREATED, employee));
+        } finally {
+            writeLock.unlock();
+        }
+        if (!employees.isEmpty()) {
+            changed();
+        }
+    }
+
+    /**
+     * Removes the earliest stored employee whose name matches, ignoring case.
+     */
+    public Optional<MockEmployee> deleteFirstByName(@NonNull String name) {
+        final Optional<MockEmployee> removed;
+        writeLock.lock();
+        try {
+            final var entry = firstByNames(List.of(name)).get(0);
+            removed = entry.map(Entry::employee);
+            if (entry.isPresent()) {
+                appendToJournal(EmployeeChange.Type.DELETED, List.of(removed.get()));
+                remove(entry.get());
+                version.incrementAndGet();
+                changeLog.append(EmployeeChange.Type.DELETED, removed.get());
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        if (removed.isPresent()) {
+            changed();
+        }
+        return removed;
+    }
+
+    /**
+     * Applies {@link #deleteFirstByName(String)} to each name in order, as a single write.
+     *
+     * @return what each name removed, at the name's position
+     */
+    public List<Optional<MockEmployee>> deleteFirstByNames(@NonNull List<String> names) {
+        final List<Optional<MockEmployee>> removed;
+        writeLock.lock();
+        try {
+            final var entries = firstByNames(names);
+            removed = entries.stream().map(entry -> entry.map(Entry::employee)).toList();
+            appendToJournal(
+                    EmployeeChange.Type.DELETED,
+                    removed.stream().flatMap(Optional::stream).toList());
+            entries.forEach(entry -> entry.ifPresent(this::remove));
+            version.incrementAndGet();
+            removed.forEach(
+                    employee -> employee.ifPresent(deleted -> changeLog.append(EmployeeChange.Type.DELETED, deleted)));
+        } finally {
+            writeLock.unlock();
+        }
+        if (removed.stream().anyMatch(Optional::isPresent)) {
+            changed();
+        }
+        return removed;
+    }
+
+    private void appendToJournal(EmployeeChange.Type type, List<MockEmployee> employees) {
+        if (journal != null && !employees.isEmpty()) {
+            journal.append(type, employees);
+        }
+    }
+
+    private void changed() {
+        changeListeners.forEach(Runnable::run);
+    }
+
+    /**
+     * @return the entry each name would remove if the names were deleted one after another, without removing any: a
+     *     name repeated in {@code names} takes the next-earliest match each time
+     */
+    private List<Optional<Entry>> firstByNames(List<String> names) {
+        final var taken = new HashMap<String, Integer>();
+        return names.stream()
+                .map(name -> {
+                    final var key = nameKey(name);
+                    final int skip = taken.merge(key, 1, Integer::sum) - 1;
+                    final var entries = byName.get(key);
+                    return entries == null
+                            ? Optional.<Entry>empty()
+                            : entries.stream().skip(skip).findFirst();
+                })
+                .toList();
+    }
+
+    private void insert(MockEmployee employee) {
+        Objects.requireNonNull(employee.getId(), "id");
+        final var previous = byId.get(employee.getId());
+        if (previous != null) {
+            remove(previous);
+        }
+        final var entry = new Entry(sequence.incrementAndGet(), employee);
+        byId.put(employee.getId(), entry);
+        inInsertionOrder.put(entry.sequence(), employee);
+        if (employee.getName() != null) {
+            byName.computeIfAbsent(nameKey(employee.getName()), ignored -> new ArrayDeque<>())
+                    .addLast(entry);
+        }
+    }
+
+    private void remove(Entry entry) {
+        byId.remove(entry.employee().getId());
+        inInsertionOrder.remove(entry.sequence());
+        if (entry.employee().getName() != null) {
+            final var key = nameKey(entry.employee().getName());
+            final var entries = byName.get(key);
+            if (entries != null) {
+                entries.remove(entry);
+                if (entries.isEmpty()) {
+                    byName.remove(key);
+                }
+            }
+        }
+    }
+
+    private static String nameKey(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    private record Entry(long sequence, MockEmployee employee) {}
+
+    private record Snapshot(long version, List<MockEmployee> employees) {}
+
+    /**
+     * @param next position to pass to {@link #findPage(long, int)} for the following page, {@code null} after the last
+     */
+    public record Page(List<MockEmployee> employees, Long next) {}
+}
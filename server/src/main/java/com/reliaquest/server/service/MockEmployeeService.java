@@ -1,14 +1,14 @@
 package com.reliaquest.server.service;
 
 import com.reliaquest.server.config.ServerConfiguration;
+import com.reliaquest.server.model.ChangeFeed;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.repository.MockEmployeeRepository;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
-import lombok.Getter;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -22,37 +22,80 @@ public class MockEmployeeService {
 
     private final Faker faker;
 
-    @Getter
-    private final List<MockEmployee> mockEmployees;
+    private final MockEmployeeRepository mockEmployeeRepository;
+
+    public List<MockEmployee> getMockEmployees() {
+        return mockEmployeeRepository.findAll();
+    }
+
+    public MockEmployeeRepository.Page getMockEmployeePage(long after, int limit) {
+        return mockEmployeeRepository.findPage(after, limit);
+    }
+
+    public long getChangeVersion() {
+        return mockEmployeeRepository.changeVersion();
+    }
+
+    public ChangeFeed getChangesSince(long version, int limit) {
+        return mockEmployeeRepository.changesSince(version, limit);
+    }
+
+    /**
+     * Runs {@code listener} after every create or delete; see {@link MockEmployeeRepository#onChange(Runnable)}.
+     */
+    public void onChange(@NonNull Runnable listener) {
+        mockEmployeeRepository.onChange(listener);
+    }
 
     public Optional<MockEmployee> findById(@NonNull UUID uuid) {
-        return mockEmployees.stream()
-                .filter(mockEmployee -> Objects.nonNull(mockEmployee.getId())
-                        && mockEmployee.getId().equals(uuid))
-                .findFirst();
+        return mockEmployeeRepository.findById(uuid);
+    }
+
+    public List<MockEmployee> findAllById(@NonNull List<UUID> uuids) {
+        return mockEmployeeRepository.findAllById(uuids);
     }
 
     public MockEmployee create(@NonNull CreateMockEmployeeInput input) {
-        final var mockEmployee = MockEmployee.from(
-                ServerConfiguration.EMAIL_TEMPLATE.formatted(
-                        faker.twitter().userName().toLowerCase()),
-                input);
-        mockEmployees.add(mockEmployee);
+        final var mockEmployee = MockEmployee.from(email(), input);
+        mockEmployeeRepository.save(mockEmployee);
         log.debug("Added employee: {}", mockEmployee);
         return mockEmployee;
     }
 
+    /**
+     * Creates an employee per input, in order, and stores them all in one write.
+     */
+    public List<MockEmployee> createAll(@NonNull List<CreateMockEmployeeInput> inputs) {
+        final var mockEmployees =
+                inputs.stream().map(input -> MockEmployee.from(email(), input)).toList();
+        mockEmployeeRepository.saveAll(mockEmployees);
+        log.debug("Added {} employees", mockEmployees.size());
+        return mockEmployees;
+    }
+
     public boolean delete(@NonNull DeleteMockEmployeeInput input) {
-        final var mockEmployee = mockEmployees.stream()
-                .filter(employee -> Objects.nonNull(employee.getName())
-                        && employee.getName().equalsIgnoreCase(input.getName()))
-                .findFirst();
-        if (mockEmployee.isPresent()) {
-            mockEmployees.remove(mockEmployee.get());
-            log.debug("Removed employee: {}", mockEmployee.get());
-            return true;
-        }
-
-        return false;
+        final var mockEmployee = mockEmployeeRepository.deleteFirstByName(input.getName());
+        mockEmployee.ifPresent(employee -> log.debug("Removed employee: {}", employee));
+        return mockEmployee.isPresent();
+    }
+
+    /**
+     * Deletes the first employee matching each input's name, in order, in one write.
+     *
+     * @return whether each input removed an employee, at the input's position
+     */
+    public List<Boolean> deleteAll(@NonNull List<DeleteMockEmployeeInput> inputs) {
+        final var removed = mockEmployeeRepository.deleteFirstByNames(
+                inputs.stream().map(DeleteMockEmployeeInput::getName).toList());
+        log.debug(
+                "Removed {} of {} employees",
+                removed.stream().filter(Optional::isPresent).count(),
+                inputs.size());
+        return removed.stream().map(Optional::isPresent).toList();
+    }
+
+    private String email() {
+        return ServerConfiguration.EMAIL_TEMPLATE.formatted(
+                faker.twitter().userName().toLowerCase());
     }
 }
@@ -0,0 +1,210 @@
+package com.reliaquest.server.web;
+
+import com.reliaquest.server.model.EmployeeChange;
+import com.reliaquest.server.service.MockEmployeeService;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Pushes employee creates and deletes to Server-Sent Events subscribers.
+ *
+ * <p>Every subscriber is a cursor into the repository's change log rather than a queue of its own: a write only
+ * schedules one delivery task per subscriber, which sends it the changes past its cursor. The event id is the change
+ * version, so a client that reconnects with {@code Last-Event-ID} resumes right after the last change it saw. A
+ * subscriber that falls further behind than the change log reaches gets a {@code resync} event instead.
+ *
+ * <p>Idle streams get a {@code heartbeat} event every {@code keep-alive}, carrying the version the subscriber has
+ * received everything up to; it keeps proxies from closing the connection and lets the client confirm it is current.
+ * A subscriber whose connection has not taken an event for a whole {@code keep-alive} is dropped. Its blocked send
+ * only holds up its own delivery task, and the client reconnects with {@code Last-Event-ID} once it catches up.
+ */
+@Slf4j
+@Component
+public class EmployeeChangeStream {
+
+    private static final int BATCH = 1000;
+
+    private final MockEmployeeService mockEmployeeService;
+    private final Duration timeout;
+    private final long keepAliveNanos;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService executor =
+            Executors.newSingleThreadScheduledExecutor(daemon("employee-change-stream"));
+    // At most one task per subscriber at a time, so each subscriber's events stay in order
+    private final ExecutorService deliveries = Executors.newCachedThreadPool(daemon("employee-change-delivery"));
+
+    public EmployeeChangeStream(
+            MockEmployeeService mockEmployeeService,
+            @Value("${mock.employees.events.timeout:PT30M}") Duration timeout,
+            @Value("${mock.employees.events.keep-alive:PT15S}") Duration keepAlive) {
+        this.mockEmployeeService = mockEmployeeService;
+        this.timeout = timeout;
+        this.keepAliveNanos = keepAlive.toNanos();
+        mockEmployeeService.onChange(this::changed);
+        executor.scheduleAtFixedRate(
+                this::heartbeat, keepAlive.toMillis(), keepAlive.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @param lastEventId the last change version the client has seen, or {@code null} to start from the current one
+     */
+    public SseEmitter subscribe(Long lastEventId) {
+        final var emitter = newEmitter(timeout);
+        final long from = lastEventId == null ? mockEmployeeService.getChangeVersion() : lastEventId;
+        final var subscriber = new Subscriber(emitter, from);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        // Replays anything the client missed, then confirms where it stands
+        subscriber.heartbeatDue.set(true);
+        schedule(subscriber);
+        return emitter;
+    }
+
+    protected SseEmitter newEmitter(Duration timeout) {
+        return new SseEmitter(timeout.toMillis());
+    }
+
+    private void changed() {
+        subscribers.forEach(this::schedule);
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.pending.getAndIncrement() == 0) {
+            try {
+                deliveries.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                // Shutting down
+            }
+        }
+    }
+
+    // Requests arriving while the task runs only count up, so they cost one more pass instead of another task
+    private void drain(Subscriber subscriber) {
+        int requests = subscriber.pending.get();
+        do {
+            deliver(subscriber);
+            if (subscriber.heartbeatDue.getAndSet(false) && subscribers.contains(subscriber)) {
+                send(subscriber, SseEmitter.event().name("heartbeat").data(subscriber.cursor));
+            }
+        } while ((requests = subscriber.pending.addAndGet(-requests)) != 0);
+    }
+
+    private void deliver(Subscriber subscriber) {
+        while (subscribers.contains(subscriber)) {
+            final var feed = mockEmployeeService.getChangesSince(subscriber.cursor, BATCH);
+            if (feed.resync()) {
+                subscriber.cursor = feed.version();
+                send(
+                        subscriber,
+                        SseEmitter.event()
+                                .id(Long.toString(feed.version()))
+                                .name("resync")
+                                .data(feed.version()));
+                return;
+            }
+            for (EmployeeChange change : feed.changes()) {
+                if (!send(
+                        subscriber,
+                        SseEmitter.event()
+                                .id(Long.toString(change.version()))
+                                .name(change.type().value())
+                                .data(change))) {
+                    return;
+                }
+                subscriber.cursor = change.version();
+            }
+            if (!feed.more()) {
+                return;
+            }
+        }
+    }
+
+    private void heartbeat() {
+        final long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.sending && now - subscriber.sendStartedNanos > keepAliveNanos) {
+                log.debug(
+                        "Dropping employee change subscriber that took no event for {}ms",
+                        TimeUnit.NANOSECONDS.toMillis(keepAliveNanos));
+                subscriber.dropped = true;
+                subscribers.remove(subscriber);
+            } else {
+                subscriber.heartbeatDue.set(true);
+                schedule(subscriber);
+            }
+        }
+    }
+
+    private boolean send(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        subscriber.sendStartedNanos = System.nanoTime();
+        subscriber.sending = true;
+        try {
+            subscriber.emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping employee change subscriber: {}", e.getMessage());
+            subscribers.remove(subscriber);
+            subscriber.emitter.completeWithError(e);
+            return false;
+        } finally {
+            subscriber.sending = false;
+        }
+        if (subscriber.dropped) {
+            // Dropped while this send was blocked; closing lets the client reconnect from the last event it got
+            subscriber.emitter.completeWithError(new IOException("Subscriber fell behind"));
+            return false;
+        }
+        return true;
+    }
+
+    @PreDestroy
+    public void close() {
+        executor.shutdownNow();
+        deliveries.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return runnable -> {
+            final var thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final AtomicInteger pending = new AtomicInteger();
+        private final AtomicBoolean heartbeatDue = new AtomicBoolean();
+        // Only read and written by the subscriber's delivery task
+        private long cursor;
+
+        private volatile boolean sending;
+        private volatile long sendStartedNanos;
+        private volatile boolean dropped;
+
+        Subscriber(SseEmitter emitter, long cursor) {
+            this.emitter = emitter;
+            this.cursor = cursor;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.reliaquest.server.web;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.Response;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.stereotype.Component;
+
+/**
+ * Serialized bodies of the full employee listing, shared by every request until the roster changes.
+ *
+ * <p>Entries are keyed on the repository's change version, read before the listing: a read of an unchanged roster finds
+ * its bytes by version and costs a copy to the socket instead of a Jackson pass and a compression, even when racing
+ * readers were handed different copies of the same listing. After a write the first reader of each format encodes the
+ * new listing, raw and gzipped, while concurrent readers wait for it rather than encoding it again. A reader still at
+ * an older version than the cached one encodes its listing without replacing the newer entry.
+ *
+ * <p>Each body gets a strong ETag: a per-process epoch, so tags never repeat across restarts, the change version, the
+ * format, and whether it is gzipped. The tag is known as soon as the version is, so revalidations that still match are
+ * answered before anything is encoded.
+ */
+@Component
+public class EncodedListingCache {
+
+    public static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+
+    public enum Format {
+        JSON(MediaType.APPLICATION_JSON),
+        SMILE(EncodedListingCache.SMILE);
+
+        private final MediaType contentType;
+
+        Format(MediaType contentType) {
+            this.contentType = contentType;
+        }
+
+        /**
+         * @return Smile when the client weighs it above JSON, otherwise JSON, which remains the default
+         */
+        public static Format negotiate(String accept) {
+            if (accept == null || !accept.contains("smile")) {
+                return JSON;
+            }
+            double smile = 0;
+            double json = 0;
+            try {
+                for (MediaType type : MediaType.parseMediaTypes(accept)) {
+                    if (type.includes(EncodedListingCache.SMILE)) {
+                        smile = Math.max(smile, type.getQualityValue());
+                    }
+                    if (type.includes(MediaType.APPLICATION_JSON)) {
+                        json = Math.max(json, type.getQualityValue());
+                    }
+                }
+            } catch (InvalidMediaTypeException e) {
+                return JSON;
+            }
+            return smile > json ? SMILE : JSON;
+        }
+    }
+
+    public record Encoded(MediaType contentType, byte[] body, byte[] gzipped) {}
+
+    private final ObjectMapper[] objectMappers;
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+
+    private volatile Entry entry;
+
+    public EncodedListingCache(
+            ObjectMapper objectMapper, MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter) {
+        this.objectMappers = new ObjectMapper[] {objectMapper, smileHttpMessageConverter.getObjectMapper()};
+    }
+
+    /**
+     * @param version the change version read before {@code employees}
+     * @param employees the listing as the repository returned it
+     */
+    public Encoded get(long version, List<MockEmployee> employees, Format format) {
+        final var current = entry(version, employees);
+        final var encoded = current.encoded.get(format.ordinal());
+        return encoded != null ? encoded : encode(current, format);
+    }
+
+    /**
+     * Strong ETag of the bytes {@link #get} returns for this version of the roster, known without encoding them, so a
+     * request whose validator still matches can be answered without touching Jackson.
+     */
+    public String etag(long version, Format format, boolean gzipped) {
+        return "\"" + epoch + "-" + version + "-" + format.name().toLowerCase(Locale.ROOT) + (gzipped ? "-gzip" : "")
+                + "\"";
+    }
+
+    /**
+     * @return whether an {@code If-None-Match} header lists {@code etag}, compared weakly as the header requires
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            final var tag = candidate.trim();
+            if (tag.equals("*")
+                    || tag.equals(etag)
+                    || (tag.startsWith("W/") && tag.substring(2).equals(etag))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.toLowerCase(Locale.ROOT).split(",")) {
+            final var parts = coding.trim().split(";");
+            if (parts[0].trim().equals("gzip")) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    private Entry entry(long version, List<MockEmployee> employees) {
+        var current = entry;
+        if (current != null && current.version == version) {
+            return current;
+        }
+        synchronized (this) {
+            current = entry;
+            if (current != null && current.version >= version) {
+                return current.version == version ? current : new Entry(version, employees);
+            }
+            current = new Entry(version, employees);
+            entry = current;
+            return current;
+        }
+    }
+
+    private Encoded encode(Entry current, Format format) {
+        // Per roster, so a reader still encoding a replaced roster never holds up readers of the new one
+        synchronized (current) {
+            var encoded = current.encoded.get(format.ordinal());
+            if (encoded == null) {
+                final byte[] body = serialize(current.employees, format);
+                encoded = new Encoded(format.contentType, body, gzip(body));
+                current.encoded.set(format.ordinal(), encoded);
+            }
+            return encoded;
+        }
+    }
+
+    private byte[] serialize(List<MockEmployee> employees, Format format) {
+        try {
+            return objectMappers[format.ordinal()].writeValueAsBytes(Response.handledWith(employees));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to encode the employee listing", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] body) {
+        final var out = new ByteArrayOutputStream(Math.max(64, body.length / 4));
+        try (var gzip = new GZIPOutputStream(out, 64 * 1024)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static final class Entry {
+
+        private final long version;
+        private final List<MockEmployee> employees;
+        private final AtomicReferenceArray<Encoded> encoded = new AtomicReferenceArray<>(Format.values().length);
+
+        Entry(long version, List<MockEmployee> employees) {
+            this.version = version;
+            this.employees = employees;
+        }
+    }
+}
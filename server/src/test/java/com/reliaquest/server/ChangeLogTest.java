@@ -0,0 +1,124 @@
+package com.reliaquest.server;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.EmployeeChange;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.repository.ChangeLog;
+import com.reliaquest.server.repository.MockEmployeeRepository;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ChangeLogTest {
+
+    private static final int CAPACITY = 4;
+    private static final String[] SIX_NAMES = {
+        "Tiger Nixon", "Garrett Winters", "Ashton Cox", "Cedric Kelly", "Airi Satou", "Brielle Williamson"
+    };
+
+    private MockEmployeeRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new MockEmployeeRepository(CAPACITY);
+    }
+
+    @Test
+    void since_ReturnsChangesAfterVersionInOrder() {
+        final var created = save("Tiger Nixon", "Garrett Winters", "Ashton Cox");
+        repository.deleteFirstByName("Garrett Winters");
+
+        final var feed = repository.changesSince(1, 10);
+
+        assertFalse(feed.resync());
+        assertFalse(feed.more());
+        assertEquals(4, feed.version());
+        assertEquals(List.of(2L, 3L, 4L), versions(feed.changes()));
+        assertEquals(created.get(1), feed.changes().get(0).employee());
+        assertEquals(EmployeeChange.Type.DELETED, feed.changes().get(2).type());
+        assertEquals(created.get(1), feed.changes().get(2).employee());
+    }
+
+    @Test
+    void since_PagesThroughLimit() {
+        save("Tiger Nixon", "Garrett Winters", "Ashton Cox");
+
+        final var first = repository.changesSince(0, 2);
+        final var second = repository.changesSince(first.version(), 2);
+
+        assertEquals(List.of(1L, 2L), versions(first.changes()));
+        assertTrue(first.more());
+        assertEquals(List.of(3L), versions(second.changes()));
+        assertFalse(second.more());
+    }
+
+    @Test
+    void since_LatestVersion_IsEmptyAndCurrent() {
+        save("Tiger Nixon");
+
+        final var feed = repository.changesSince(1, 10);
+
+        assertFalse(feed.resync());
+        assertEquals(1, feed.version());
+        assertTrue(feed.changes().isEmpty());
+    }
+
+    @Test
+    void append_PastCapacity_WrapsAroundOverwritingOldest() {
+        final var created = save(SIX_NAMES);
+
+        // Versions 3..6 are retained in slots 2, 3, 0, 1
+        final var feed = repository.changesSince(2, 10);
+
+        assertFalse(feed.resync());
+        assertEquals(6, feed.version());
+        assertEquals(List.of(3L, 4L, 5L, 6L), versions(feed.changes()));
+        assertEquals(
+                created.subList(2, 6),
+                feed.changes().stream().map(EmployeeChange::employee).toList());
+    }
+
+    @Test
+    void since_OverwrittenVersion_AsksForResync() {
+        save(SIX_NAMES);
+
+        // Change 2 was overwritten, so a client at version 1 cannot catch up
+        final var feed = repository.changesSince(1, 10);
+
+        assertTrue(feed.resync());
+        assertFalse(feed.more());
+        assertEquals(6, feed.version());
+        assertTrue(feed.changes().isEmpty());
+    }
+
+    @Test
+    void since_VersionAheadOfLog_AsksForResync() {
+        save("Tiger Nixon");
+
+        // E.g. a client that synced with the server before it restarted
+        final var feed = repository.changesSince(42, 10);
+
+        assertTrue(feed.resync());
+        assertEquals(1, feed.version());
+    }
+
+    @Test
+    void newLog_RejectsNonPositiveCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new ChangeLog(0));
+    }
+
+    private List<MockEmployee> save(String... names) {
+        final var employees = Arrays.stream(names)
+                .map(name -> new MockEmployee(UUID.randomUUID(), name, 100_000, 40, "Engineer", null))
+                .toList();
+        employees.forEach(repository::save);
+        return employees;
+    }
+
+    private static List<Long> versions(List<EmployeeChange> changes) {
+        return changes.stream().map(EmployeeChange::version).toList();
+    }
+}
@@ -0,0 +1,204 @@
+package com.reliaquest.server;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.repository.MockEmployeeRepository;
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.web.EmployeeChangeStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+import net.datafaker.Faker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+class EmployeeChangeStreamTest {
+
+    private final MockEmployeeRepository repository = new MockEmployeeRepository();
+    private final MockEmployeeService mockEmployeeService = new MockEmployeeService(new Faker(), repository);
+    private final ConcurrentLinkedQueue<RecordingEmitter> connections = new ConcurrentLinkedQueue<>();
+    private final List<EmployeeChangeStream> streams = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        streams.forEach(EmployeeChangeStream::close);
+    }
+
+    @Test
+    void changes_FanOutToEverySubscriberInOrder() {
+        final var stream = stream(Duration.ofMinutes(1));
+        final var first = subscribe(stream, null);
+        final var second = subscribe(stream, null);
+        awaitEvent(first, "heartbeat:0");
+        awaitEvent(second, "heartbeat:0");
+
+        repository.save(employee("Tiger Nixon"));
+        repository.save(employee("Garrett Winters"));
+        repository.deleteFirstByName("Tiger Nixon");
+
+        for (RecordingEmitter subscriber : List.of(first, second)) {
+            awaitEvent(subscriber, "deleted:3");
+            assertEquals(List.of("created:1", "created:2", "deleted:3"), subscriber.changes());
+        }
+    }
+
+    @Test
+    void subscribe_FromLastEventId_ReplaysMissedChangesThenConfirms() {
+        final var stream = stream(Duration.ofMinutes(1));
+        repository.save(employee("Tiger Nixon"));
+        repository.save(employee("Garrett Winters"));
+        repository.save(employee("Ashton Cox"));
+
+        final var subscriber = subscribe(stream, 1L);
+
+        awaitEvent(subscriber, "heartbeat:3");
+        assertEquals(List.of("created:2", "created:3", "heartbeat:3"), subscriber.events);
+    }
+
+    @Test
+    void failedSend_DropsSubscriber() {
+        final var stream = stream(Duration.ofMinutes(1));
+        final var broken = subscribe(stream, null);
+        final var healthy = subscribe(stream, null);
+        awaitEvent(broken, "heartbeat:0");
+        broken.failure = new IOException("Broken pipe");
+
+        repository.save(employee("Tiger Nixon"));
+        await(() -> broken.completedWith != null);
+        repository.save(employee("Garrett Winters"));
+
+        awaitEvent(healthy, "created:2");
+        assertSame(broken.failure, broken.completedWith);
+        // The initial heartbeat and the failed change, nothing after it
+        assertEquals(2, broken.attempts);
+    }
+
+    @Test
+    void slowSubscriber_IsDroppedWithoutHoldingUpOthers() throws Exception {
+        final var keepAlive = Duration.ofMillis(100);
+        final var stream = stream(keepAlive);
+        final var slow = subscribe(stream, null);
+        final var fast = subscribe(stream, null);
+        awaitEvent(slow, "heartbeat:0");
+        awaitEvent(fast, "heartbeat:0");
+        // The slow client's socket stops draining, so its sends block
+        slow.gate = new CountDownLatch(1);
+
+        repository.save(employee("Tiger Nixon"));
+        repository.save(employee("Garrett Winters"));
+        awaitEvent(fast, "created:2");
+
+        Thread.sleep(keepAlive.toMillis() * 4);
+        slow.gate.countDown();
+        await(() -> slow.completedWith != null);
+        repository.save(employee("Ashton Cox"));
+
+        awaitEvent(fast, "created:3");
+        // Only the send that was blocked got through before the stream was closed
+        assertEquals(List.of("created:1"), slow.changes());
+    }
+
+    private EmployeeChangeStream stream(Duration keepAlive) {
+        final var stream = new EmployeeChangeStream(mockEmployeeService, Duration.ofMinutes(30), keepAlive) {
+            @Override
+            protected SseEmitter newEmitter(Duration timeout) {
+                return connections.remove();
+            }
+        };
+        streams.add(stream);
+        return stream;
+    }
+
+    private RecordingEmitter subscribe(EmployeeChangeStream stream, Long lastEventId) {
+        final var emitter = new RecordingEmitter();
+        connections.add(emitter);
+        assertSame(emitter, stream.subscribe(lastEventId));
+        return emitter;
+    }
+
+    private static void awaitEvent(RecordingEmitter emitter, String event) {
+        await(() -> emitter.events.contains(event));
+    }
+
+    private static void await(BooleanSupplier condition) {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "timed out");
+            Thread.onSpinWait();
+        }
+    }
+
+    private static MockEmployee employee(String name) {
+        return new MockEmployee(UUID.randomUUID(), name, 100_000, 40, "Engineer", null);
+    }
+
+    /**
+     * Stands in for a client connection, recording each event as {@code name:id}, or {@code heartbeat:version}.
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final List<String> events = new CopyOnWriteArrayList<>();
+        private volatile CountDownLatch gate;
+        private volatile IOException failure;
+        private volatile Throwable completedWith;
+        private volatile int attempts;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            attempts++;
+            final var gate = this.gate;
+            if (gate != null) {
+                try {
+                    gate.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            events.add(describe(builder));
+        }
+
+        @Override
+        public void completeWithError(Throwable error) {
+            completedWith = error;
+        }
+
+        List<String> changes() {
+            return events.stream()
+                    .filter(event -> !event.startsWith("heartbeat"))
+                    .toList();
+        }
+
+        private static String describe(SseEventBuilder builder) {
+            final var text = builder.build().stream()
+                    .map(part -> String.valueOf(part.getData()))
+                    .collect(Collectors.joining());
+            String id = null;
+            String name = null;
+            String data = null;
+            for (String line : text.split("\n")) {
+                if (line.startsWith("id:")) {
+                    id = line.substring(3);
+                } else if (line.startsWith("event:")) {
+                    name = line.substring(6);
+                } else if (line.startsWith("data:") && data == null) {
+                    data = line.substring(5);
+                }
+            }
+            return "heartbeat".equals(name) ? name + ":" + data : name + ":" + id;
+        }
+    }
+}
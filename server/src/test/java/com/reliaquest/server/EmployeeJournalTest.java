@@ -0,0 +1,181 @@
+package com.reliaquest.server;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.repository.EmployeeJournal;
+import com.reliaquest.server.repository.MockEmployeeRepository;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class EmployeeJournalTest {
+
+    private static final Duration FSYNC_INTERVAL = Duration.ofMillis(50);
+
+    @TempDir
+    Path directory;
+
+    private final List<EmployeeJournal> journals = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        journals.forEach(EmployeeJournal::close);
+    }
+
+    @Test
+    void restore_ReplaysEveryWriteOfTheLog() {
+        final var repository = attached(1000);
+        repository.save(employee("Tiger Nixon"));
+        repository.saveAll(List.of(employee("Garrett Winters"), employee("Ashton Cox"), employee("Cedric Kelly")));
+        repository.deleteFirstByName("ashton cox");
+        final var expected = repository.findAll();
+        journals.forEach(EmployeeJournal::close);
+
+        final var restored = new MockEmployeeRepository();
+        assertTrue(journal(1000).restore(restored));
+
+        assertEquals(expected, restored.findAll());
+        assertEquals(3, restored.count());
+    }
+
+    @Test
+    void restore_WithoutAnythingStored_LeavesRepositoryEmpty() {
+        final var repository = new MockEmployeeRepository();
+
+        assertFalse(journal(1000).restore(repository));
+        assertEquals(0, repository.count());
+    }
+
+    @Test
+    void restore_ReadsSnapshotThenReplaysLogWrittenAfterIt() throws IOException {
+        final var repository = attached(3);
+        // The third write rotates the log; the snapshot then covers them, the new log the two after it
+        for (String name : List.of("Tiger Nixon", "Garrett Winters", "Ashton Cox", "Cedric Kelly")) {
+            repository.save(employee(name));
+        }
+        repository.deleteFirstByName("Garrett Winters");
+        final var expected = repository.findAll();
+        // Waits for the snapshot taken at the rotation
+        journals.forEach(EmployeeJournal::close);
+
+        assertTrue(Files.exists(directory.resolve("employees.snapshot")));
+        assertEquals(List.of("employees-2.wal"), logs());
+        assertTrue(Files.size(directory.resolve("employees-2.wal")) > 0);
+
+        final var restored = new MockEmployeeRepository();
+        assertTrue(journal(3).restore(restored));
+        assertEquals(expected, restored.findAll());
+    }
+
+    @Test
+    void restore_TruncatesHalfWrittenLastRecord() throws IOException {
+        final var repository = attached(1000);
+        final var log = directory.resolve("employees-1.wal");
+        repository.save(employee("Tiger Nixon"));
+        repository.save(employee("Garrett Winters"));
+        final long intact = Files.size(log);
+        repository.save(employee("Ashton Cox"));
+        final long written = Files.size(log);
+        final var expected = repository.findAll().subList(0, 2);
+        journals.forEach(EmployeeJournal::close);
+        truncate(log, intact + (written - intact) / 2);
+
+        final var restored = new MockEmployeeRepository();
+        assertTrue(journal(1000).restore(restored));
+
+        assertEquals(expected, restored.findAll());
+        assertEquals(intact, Files.size(log));
+    }
+
+    @Test
+    void restore_StopsAtRecordWithMismatchedChecksum() throws IOException {
+        final var repository = attached(1000);
+        final var log = directory.resolve("employees-1.wal");
+        repository.save(employee("Tiger Nixon"));
+        final long intact = Files.size(log);
+        repository.save(employee("Garrett Winters"));
+        repository.save(employee("Ashton Cox"));
+        final var expected = repository.findAll().subList(0, 1);
+        journals.forEach(EmployeeJournal::close);
+        // A flipped bit inside the second record's payload, past its length and checksum
+        flip(log, intact + 8 + 20);
+
+        final var restored = new MockEmployeeRepository();
+        assertTrue(journal(1000).restore(restored));
+
+        // Nothing after a corrupt record can be trusted, so the log ends there
+        assertEquals(expected, restored.findAll());
+        assertEquals(intact, Files.size(log));
+    }
+
+    @Test
+    void zeroFsyncInterval_LogsEachWriteBeforeItReturns() {
+        final var repository = new MockEmployeeRepository();
+        final var journal = new EmployeeJournal(directory, Duration.ZERO, 1000);
+        journals.add(journal);
+        journal.restore(repository);
+        journal.attach(repository);
+
+        repository.save(employee("Tiger Nixon"));
+        repository.deleteFirstByName("Tiger Nixon");
+        repository.save(employee("Garrett Winters"));
+
+        // Read back while the first journal is still open
+        final var restored = new MockEmployeeRepository();
+        assertTrue(journal(1000).restore(restored));
+        assertEquals(repository.findAll(), restored.findAll());
+    }
+
+    private MockEmployeeRepository attached(int snapshotEvery) {
+        final var repository = new MockEmployeeRepository();
+        final var journal = journal(snapshotEvery);
+        assertFalse(journal.restore(repository));
+        journal.attach(repository);
+        return repository;
+    }
+
+    private EmployeeJournal journal(int snapshotEvery) {
+        final var journal = new EmployeeJournal(directory, FSYNC_INTERVAL, snapshotEvery);
+        journals.add(journal);
+        return journal;
+    }
+
+    private List<String> logs() throws IOException {
+        try (var files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.endsWith(".wal"))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static void truncate(Path path, long size) throws IOException {
+        try (var channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(size);
+        }
+    }
+
+    private static void flip(Path path, long position) throws IOException {
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            final var buffer = ByteBuffer.allocate(1);
+            channel.read(buffer, position);
+            buffer.put(0, (byte) (buffer.get(0) ^ 0x01)).rewind();
+            channel.write(buffer, position);
+        }
+    }
+
+    private static MockEmployee employee(String name) {
+        return new MockEmployee(UUID.randomUUID(), name, 100_000, 40, "Engineer", null);
+    }
+}
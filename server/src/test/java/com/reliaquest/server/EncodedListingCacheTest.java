@@ -0,0 +1,201 @@
+package com.reliaquest.server;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.reliaquest.server.config.ServerConfiguration;
+import com.reliaquest.server.controller.MockEmployeeController;
+import com.reliaquest.server.controller.MockEmployeeControllerAdvice;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.repository.MockEmployeeRepository;
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.web.EmployeeChangeStream;
+import com.reliaquest.server.web.EncodedListingCache;
+import jakarta.validation.Validation;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import net.datafaker.Faker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+class EncodedListingCacheTest {
+
+    private static final String API_URL = "/api/v1/employee";
+
+    private final MockEmployeeRepository repository = new MockEmployeeRepository();
+    private final MockEmployeeService mockEmployeeService = new MockEmployeeService(new Faker(Locale.ROOT), repository);
+    private final EmployeeChangeStream employeeChangeStream =
+            new EmployeeChangeStream(mockEmployeeService, Duration.ofMinutes(1), Duration.ofMinutes(1));
+
+    private EncodedListingCache encodedListingCache;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        repository.saveAll(List.of(employee("Tiger Nixon"), employee("Garrett Winters")));
+        encodedListingCache = new EncodedListingCache(
+                Jackson2ObjectMapperBuilder.json().build(),
+                new MappingJackson2SmileHttpMessageConverter(Jackson2ObjectMapperBuilder.smile()
+                        .factory(ServerConfiguration.smileFactory())
+                        .build()));
+        final var controller = new MockEmployeeController(
+                mockEmployeeService,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                employeeChangeStream,
+                encodedListingCache);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new MockEmployeeControllerAdvice())
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        employeeChangeStream.close();
+    }
+
+    @Test
+    void unchangedRoster_RevalidatesWithNotModified() throws Exception {
+        final var first = listing(null);
+        final var etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+
+        mockMvc.perform(get(API_URL).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().bytes(new byte[0]));
+        // Weak comparison, as If-None-Match requires
+        mockMvc.perform(get(API_URL).header(HttpHeaders.IF_NONE_MATCH, "\"other\", W/" + etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void create_InvalidatesTag() throws Exception {
+        final var etag = listing(null).getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(post(API_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Ashton Cox\",\"salary\":86000,\"age\":66,\"title\":\"Junior Author\"}"))
+                .andExpect(status().isOk());
+
+        final var after = listing(etag);
+        assertEquals(200, after.getResponse().getStatus());
+        assertNotEquals(etag, after.getResponse().getHeader(HttpHeaders.ETAG));
+        assertTrue(after.getResponse().getContentAsString().contains("Ashton Cox"));
+    }
+
+    @Test
+    void delete_InvalidatesTag() throws Exception {
+        final var etag = listing(null).getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(delete(API_URL).contentType(MediaType.APPLICATION_JSON).content("{\"name\":\"Tiger Nixon\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data").value(true));
+
+        final var after = listing(etag);
+        assertEquals(200, after.getResponse().getStatus());
+        final var newEtag = after.getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, newEtag);
+        assertFalse(after.getResponse().getContentAsString().contains("Tiger Nixon"));
+        // The new tag revalidates in turn
+        mockMvc.perform(get(API_URL).header(HttpHeaders.IF_NONE_MATCH, newEtag)).andExpect(status().isNotModified());
+    }
+
+    @Test
+    void formatsAndEncodings_GetTagsOfTheirOwn() throws Exception {
+        final var json = listing(null).getResponse();
+        final var gzipped = mockMvc.perform(get(API_URL).header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn()
+                .getResponse();
+        final var smile = mockMvc.perform(get(API_URL).header(HttpHeaders.ACCEPT, EncodedListingCache.SMILE.toString()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(EncodedListingCache.SMILE))
+                .andReturn()
+                .getResponse();
+
+        final var tags = List.of(
+                json.getHeader(HttpHeaders.ETAG),
+                gzipped.getHeader(HttpHeaders.ETAG),
+                smile.getHeader(HttpHeaders.ETAG));
+        assertEquals(3, tags.stream().distinct().count());
+        assertArrayEquals(json.getContentAsByteArray(), gunzip(gzipped.getContentAsByteArray()));
+        // A tag of one representation does not revalidate another
+        mockMvc.perform(get(API_URL)
+                        .header(HttpHeaders.IF_NONE_MATCH, tags.get(0))
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void get_ReusesBytesUntilRosterChanges() {
+        final long before = repository.changeVersion();
+        final var encoded = encodedListingCache.get(before, repository.findAll(), EncodedListingCache.Format.JSON);
+
+        assertSame(encoded, encodedListingCache.get(before, repository.findAll(), EncodedListingCache.Format.JSON));
+
+        repository.save(employee("Ashton Cox"));
+        final long after = repository.changeVersion();
+        assertNotSame(encoded, encodedListingCache.get(after, repository.findAll(), EncodedListingCache.Format.JSON));
+        assertNotEquals(
+                encodedListingCache.etag(before, EncodedListingCache.Format.JSON, false),
+                encodedListingCache.etag(after, EncodedListingCache.Format.JSON, false));
+    }
+
+    @Test
+    void get_SameVersion_ReusesBytesForADifferentCopyOfTheListing() {
+        final long version = repository.changeVersion();
+        final var encoded = encodedListingCache.get(version, repository.findAll(), EncodedListingCache.Format.JSON);
+
+        // A racing rebuild hands out an equal but distinct list
+        assertSame(
+                encoded,
+                encodedListingCache.get(
+                        version, new ArrayList<>(repository.findAll()), EncodedListingCache.Format.JSON));
+    }
+
+    @Test
+    void get_OlderVersion_DoesNotReplaceNewerEntry() {
+        final long before = repository.changeVersion();
+        final var stale = repository.findAll();
+        repository.save(employee("Ashton Cox"));
+        final long after = repository.changeVersion();
+        final var encoded = encodedListingCache.get(after, repository.findAll(), EncodedListingCache.Format.JSON);
+
+        assertNotSame(encoded, encodedListingCache.get(before, stale, EncodedListingCache.Format.JSON));
+        assertSame(encoded, encodedListingCache.get(after, repository.findAll(), EncodedListingCache.Format.JSON));
+    }
+
+    private MvcResult listing(String ifNoneMatch) throws Exception {
+        final var request = get(API_URL);
+        if (ifNoneMatch != null) {
+            request.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return mockMvc.perform(request).andReturn();
+    }
+
+    private static byte[] gunzip(byte[] bytes) throws IOException {
+        try (var in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static MockEmployee employee(String name) {
+        return new MockEmployee(UUID.randomUUID(), name, 100_000, 40, "Engineer", null);
+    }
+}
@@ -0,0 +1,173 @@
+package com.reliaquest.server;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.repository.MockEmployeeRepository;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class MockEmployeeRepositoryTest {
+
+    private static final int THREADS = 8;
+    private static final int WRITES_PER_THREAD = 2_000;
+    private static final int NAMES = 50;
+
+    private final MockEmployeeRepository repository = new MockEmployeeRepository();
+
+    @Test
+    void deleteFirstByName_RemovesEarliestMatchIgnoringCase() {
+        final var first = employee("Tiger Nixon");
+        final var second = employee("tiger nixon");
+        repository.saveAll(List.of(first, employee("Garrett Winters"), second));
+
+        assertEquals(Optional.of(first), repository.deleteFirstByName("TIGER NIXON"));
+        assertEquals(Optional.of(second), repository.deleteFirstByName("Tiger Nixon"));
+        assertEquals(Optional.empty(), repository.deleteFirstByName("Tiger Nixon"));
+        assertEquals(1, repository.count());
+    }
+
+    @Test
+    void save_ExistingId_ReplacesEmployeeAndItsNameEntry() {
+        final var employee = employee("Tiger Nixon");
+        repository.save(employee);
+
+        final var renamed = employee.toBuilder().name("Garrett Winters").build();
+        repository.save(renamed);
+
+        assertEquals(List.of(renamed), repository.findAll());
+        assertEquals(Optional.empty(), repository.deleteFirstByName("Tiger Nixon"));
+        assertEquals(Optional.of(renamed), repository.deleteFirstByName("Garrett Winters"));
+        assertEquals(0, repository.count());
+    }
+
+    @Test
+    void failingJournal_LeavesRepositoryUnchanged() {
+        final var stored = employee("Tiger Nixon");
+        repository.save(stored);
+        final long version = repository.changeVersion();
+        repository.journal((type, employees) -> {
+            throw new UncheckedIOException(new IOException("No space left on device"));
+        });
+
+        assertThrows(UncheckedIOException.class, () -> repository.save(employee("Garrett Winters")));
+        assertThrows(UncheckedIOException.class, () -> repository.deleteFirstByName("Tiger Nixon"));
+        assertThrows(UncheckedIOException.class, () -> repository.deleteFirstByNames(List.of("Tiger Nixon")));
+
+        assertEquals(List.of(stored), repository.findAll());
+        assertEquals(version, repository.changeVersion());
+        assertTrue(repository.changesSince(version, 10).changes().isEmpty());
+    }
+
+    @Test
+    void deleteFirstByNames_JournalsEachRemovedEmployeeBeforeRemovingIt() {
+        final var first = employee("Tiger Nixon");
+        final var second = employee("Tiger Nixon");
+        repository.saveAll(List.of(first, employee("Garrett Winters"), second));
+        final var journaled = new ArrayList<List<MockEmployee>>();
+        repository.journal((type, employees) -> {
+            // Nothing is removed yet when the journal records the write
+            assertEquals(3, repository.count());
+            journaled.add(employees);
+        });
+
+        final var removed = repository.deleteFirstByNames(List.of("Tiger Nixon", "Ashton Cox", "tiger nixon"));
+
+        assertEquals(List.of(Optional.of(first), Optional.empty(), Optional.of(second)), removed);
+        assertEquals(List.of(List.of(first, second)), journaled);
+        assertEquals(1, repository.count());
+    }
+
+    @Test
+    void concurrentCreatesAndDeletes_KeepIndexesConsistent() throws Exception {
+        final var barrier = new CyclicBarrier(THREADS);
+        final var deleted = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        final var tasks = new ArrayList<Future<Integer>>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                final int thread = t;
+                tasks.add(executor.submit((Callable<Integer>) () -> {
+                    barrier.await();
+                    int created = 0;
+                    for (int i = 0; i < WRITES_PER_THREAD; i++) {
+                        final var name = "Employee " + ((thread + i) % NAMES);
+                        if (i % 3 == 2) {
+                            if (repository.deleteFirstByName(name).isPresent()) {
+                                deleted.incrementAndGet();
+                            }
+                        } else if (i % 7 == 0) {
+                            repository.saveAll(List.of(employee(name), employee(name.toUpperCase(Locale.ROOT))));
+                            created += 2;
+                        } else {
+                            repository.save(employee(name));
+                            created++;
+                        }
+                        if (i % 100 == 0) {
+                            // Readers never lock; the listing is always a consistent copy
+                            final var listing = repository.findAll();
+                            assertEquals(
+                                    listing.size(), listing.stream().distinct().count());
+                        }
+                    }
+                    return created;
+                }));
+            }
+            int created = 0;
+            for (Future<Integer> task : tasks) {
+                created += task.get();
+            }
+
+            final var employees = repository.findAll();
+            assertEquals(created - deleted.get(), repository.count());
+            assertEquals(repository.count(), employees.size());
+            for (MockEmployee employee : employees) {
+                assertEquals(Optional.of(employee), repository.findById(employee.getId()));
+            }
+            assertEquals(employees, pageThrough());
+
+            // The name index holds exactly the stored employees: deleting each name drains it and nothing else
+            final Map<String, Integer> perName = new HashMap<>();
+            employees.forEach(employee -> perName.merge(employee.getName().toLowerCase(Locale.ROOT), 1, Integer::sum));
+            for (var entry : perName.entrySet()) {
+                for (int i = 0; i < entry.getValue(); i++) {
+                    assertTrue(repository.deleteFirstByName(entry.getKey()).isPresent());
+                }
+                assertEquals(Optional.empty(), repository.deleteFirstByName(entry.getKey()));
+            }
+            assertEquals(0, repository.count());
+            assertEquals(List.of(), repository.findAll());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<MockEmployee> pageThrough() {
+        final var employees = new ArrayList<MockEmployee>();
+        Long next = 0L;
+        while (next != null) {
+            final var page = repository.findPage(next, 100);
+            employees.addAll(page.employees());
+            next = page.next();
+        }
+        return employees;
+    }
+
+    private static MockEmployee employee(String name) {
+        return new MockEmployee(UUID.randomUUID(), name, 100_000, 40, "Engineer", null);
+    }
+}